@@ -48,6 +48,11 @@ public class ClassGroup implements Group<QuadraticForm<BigInteger, BigIntegers>>
                 a.getC());
     }
 
+    @Override
+    public boolean hasCheapInversion() {
+        return true;
+    }
+
     @Override
     public QuadraticForm<BigInteger, BigIntegers> identity() {
         return principal;
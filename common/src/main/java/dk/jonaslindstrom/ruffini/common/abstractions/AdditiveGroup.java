@@ -29,6 +29,14 @@ public interface AdditiveGroup<E> extends CommutativeMonoid<E> {
         return this.equals(a, this.zero());
     }
 
+    /**
+     * Return true if {@link #negate(Object)} is much cheaper than {@link #add(Object, Object)}, as it is for elliptic
+     * curves. If so, {@link #scale(BigInteger, Object)} uses a signed-digit representation of the scalar.
+     */
+    default boolean hasCheapNegation() {
+        return false;
+    }
+
     /**
      * Return <i>e</i> added to it self <i>n</i> times in this monoid
      */
@@ -1,9 +1,11 @@
 package dk.jonaslindstrom.ruffini.common.abstractions;
 
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
 
 import java.math.BigInteger;
 import java.util.Comparator;
+import java.util.function.UnaryOperator;
 
 /**
  * A Euclidean domain is a ring with Euclidean division.
@@ -52,6 +54,14 @@ public interface EuclideanDomain<E> extends Ring<E> {
         return divide(a, m).second;
     }
 
+    /**
+     * Return a function computing the remainder modulo <i>m</i>. Implementations may precompute what is needed to
+     * reduce many elements modulo the same <i>m</i> faster than by repeated division.
+     */
+    default UnaryOperator<E> reduction(E m) {
+        return a -> mod(a, m);
+    }
+
     /**
      * Return <i>a</i> if <i>a &ge; 0</i> according to the given ordering, otherwise return <i>-a</i>.
      */
@@ -62,6 +72,16 @@ public interface EuclideanDomain<E> extends Ring<E> {
         return a;
     }
 
+    /**
+     * Compute the greatest common divisor <i>d</i> of <i>a</i> and <i>b</i> and the coefficients <i>x, y</i> of the
+     * Bezout identity <i>ax + by = d</i> using an algorithm specific to this domain. The result must be the same as
+     * the one computed by the classical Euclidean algorithm. If this returns <code>null</code>, eg. because the inputs
+     * are too small to benefit, the classical algorithm is used by {@link EuclideanAlgorithm}.
+     */
+    default EuclideanAlgorithm.Result<E> extendedGcd(E a, E b) {
+        return null;
+    }
+
     /**
      * The euclidean function is a multiplicative map that maps elements of the domain to the integers
      * and is used in the division of {@link #divide(E, E)}.
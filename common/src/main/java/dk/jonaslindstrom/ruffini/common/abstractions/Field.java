@@ -1,7 +1,10 @@
 package dk.jonaslindstrom.ruffini.common.abstractions;
 
+import dk.jonaslindstrom.ruffini.common.algorithms.BatchInversion;
 import dk.jonaslindstrom.ruffini.common.algorithms.IntegerRingEmbedding;
 
+import java.util.List;
+
 /**
  * A field is a commutative ring where every non-zero element has a multiplicative inverse.
  *
@@ -16,4 +19,21 @@ public interface Field<E> extends Group<E>, Ring<E> {
         return multiply(a, invert(new IntegerRingEmbedding<>(this).apply(b)));
     }
 
+    /**
+     * Return the inverses of all the given elements using a single inversion, see {@link BatchInversion}.
+     *
+     * @throws dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException If one of the elements is zero.
+     */
+    default List<E> invertAll(List<E> elements) {
+        return new BatchInversion<>(this).apply(elements);
+    }
+
+    /**
+     * Return the inverses of all the given elements using a single inversion, where zero elements are mapped to
+     * zero.
+     */
+    default List<E> invertAllNonZero(List<E> elements) {
+        return new BatchInversion<>(this, true, true).apply(elements);
+    }
+
 }
@@ -19,4 +19,12 @@ public interface Group<E> extends Monoid<E> {
         return multiply(a, invert(b));
     }
 
+    /**
+     * Return true if {@link #invert(Object)} is much cheaper than {@link #multiply(Object, Object)}. This is the
+     * multiplicative analogue of {@link AdditiveGroup#hasCheapNegation()}.
+     */
+    default boolean hasCheapInversion() {
+        return false;
+    }
+
 }
@@ -19,7 +19,8 @@ public interface Monoid<E> extends Semigroup<E> {
     }
 
     /**
-     * Return <i>x<sup>e</sup></i>
+     * Return <i>x<sup>e</sup></i>. The strategy is chosen from the size of the exponent as in {@link Power}. When
+     * computing many powers of the same base, use {@link Power#precompute(Object, int)} instead.
      */
     default E power(E x, int e) {
         return new Power<>(this).apply(x, e);
@@ -0,0 +1,105 @@
+package dk.jonaslindstrom.ruffini.common.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Invert a list of field elements using Montgomery's trick: The product of all elements is inverted, and the inverse
+ * of each element is recovered from this and the prefix products. This uses <i>3(n-1)</i> multiplications and a
+ * single inversion.
+ * <p>
+ * Long lists are split into chunks which are inverted in parallel using one inversion per chunk.
+ *
+ * @param <E> Element type.
+ */
+public class BatchInversion<E> implements UnaryOperator<List<E>> {
+
+    /**
+     * Lists shorter than this are inverted sequentially.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private final Field<E> field;
+    private final boolean skipZeros;
+    private final boolean parallel;
+
+    /**
+     * Create a new instance which throws a {@link NotInvertibleException} if one of the elements is zero.
+     */
+    public BatchInversion(Field<E> field) {
+        this(field, false, true);
+    }
+
+    /**
+     * Create a new instance. If <code>skipZeros</code> is true, zero elements are mapped to zero instead of causing
+     * an exception.
+     */
+    public BatchInversion(Field<E> field, boolean skipZeros, boolean parallel) {
+        this.field = field;
+        this.skipZeros = skipZeros;
+        this.parallel = parallel;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<E> apply(List<E> elements) {
+        Object[] a = elements.toArray();
+        Object[] result = new Object[a.length];
+
+        int chunks = 1;
+        if (parallel && a.length >= PARALLEL_THRESHOLD) {
+            chunks = Math.min(ForkJoinPool.getCommonPoolParallelism(), a.length / (PARALLEL_THRESHOLD / 4));
+        }
+
+        if (chunks <= 1) {
+            invert(a, result, 0, a.length);
+        } else {
+            int size = (a.length + chunks - 1) / chunks;
+            IntStream.range(0, chunks).parallel()
+                    .forEach(c -> invert(a, result, c * size, Math.min(a.length, (c + 1) * size)));
+        }
+        return (List<E>) Arrays.asList(result);
+    }
+
+    /**
+     * Write the inverses of the entries <i>from, ..., to-1</i> of <code>a</code> to the same positions in
+     * <code>result</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private void invert(Object[] a, Object[] result, int from, int to) {
+        // Entry i of the result is first set to the product of the non-zero elements before a[i], where null
+        // represents the empty product
+        E product = null;
+        for (int i = from; i < to; i++) {
+            E ai = (E) a[i];
+            if (field.isZero(ai)) {
+                if (!skipZeros) {
+                    throw new NotInvertibleException(ai);
+                }
+                continue;
+            }
+            result[i] = product;
+            product = product == null ? ai : field.multiply(product, ai);
+        }
+
+        // Going backwards, inverse is the inverse of the product of the non-zero elements a[from], ..., a[i]
+        E inverse = product == null ? null : field.invert(product);
+        for (int i = to - 1; i >= from; i--) {
+            E ai = (E) a[i];
+            if (field.isZero(ai)) {
+                result[i] = field.zero();
+                continue;
+            }
+            E prefix = (E) result[i];
+            result[i] = prefix == null ? inverse : field.multiply(inverse, prefix);
+            inverse = field.multiply(inverse, ai);
+        }
+    }
+
+}
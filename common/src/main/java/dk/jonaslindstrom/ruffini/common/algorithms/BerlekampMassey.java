@@ -0,0 +1,76 @@
+package dk.jonaslindstrom.ruffini.common.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Implementation of the Berlekamp-Massey algorithm which finds the shortest linear recurrence satisfied by a sequence
+ * over a field. Given <i>s<sub>0</sub>, ..., s<sub>N-1</sub></i> it returns the coefficients <i>1, c<sub>1</sub>, ...,
+ * c<sub>L</sub></i> of the connection polynomial such that <i>s<sub>k</sub> + c<sub>1</sub>s<sub>k-1</sub> + ... +
+ * c<sub>L</sub>s<sub>k-L</sub> = 0</i> for all <i>L &le; k &lt; N</i>. The minimal polynomial of the sequence is the
+ * reverse, <i>x<sup>L</sup> + c<sub>1</sub>x<sup>L-1</sup> + ... + c<sub>L</sub></i>.
+ * <p>
+ * If the sequence satisfies a recurrence of length <i>L</i> and <i>N &ge; 2L</i>, the recurrence is unique.
+ *
+ * @param <E> Element type.
+ */
+public class BerlekampMassey<E> implements Function<List<E>, List<E>> {
+
+    private final Field<E> field;
+
+    public BerlekampMassey(Field<E> field) {
+        this.field = field;
+    }
+
+    @Override
+    public List<E> apply(List<E> s) {
+        List<E> c = new ArrayList<>(List.of(field.identity()));
+        List<E> b = new ArrayList<>(List.of(field.identity()));
+        E previousDiscrepancy = field.identity();
+        int length = 0;
+        int shift = 1;
+
+        for (int n = 0; n < s.size(); n++) {
+            E d = s.get(n);
+            for (int i = 1; i <= length && i < c.size(); i++) {
+                d = field.add(d, field.multiply(c.get(i), s.get(n - i)));
+            }
+
+            if (field.isZero(d)) {
+                shift++;
+                continue;
+            }
+
+            // c(x) = c(x) - d / d' x^shift b(x)
+            E f = field.multiply(d, field.invert(previousDiscrepancy));
+            List<E> t = new ArrayList<>(c);
+            while (c.size() < b.size() + shift) {
+                c.add(field.zero());
+            }
+            for (int i = 0; i < b.size(); i++) {
+                c.set(i + shift, field.subtract(c.get(i + shift), field.multiply(f, b.get(i))));
+            }
+
+            if (2 * length <= n) {
+                length = n + 1 - length;
+                b = t;
+                previousDiscrepancy = d;
+                shift = 1;
+            } else {
+                shift++;
+            }
+        }
+
+        while (c.size() > length + 1) {
+            c.remove(c.size() - 1);
+        }
+        while (c.size() < length + 1) {
+            c.add(field.zero());
+        }
+        return c;
+    }
+
+}
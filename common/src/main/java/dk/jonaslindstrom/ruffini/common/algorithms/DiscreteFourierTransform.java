@@ -1,109 +1,260 @@
 package dk.jonaslindstrom.ruffini.common.algorithms;
 
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.util.ArrayUtils;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 /**
  * Compute the Discrete Fourier Transform over a ring.
+ * <p>
+ * If <i>n</i> is a power of two, the transform is computed in place using a {@link NumberTheoreticTransform}.
+ * Otherwise, factors 3 and 5 and then 2 are split off using mixed-radix Cooley-Tukey steps, so lengths like
+ * <i>3 · 2<sup>k</sup></i> are computed using <i>O(n log n)</i> operations. If an odd factor <i>m</i> with other
+ * prime factors remains, the transform of length <i>m</i> is computed using Bluestein's algorithm, which expresses
+ * it as a convolution of power-of-two length, if roots of unity of power-of-two order are given. If not, it is
+ * computed directly using <i>O(m<sup>2</sup>)</i> operations.
  *
  * @param <E> Element type.
  */
 public class DiscreteFourierTransform<E> implements UnaryOperator<Vector<E>> {
 
+    /**
+     * Transforms of length at least this are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
     private final Ring<E> ring;
-    private final E a;
     private final int n;
-    private final FDFT<E> fdft;
+    private final Plan plan;
 
     public DiscreteFourierTransform(Ring<E> ring, E nThPrincipalRootOfUnity, int n) {
         this.ring = ring;
-        this.a = nThPrincipalRootOfUnity;
         this.n = n;
-        this.fdft = new FDFT<>(ring, a, n);
+        this.plan = plan(nThPrincipalRootOfUnity, n, null);
+    }
+
+    /**
+     * Create a new transform which uses Bluestein's algorithm for the part of <i>n</i> which is not of the form
+     * <i>2<sup>a</sup>3<sup>b</sup>5<sup>c</sup></i>. The given function should return a principal <i>m</i>'th root
+     * of unity for a power of two <i>m</i>.
+     */
+    public DiscreteFourierTransform(Field<E> field, E nThPrincipalRootOfUnity, int n,
+                                    IntFunction<E> powerOfTwoRootsOfUnity) {
+        this.ring = field;
+        this.n = n;
+        this.plan = plan(nThPrincipalRootOfUnity, n, powerOfTwoRootsOfUnity);
     }
 
     @Override
     public Vector<E> apply(Vector<E> x) {
-        return fdft.apply(x.pad(n, ring.zero()));
+        Object[] y = new Object[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = i < x.size() ? x.get(i) : ring.zero();
+        }
+        return Vector.ofList(transform(y));
     }
 
-    private static class DFT<F> implements UnaryOperator<Vector<F>> {
+    /**
+     * Compute the transform of the given array of length <i>n</i>. The array may be overwritten.
+     */
+    @SuppressWarnings("unchecked")
+    List<E> transform(Object[] x) {
+        return (List<E>) Arrays.asList(plan.apply(x));
+    }
 
-        private final Ring<F> ring;
-        private final int n;
-        private final ArrayList<F> powers;
+    private Plan plan(E root, int n, IntFunction<E> powerOfTwoRoots) {
+        if (NumberTheoreticTransform.isPowerOfTwo(n)) {
+            NumberTheoreticTransform<E> ntt = new NumberTheoreticTransform<>(ring, root, n);
+            return x -> {
+                ntt.transform(x);
+                return x;
+            };
+        }
+        for (int r : new int[]{5, 3, 2}) {
+            if (n % r == 0) {
+                return new Radix(root, n, r, powerOfTwoRoots);
+            }
+        }
+        if (powerOfTwoRoots != null) {
+            return new Bluestein(root, n, powerOfTwoRoots);
+        }
+        return new Direct(root, n);
+    }
+
+    /**
+     * Return <i>ω<sup>0</sup>, ..., ω<sup>n-1</sup></i>.
+     */
+    private Object[] powers(E root, int n) {
+        Object[] powers = new Object[n];
+        powers[0] = ring.identity();
+        for (int i = 1; i < n; i++) {
+            powers[i] = ring.multiply(get(powers, i - 1), root);
+        }
+        return powers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(Object[] array, int i) {
+        return (E) array[i];
+    }
+
+    private IntStream range(int n) {
+        IntStream range = IntStream.range(0, n);
+        return n >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    /**
+     * A transform of a fixed length. The input array may be overwritten and may be returned as the result.
+     */
+    private interface Plan {
+        Object[] apply(Object[] x);
+    }
+
+    /**
+     * Decimation-in-time step splitting a transform of length <i>n</i> into <i>r</i> transforms of length
+     * <i>n/r</i> of the entries with the same index modulo <i>r</i>, which are combined using <i>n/r</i> transforms
+     * of length <i>r</i>.
+     */
+    private class Radix implements Plan {
 
-        public DFT(Ring<F> ring, F a, int n) {
-            this.ring = ring;
+        private final int n, r, m;
+        private final Object[] powers;
+        private final Plan sub;
+
+        private Radix(E root, int n, int r, IntFunction<E> powerOfTwoRoots) {
             this.n = n;
-            Power<F> power = new Power<>(ring);
-            this.powers = ArrayUtils.populate(n * n, j -> power.apply(a, j));
+            this.r = r;
+            this.m = n / r;
+            this.powers = powers(root, n);
+            this.sub = plan(m > 1 ? get(powers, r) : ring.identity(), m, powerOfTwoRoots);
         }
 
         @Override
-        public Vector<F> apply(Vector<F> v) {
-            assert (v.size() == n);
-            Sum<F> sum = new Sum<>(ring);
+        public Object[] apply(Object[] x) {
+            Object[][] y = new Object[r][];
+            IntStream subTransforms = IntStream.range(0, r);
+            if (n >= PARALLEL_THRESHOLD) {
+                subTransforms = subTransforms.parallel();
+            }
+            subTransforms.forEach(s -> {
+                Object[] xs = new Object[m];
+                for (int j = 0; j < m; j++) {
+                    xs[j] = x[r * j + s];
+                }
+                y[s] = sub.apply(xs);
+            });
 
-            return Vector.of(n,
-                    k -> sum.apply(j -> ring.multiply(v.get(j), powers.get(j * k)), n));
+            // X[k + qm] = Σ_s ω_r^(sq) ω^(sk) Y_s[k] where ω_r = ω^m
+            Object[] result = new Object[n];
+            range(m).forEach(k -> {
+                Object[] t = new Object[r];
+                t[0] = y[0][k];
+                for (int s = 1; s < r; s++) {
+                    t[s] = k == 0 ? y[s][k] : ring.multiply(get(powers, s * k), get(y[s], k));
+                }
+                for (int q = 0; q < r; q++) {
+                    E sum = get(t, 0);
+                    for (int s = 1; s < r; s++) {
+                        int e = (s * q) % r;
+                        sum = ring.add(sum, e == 0 ? get(t, s) : ring.multiply(get(powers, e * m), get(t, s)));
+                    }
+                    result[k + q * m] = sum;
+                }
+            });
+            return result;
         }
     }
 
-    public class FDFT<F> implements UnaryOperator<Vector<F>> {
+    /**
+     * Compute the transform directly as <i>X<sub>k</sub> = Σ x<sub>j</sub> ω<sup>jk mod n</sup></i>.
+     */
+    private class Direct implements Plan {
 
-        private final Ring<F> ring;
         private final int n;
-        private final ArrayList<F> powers;
-        private final UnaryOperator<Vector<F>> sub;
+        private final Object[] powers;
 
-        public FDFT(Ring<F> ring, F a, int n) {
-            this.ring = ring;
+        private Direct(E root, int n) {
             this.n = n;
-            this.powers = ArrayUtils.populate(n, i -> new Power<>(ring).apply(a, i));
-            if (n % 2 != 0) {
-                if (n == 1) {
-                    this.sub = null;
-                } else {
-                    this.sub = new DFT<>(ring, a, n);
-                }
-            } else {
-                this.sub = new FDFT<>(ring, ring.multiply(a, a), n / 2);
-            }
+            this.powers = powers(root, n);
         }
 
         @Override
-        public Vector<F> apply(Vector<F> x) {
-            assert (x.size() == n);
-
-            if (n % 2 != 0) {
-                if (n == 1) {
-                    return Vector.of(x.get(0));
-                } else {
-                    return sub.apply(x);
+        public Object[] apply(Object[] x) {
+            Object[] result = new Object[n];
+            range(n).forEach(k -> {
+                E sum = get(x, 0);
+                for (int j = 1; j < n; j++) {
+                    sum = ring.add(sum, ring.multiply(get(x, j), get(powers, (int) ((long) j * k % n))));
                 }
-            }
+                result[k] = sum;
+            });
+            return result;
+        }
+    }
 
-            Vector<F> even = sub.apply(Vector.view(n / 2, i -> x.get(2 * i)));
-            Vector<F> odd = sub.apply(Vector.view(n / 2, i -> x.get(2 * i + 1)));
+    /**
+     * Bluestein's algorithm for odd <i>n</i>: With <i>h = (n+1)/2</i> we have <i>jk = h(j<sup>2</sup> +
+     * k<sup>2</sup> - (k-j)<sup>2</sup>) mod n</i>, so with <i>c<sub>j</sub> = ω<sup>hj<sup>2</sup></sup></i>, the
+     * transform is <i>X<sub>k</sub> = c<sub>k</sub> Σ<sub>j</sub> (x<sub>j</sub>c<sub>j</sub>)
+     * c<sub>k-j</sub><sup>-1</sup></i>. The convolution is computed using number-theoretic transforms of the smallest
+     * power-of-two length <i>L &ge; 2n-1</i>.
+     */
+    private class Bluestein implements Plan {
 
-            ArrayList<F> Y = new ArrayList<>(Collections.nCopies(n, null));
+        private final int n, length;
+        private final Object[] chirp;
+        private final Object[] kernel;
+        private final NumberTheoreticTransform<E> forward, inverse;
+        private final E lengthInverse;
 
-            IntStream.range(0, n / 2).forEach(k -> {
-                F ak = ring.multiply(powers.get(k), odd.get(k));
-                Y.set(k, ring.add(even.get(k), ak));
-                Y.set(k + n / 2, ring.subtract(even.get(k), ak));
-            });
+        private Bluestein(E root, int n, IntFunction<E> powerOfTwoRoots) {
+            Field<E> field = (Field<E>) ring;
+            this.n = n;
+            this.length = Integer.highestOneBit(2 * n - 1) << 1;
 
-            return Vector.ofList(Y);
+            Object[] powers = powers(root, n);
+            long h = (n + 1) / 2;
+            this.chirp = new Object[n];
+            Object[] b = new Object[length];
+            Arrays.fill(b, ring.zero());
+            for (int t = 0; t < n; t++) {
+                int e = (int) (h * t % n * t % n);
+                chirp[t] = powers[e];
+                b[t] = powers[(n - e) % n];
+                if (t > 0) {
+                    b[length - t] = b[t];
+                }
+            }
+
+            E rootL = powerOfTwoRoots.apply(length);
+            this.forward = new NumberTheoreticTransform<>(ring, rootL, length);
+            this.inverse = new NumberTheoreticTransform<>(ring, field.invert(rootL), length);
+            this.lengthInverse = field.invert(new IntegerRingEmbedding<>(field).apply(length));
+            forward.transform(b);
+            this.kernel = b;
         }
 
+        @Override
+        public Object[] apply(Object[] x) {
+            Object[] a = new Object[length];
+            Arrays.fill(a, n, length, ring.zero());
+            for (int j = 0; j < n; j++) {
+                a[j] = ring.multiply(get(x, j), get(chirp, j));
+            }
+            forward.transform(a);
+            range(length).forEach(i -> a[i] = ring.multiply(get(a, i), get(kernel, i)));
+            inverse.transform(a);
+
+            Object[] result = new Object[n];
+            range(n).forEach(k -> result[k] = ring.multiply(lengthInverse, ring.multiply(get(chirp, k), get(a, k))));
+            return result;
+        }
     }
 
 }
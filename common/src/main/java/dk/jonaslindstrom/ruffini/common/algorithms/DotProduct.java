@@ -2,13 +2,19 @@ package dk.jonaslindstrom.ruffini.common.algorithms;
 
 import com.google.common.collect.Streams;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.common.util.SamePair;
+import dk.jonaslindstrom.ruffini.common.vector.IntVector;
+import dk.jonaslindstrom.ruffini.common.vector.LongVector;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 
 import java.util.function.BiFunction;
 
 /**
- * Compute the dot product of two vectors over a ring.
+ * Compute the dot product of two vectors over a ring. If the ring is a word-sized prime field and the vectors are
+ * backed by primitive arrays, the computation is done without boxing.
  *
  * @param <E>
  */
@@ -20,9 +26,16 @@ public class DotProduct<E> implements BiFunction<Vector<E>, Vector<E>, E> {
         this.ring = ring;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public E apply(Vector<E> a, Vector<E> b) {
         assert (a.size() == b.size());
+        Ring<?> primitive = PrimitivePrimeField.unwrap(ring);
+        if (primitive instanceof IntPrimeField field && a instanceof IntVector x && b instanceof IntVector y) {
+            return (E) Integer.valueOf(x.dot(y, field));
+        } else if (primitive instanceof LongPrimeField field && a instanceof LongVector x && b instanceof LongVector y) {
+            return (E) Long.valueOf(x.dot(y, field));
+        }
         return Streams.zip(a.stream(), b.stream(), SamePair::new).parallel().map(
                 p -> ring.multiply(p.first, p.second)).reduce(ring.zero(), ring::add);
     }
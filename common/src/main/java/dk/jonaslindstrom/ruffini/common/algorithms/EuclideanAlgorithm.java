@@ -10,6 +10,9 @@ import java.util.stream.Collectors;
 /**
  * Implementation of the Euclidean algorithm for computing the greatest common divisor of two elements
  * in a Euclidean domain.
+ * <p>
+ * If the domain has a faster algorithm for the given inputs (see {@link EuclideanDomain#extendedGcd(Object, Object)}),
+ * eg. Half-GCD for polynomials or Lehmer's algorithm for large integers, it is used instead of the classical one.
  *
  * @param <E> Element type.
  */
@@ -22,10 +25,16 @@ public class EuclideanAlgorithm<E> {
     }
 
     public E apply(E a, E b) {
-        if (ring.isZero(b)) {
-            return a;
+        Result<E> result = ring.extendedGcd(a, b);
+        if (result != null) {
+            return result.gcd();
         }
-        return apply(b, ring.mod(a, b));
+        while (!ring.isZero(b)) {
+            E r = ring.mod(a, b);
+            a = b;
+            b = r;
+        }
+        return a;
     }
 
     public E apply(List<E> inputs) {
@@ -50,6 +59,11 @@ public class EuclideanAlgorithm<E> {
      * @return The triple <i>(d, x, y)</i>.
      */
     public Result<E> applyExtended(E a, E b) {
+        Result<E> result = ring.extendedGcd(a, b);
+        if (result != null) {
+            return result;
+        }
+
         E s_1 = ring.zero();
         E s_0 = ring.identity();
         E t_1 = ring.identity();
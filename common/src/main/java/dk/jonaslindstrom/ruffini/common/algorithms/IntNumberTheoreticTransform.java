@@ -0,0 +1,120 @@
+package dk.jonaslindstrom.ruffini.common.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+
+import java.util.stream.IntStream;
+
+/**
+ * Compute the Discrete Fourier Transform of length <i>n = 2<sup>k</sup></i> over a prime field
+ * <i>𝔽<sub>p</sub></i> with <i>p &lt; 2<sup>31</sup></i> on arrays of <code>int</code>s. This is the primitive
+ * counterpart of {@link NumberTheoreticTransform} and is computed in place using iterative radix-2 butterflies after a
+ * bit-reversal permutation. For large <i>n</i>, the butterflies of each layer are computed in parallel.
+ */
+public class IntNumberTheoreticTransform {
+
+    /**
+     * Transforms of length at least this are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final IntPrimeField field;
+    private final int n;
+    private final int[] roots, inverseRoots;
+    private final int nInverse;
+
+    /**
+     * Create a new instance of the transform of length <i>n</i>, which must be a power of two.
+     *
+     * @throws IllegalArgumentException If <i>n</i> is not a power of two or the given root is not a principal
+     *                                  <i>n</i>'th root of unity.
+     */
+    public IntNumberTheoreticTransform(IntPrimeField field, int nThPrincipalRootOfUnity, int n) {
+        if (!NumberTheoreticTransform.isPowerOfTwo(n)) {
+            throw new IllegalArgumentException("Length must be a power of two but was " + n);
+        }
+        this.field = field;
+        this.n = n;
+        this.roots = twiddles(nThPrincipalRootOfUnity);
+        this.inverseRoots = twiddles(field.inv(field.element(nThPrincipalRootOfUnity)));
+        this.nInverse = field.inv(field.element(n));
+    }
+
+    public int getLength() {
+        return n;
+    }
+
+    /**
+     * For each power of two <i>m &le; n</i>, entry <i>m/2 + j</i> is <i>ω<sub>m</sub><sup>j</sup></i> for <i>0 &le;
+     * j &lt; m/2</i> where <i>ω<sub>m</sub> = ω<sup>n/m</sup></i>.
+     */
+    private int[] twiddles(int root) {
+        int[] table = new int[Math.max(n, 2)];
+        int half = n / 2;
+        int power = 1;
+        for (int j = 0; j < half; j++) {
+            table[half + j] = power;
+            power = field.mul(power, root);
+        }
+        if (n > 1 && power != field.getModulus() - 1) {
+            throw new IllegalArgumentException("Expected a principal " + n + "'th root of unity");
+        }
+        for (int m = half; m > 1; m /= 2) {
+            for (int j = 0; j < m / 2; j++) {
+                table[m / 2 + j] = table[m + 2 * j];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Compute the transform of the given array in place. The entries must be reduced modulo <i>p</i>.
+     */
+    public void transform(int[] a) {
+        transform(a, roots);
+    }
+
+    /**
+     * Compute the inverse transform of the given array in place. The entries must be reduced modulo <i>p</i>.
+     */
+    public void inverse(int[] a) {
+        transform(a, inverseRoots);
+        IntStream indices = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> a[i] = field.mul(a[i], nInverse));
+    }
+
+    private void transform(int[] a, int[] twiddles) {
+        if (a.length != n) {
+            throw new IllegalArgumentException("Expected an array of length " + n + " but got " + a.length);
+        }
+
+        int shift = 32 - Integer.numberOfTrailingZeros(n);
+        for (int i = 1; i < n; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (i < j) {
+                int t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        }
+
+        for (int h = 1; h < n; h *= 2) {
+            int half = h;
+            IntStream butterflies = IntStream.range(0, n / 2);
+            if (n >= PARALLEL_THRESHOLD) {
+                butterflies = butterflies.parallel();
+            }
+            butterflies.forEach(k -> {
+                int j = k % half;
+                int i = 2 * (k - j) + j;
+                int u = a[i];
+                int v = field.mul(a[i + half], twiddles[half + j]);
+                a[i] = field.add(u, v);
+                a[i + half] = field.sub(u, v);
+            });
+        }
+    }
+
+}
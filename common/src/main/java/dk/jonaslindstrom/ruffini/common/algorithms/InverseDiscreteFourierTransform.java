@@ -3,9 +3,11 @@ package dk.jonaslindstrom.ruffini.common.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Field;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.vector.ConstructiveVector;
+import dk.jonaslindstrom.ruffini.common.vector.ConcreteVector;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 
+import java.util.List;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -34,11 +36,26 @@ public class InverseDiscreteFourierTransform<E> implements UnaryOperator<Vector<
                 field.invert(new IntegerRingEmbedding<>(field).apply(n)));
     }
 
+    /**
+     * Create a new inverse transform using Bluestein's algorithm for lengths that are not of the form
+     * <i>2<sup>a</sup>3<sup>b</sup>5<sup>c</sup></i>, see {@link DiscreteFourierTransform}.
+     */
+    public InverseDiscreteFourierTransform(Field<E> field, E nThPrincipalRootOfUnity, int n,
+                                           IntFunction<E> powerOfTwoRootsOfUnity) {
+        this.ring = field;
+        this.n = n;
+        this.nInverse = field.invert(new IntegerRingEmbedding<>(field).apply(n));
+        this.dft = new DiscreteFourierTransform<>(field, nThPrincipalRootOfUnity, n, powerOfTwoRootsOfUnity);
+    }
+
     @Override
     public Vector<E> apply(Vector<E> x) {
-        Vector<E> y = new ConstructiveVector<>(n, i -> x.get((n - i) % n));
-        Vector<E> yHat = dft.apply(y);
-        return yHat.map(e -> ring.multiply(e, nInverse));
+        Object[] y = new Object[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = x.get((n - i) % n);
+        }
+        List<E> yHat = dft.transform(y);
+        return new ConcreteVector<>(n, i -> ring.multiply(yHat.get(i), nInverse));
     }
 
 }
@@ -0,0 +1,337 @@
+package dk.jonaslindstrom.ruffini.common.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.AdditiveGroup;
+import dk.jonaslindstrom.ruffini.common.abstractions.Group;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+/**
+ * Compute a linear combination <i>k<sub>1</sub>P<sub>1</sub> + ... + k<sub>n</sub>P<sub>n</sub></i> of elements
+ * <i>P<sub>i</sub></i> of an abelian group with integer scalars <i>k<sub>i</sub></i>.
+ * <p>
+ * For few terms, Straus' method is used where the doublings are shared among all terms and each term uses a small
+ * table of multiples of <i>P<sub>i</sub></i>. For many terms, Pippenger's bucket method is used: The scalars are split
+ * into windows of <i>c</i> bits, and in each window the elements are sorted into buckets by their digit before the
+ * buckets are summed using <i>2<sup>c</sup></i> additions. The windows are processed in parallel.
+ * <p>
+ * If the group has cheap negation (see {@link AdditiveGroup#hasCheapNegation()}), signed digits are used in both
+ * methods, halving the size of the tables and the number of buckets.
+ *
+ * @param <E> Element type.
+ */
+public class MultiScalarMultiplication<E> implements BiFunction<List<BigInteger>, List<E>, E> {
+
+    /**
+     * Use Pippenger's method for at least this many terms.
+     */
+    private static final int PIPPENGER_THRESHOLD = 32;
+
+    private final AdditiveGroup<E> group;
+    private final boolean signed;
+    private final ForkJoinPool pool;
+
+    public MultiScalarMultiplication(AdditiveGroup<E> group) {
+        this(group, ForkJoinPool.commonPool());
+    }
+
+    public MultiScalarMultiplication(AdditiveGroup<E> group, ForkJoinPool pool) {
+        this.group = group;
+        this.signed = group.hasCheapNegation();
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new instance computing products <i>P<sub>1</sub><sup>k<sub>1</sub></sup> ⋯
+     * P<sub>n</sub><sup>k<sub>n</sub></sup></i> in a commutative group written multiplicatively.
+     */
+    public static <F> MultiScalarMultiplication<F> multiplicative(Group<F> group) {
+        return new MultiScalarMultiplication<>(new AdditiveGroup<>() {
+            @Override
+            public F negate(F a) {
+                return group.invert(a);
+            }
+
+            @Override
+            public boolean hasCheapNegation() {
+                return group.hasCheapInversion();
+            }
+
+            @Override
+            public F add(F a, F b) {
+                return group.multiply(a, b);
+            }
+
+            @Override
+            public F zero() {
+                return group.identity();
+            }
+
+            @Override
+            public String toString(F a) {
+                return group.toString(a);
+            }
+
+            @Override
+            public boolean equals(F a, F b) {
+                return group.equals(a, b);
+            }
+        });
+    }
+
+    @Override
+    public E apply(List<BigInteger> scalars, List<E> points) {
+        if (scalars.size() != points.size()) {
+            throw new IllegalArgumentException("Expected the same number of scalars and points but got "
+                    + scalars.size() + " and " + points.size());
+        }
+
+        int n = scalars.size();
+        int[][] words = new int[n][];
+        Object[] elements = new Object[n];
+        int bits = 0;
+        for (int i = 0; i < n; i++) {
+            BigInteger k = scalars.get(i);
+            elements[i] = k.signum() < 0 ? group.negate(points.get(i)) : points.get(i);
+            words[i] = toWords(k.abs());
+            bits = Math.max(bits, k.abs().bitLength());
+        }
+
+        if (bits == 0) {
+            return group.zero();
+        }
+
+        E result = n < PIPPENGER_THRESHOLD ? straus(words, elements, bits) : pippenger(words, elements, bits);
+        return result == null ? group.zero() : result;
+    }
+
+    /**
+     * Return the bits of a non-negative integer in little-endian order as 31-bit words. The extra words at the end
+     * allow reading a few bits past the most significant bit without bounds checks.
+     */
+    private static int[] toWords(BigInteger k) {
+        int length = k.bitLength() / 31 + 2;
+        int[] words = new int[length];
+        for (int j = 0; j < length; j++) {
+            words[j] = k.shiftRight(31 * j).intValue() & Integer.MAX_VALUE;
+        }
+        return words;
+    }
+
+    /**
+     * Return the integer given by <i>c &le; 30</i> bits of a scalar starting at the given position.
+     */
+    private static int bits(int[] words, int from, int c) {
+        int word = from / 31;
+        if (word >= words.length) {
+            return 0;
+        }
+        int offset = from % 31;
+        long value = words[word] >>> offset;
+        if (offset + c > 31 && word + 1 < words.length) {
+            value |= (long) words[word + 1] << (31 - offset);
+        }
+        return (int) (value & ((1L << c) - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(Object[] array, int i) {
+        return (E) array[i];
+    }
+
+    /**
+     * Returns <i>a + b</i> where <code>null</code> represents zero.
+     */
+    private E add(E a, E b) {
+        return a == null ? b : group.add(a, b);
+    }
+
+    /**
+     * Straus' method where all terms share the doublings. Each term is recoded in windows of width <i>w</i> and uses
+     * a table of multiples of the element, which only contains odd multiples if the digits are signed.
+     */
+    private E straus(int[][] words, Object[] elements, int bits) {
+        int n = elements.length;
+        int w = Multiply.optimalWindow(bits);
+        if (!signed) {
+            w = Math.max(1, w - 1);
+        }
+
+        int length = bits + 1;
+        int[][] digits = new int[n][];
+        Object[][] tables = new Object[n][];
+        for (int i = 0; i < n; i++) {
+            int[] k = words[i];
+            E p = get(elements, i);
+            if (signed) {
+                digits[i] = Multiply.recode(bits, j -> bits(k, j, 1) == 1, w);
+                tables[i] = new Object[1 << (w - 2)];
+                tables[i][0] = p;
+                E p2 = tables[i].length > 1 ? group.doubling(p) : null;
+                for (int d = 1; d < tables[i].length; d++) {
+                    tables[i][d] = group.add(get(tables[i], d - 1), p2);
+                }
+            } else {
+                digits[i] = new int[length];
+                for (int j = 0; j < length; j += w) {
+                    digits[i][j] = bits(k, j, w);
+                }
+                tables[i] = new Object[(1 << w) - 1];
+                tables[i][0] = p;
+                for (int d = 1; d < tables[i].length; d++) {
+                    tables[i][d] = group.add(get(tables[i], d - 1), p);
+                }
+            }
+        }
+
+        E result = null;
+        for (int j = length - 1; j >= 0; j--) {
+            if (result != null) {
+                result = group.doubling(result);
+            }
+            for (int i = 0; i < n; i++) {
+                int d = digits[i][j];
+                if (d == 0) {
+                    continue;
+                }
+                E term;
+                if (!signed) {
+                    term = get(tables[i], d - 1);
+                } else if (d > 0) {
+                    term = get(tables[i], d >> 1);
+                } else {
+                    term = group.negate(get(tables[i], (-d) >> 1));
+                }
+                result = add(result, term);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The number of additions used by Pippenger's method is roughly the number of windows times the number of terms
+     * plus the number of buckets, and the window size is chosen to minimise this.
+     */
+    private int pippengerWindow(int n, int bits) {
+        int best = 1;
+        long bestCost = Long.MAX_VALUE;
+        for (int c = 1; c <= 24; c++) {
+            long windows = (bits + (signed ? 1 : 0) + c - 1) / c;
+            long buckets = signed ? 1L << (c - 1) : (1L << c) - 1;
+            long cost = windows * (n + 2 * buckets);
+            if (cost < bestCost) {
+                best = c;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private E pippenger(int[][] words, Object[] elements, int bits) {
+        int n = elements.length;
+        int c = pippengerWindow(n, bits);
+        int windows = (bits + (signed ? 1 : 0) + c - 1) / c;
+
+        // Signed digits in (-2^(c-1), 2^(c-1)] are computed from the least significant window with a carry
+        int[][] digits = new int[windows][n];
+        for (int i = 0; i < n; i++) {
+            int carry = 0;
+            for (int j = 0; j < windows; j++) {
+                int d = bits(words[i], j * c, c) + carry;
+                carry = 0;
+                if (signed && d > 1 << (c - 1)) {
+                    d -= 1 << c;
+                    carry = 1;
+                }
+                digits[j][i] = d;
+            }
+        }
+
+        Object[] sums = new Object[windows];
+        Windows task = new Windows(0, windows, c, digits, elements, sums);
+        if (n < 2 * PIPPENGER_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        E result = null;
+        for (int j = windows - 1; j >= 0; j--) {
+            if (result != null) {
+                for (int t = 0; t < c; t++) {
+                    result = group.doubling(result);
+                }
+            }
+            E sum = get(sums, j);
+            if (sum != null) {
+                result = add(result, sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute <i>Σ d<sub>i</sub> P<sub>i</sub></i> for the digits of a single window.
+     */
+    private E window(int[] digits, Object[] elements, int c) {
+        Object[] buckets = new Object[signed ? 1 << (c - 1) : (1 << c) - 1];
+        for (int i = 0; i < elements.length; i++) {
+            int d = digits[i];
+            if (d > 0) {
+                buckets[d - 1] = add(get(buckets, d - 1), get(elements, i));
+            } else if (d < 0) {
+                buckets[-d - 1] = add(get(buckets, -d - 1), group.negate(get(elements, i)));
+            }
+        }
+
+        // Σ (b + 1) B_b computed as a sum of the running sums from the top
+        E running = null;
+        E sum = null;
+        for (int b = buckets.length - 1; b >= 0; b--) {
+            E bucket = get(buckets, b);
+            if (bucket != null) {
+                running = add(running, bucket);
+            }
+            if (running != null) {
+                sum = add(sum, running);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the sums of a range of windows, splitting the range in two until there is only a single window left.
+     */
+    private class Windows extends RecursiveAction {
+
+        private final int from, to, c;
+        private final int[][] digits;
+        private final Object[] elements, sums;
+
+        private Windows(int from, int to, int c, int[][] digits, Object[] elements, Object[] sums) {
+            this.from = from;
+            this.to = to;
+            this.c = c;
+            this.digits = digits;
+            this.elements = elements;
+            this.sums = sums;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && getPool() != null) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Windows(from, middle, c, digits, elements, sums),
+                        new Windows(middle, to, c, digits, elements, sums));
+                return;
+            }
+            for (int j = from; j < to; j++) {
+                sums[j] = window(digits[j], elements, c);
+            }
+        }
+    }
+
+}
@@ -3,46 +3,152 @@ package dk.jonaslindstrom.ruffini.common.algorithms;
 import dk.jonaslindstrom.ruffini.common.abstractions.AdditiveGroup;
 
 import java.math.BigInteger;
+import java.util.function.IntPredicate;
 
 /**
  * Compute <i>e a</i> for and integer <i>e</i> and an element from an additive group, <i>a</i>.
+ * <p>
+ * The product is computed iteratively from the most significant bit of <i>e</i>. If the group advertises that
+ * negation is cheap (see {@link AdditiveGroup#hasCheapNegation()}), the scalar is recoded in width-<i>w</i>
+ * non-adjacent form (wNAF) with digits in <i>{0, ±1, ±3, ..., ±(2<sup>w-1</sup>-1)}</i>, so on average only one in
+ * <i>w+1</i> digits is non-zero. Otherwise, double-and-add is used.
  */
 public class Multiply<E> {
 
     private final AdditiveGroup<E> group;
+    private final int window;
 
     public Multiply(AdditiveGroup<E> group) {
+        this(group, 0);
+    }
+
+    /**
+     * Create a new instance using wNAF recoding with the given width. If the width is zero, it is chosen based on
+     * the size of the scalar if the group has cheap negation, and double-and-add is used otherwise.
+     */
+    public Multiply(AdditiveGroup<E> group, int window) {
+        if (window < 0 || window == 1) {
+            throw new IllegalArgumentException("Window must be zero or at least two but was " + window);
+        }
         this.group = group;
+        this.window = window;
+    }
+
+    /**
+     * The width minimising the expected number of additions for a scalar of the given bit length, counting the
+     * <i>2<sup>w-2</sup></i> additions for the precomputed table.
+     */
+    static int optimalWindow(int bits) {
+        if (bits <= 24) {
+            return 2;
+        } else if (bits <= 80) {
+            return 3;
+        } else if (bits <= 240) {
+            return 4;
+        } else if (bits <= 680) {
+            return 5;
+        }
+        return 6;
     }
 
     public E apply(Integer e, E a) {
-        if (e == 0) {
+        // The bits of |e| are read as an unsigned int, so this also works for Integer.MIN_VALUE
+        int f = Math.abs(e);
+        E result = apply(32 - Integer.numberOfLeadingZeros(f), i -> i < 32 && ((f >>> i) & 1) == 1, a);
+        return e < 0 ? group.negate(result) : result;
+    }
+
+    public E apply(BigInteger e, E a) {
+        if (e.signum() < 0) {
+            return group.negate(apply(e.negate(), a));
+        }
+        return apply(e.bitLength(), e::testBit, a);
+    }
+
+    /**
+     * Compute <i>e a</i> for a non-negative scalar given by its bit length and a predicate testing its bits.
+     */
+    private E apply(int bits, IntPredicate bit, E a) {
+        if (bits == 0) {
             return group.zero();
-        } else if (e == 1) {
+        } else if (bits == 1) {
             return a;
         }
 
-        int f = e;
-        if (f % 2 == 1) {
-            return group.add(a, apply((e - 1) / 2, group.add(a, a)));
-        } else {
-            return apply(e / 2, group.add(a, a));
+        if (window > 0) {
+            return wnaf(bits, bit, a, window);
+        } else if (group.hasCheapNegation()) {
+            return wnaf(bits, bit, a, optimalWindow(bits));
         }
+        return doubleAndAdd(bits, bit, a);
     }
 
-    public E apply(BigInteger e, E a) {
-        if (e.equals(BigInteger.ZERO)) {
-            return group.zero();
-        } else if (e.equals(BigInteger.ONE)) {
-            return a;
+    private E doubleAndAdd(int bits, IntPredicate bit, E a) {
+        E result = a;
+        for (int i = bits - 2; i >= 0; i--) {
+            result = group.doubling(result);
+            if (bit.test(i)) {
+                result = group.add(result, a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recode a scalar in width-<i>w</i> non-adjacent form. Entry <i>i</i> of the result is the <i>i</i>'th digit, so
+     * the scalar is <i>Σ d<sub>i</sub> 2<sup>i</sup></i>. All non-zero digits are odd with absolute value less than
+     * <i>2<sup>w-1</sup></i>, and any <i>w</i> consecutive digits contain at most one non-zero digit.
+     */
+    static int[] recode(int bits, IntPredicate bit, int w) {
+        int length = bits + 1;
+        int[] digits = new int[length];
+        int carry = 0;
+        int i = 0;
+        while (i < length) {
+            if ((bit.test(i) ? 1 : 0) == carry) {
+                i++;
+                continue;
+            }
+
+            // The next w bits plus the carry is odd, and is replaced by a digit in (-2^(w-1), 2^(w-1))
+            int word = carry;
+            for (int j = w - 1; j >= 0; j--) {
+                word += bit.test(i + j) ? 1 << j : 0;
+            }
+            carry = (word >> (w - 1)) & 1;
+            digits[i] = word - (carry << w);
+            i += w;
+        }
+        return digits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E wnaf(int bits, IntPredicate bit, E a, int w) {
+        int[] digits = recode(bits, bit, w);
+
+        // Odd multiples a, 3a, ..., (2^(w-1) - 1)a
+        Object[] odd = new Object[1 << (w - 2)];
+        odd[0] = a;
+        if (odd.length > 1) {
+            E a2 = group.doubling(a);
+            for (int k = 1; k < odd.length; k++) {
+                odd[k] = group.add((E) odd[k - 1], a2);
+            }
         }
 
-        BigInteger f = e;
-        if (e.mod(BigInteger.TWO).equals(BigInteger.ONE)) {
-            return group.add(a, apply(e.subtract(BigInteger.ONE).shiftRight(1), group.add(a, a)));
-        } else {
-            return apply(e.shiftRight(1), group.add(a, a));
+        // The zero element is represented by null to avoid adding or doubling it
+        E result = null;
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (result != null) {
+                result = group.doubling(result);
+            }
+            int d = digits[i];
+            if (d != 0) {
+                E term = d > 0 ? (E) odd[d >> 1] : group.negate((E) odd[(-d) >> 1]);
+                result = result == null ? term : group.add(result, term);
+            }
         }
+        return result == null ? group.zero() : result;
     }
 
 }
@@ -0,0 +1,183 @@
+package dk.jonaslindstrom.ruffini.common.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compute the Discrete Fourier Transform of length <i>n = 2<sup>k</sup></i> over a ring with a principal
+ * <i>n</i>'th root of unity <i>ω</i>, eg. a prime field where <i>n</i> divides <i>p - 1</i>.
+ * <p>
+ * The transform is computed iteratively and in place: The input is permuted in bit-reversed order, after which the
+ * butterflies are applied two layers at a time as radix-4 butterflies, preceded by a single radix-2 layer if
+ * <i>k</i> is odd. The twiddle factors are computed once when the instance is created, so an instance should be reused
+ * for many transforms of the same length. For large <i>n</i>, the butterflies of each layer are computed in
+ * parallel.
+ *
+ * @param <E> Element type.
+ */
+public class NumberTheoreticTransform<E> {
+
+    /**
+     * Transforms of length at least this are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private final Ring<E> ring;
+    private final int n;
+    private final Twiddles twiddles;
+    private final E fourthRoot;
+
+    /**
+     * Create a new instance of the transform of length <i>n</i>, which must be a power of two.
+     *
+     * @throws IllegalArgumentException If <i>n</i> is not a power of two or the given root is not a principal
+     *                                  <i>n</i>'th root of unity.
+     */
+    public NumberTheoreticTransform(Ring<E> ring, E nThPrincipalRootOfUnity, int n) {
+        if (!isPowerOfTwo(n)) {
+            throw new IllegalArgumentException("Length must be a power of two but was " + n);
+        }
+        this.ring = ring;
+        this.n = n;
+        this.twiddles = new Twiddles(ring, nThPrincipalRootOfUnity, n);
+        this.fourthRoot = n >= 4 ? get(twiddles.roots, 3) : null;
+    }
+
+    public static boolean isPowerOfTwo(int n) {
+        return n > 0 && (n & (n - 1)) == 0;
+    }
+
+    public int getLength() {
+        return n;
+    }
+
+    /**
+     * Compute the transform of the given array in place. The array must have length <i>n</i>.
+     */
+    public void transform(Object[] a) {
+        if (a.length != n) {
+            throw new IllegalArgumentException("Expected an array of length " + n + " but got " + a.length);
+        }
+        if (n == 1) {
+            return;
+        }
+
+        bitReverse(a);
+
+        int h = 1;
+        if (Integer.numberOfTrailingZeros(n) % 2 != 0) {
+            layer(n / 2, k -> radix2(a, 2 * k));
+            h = 2;
+        }
+        for (; 4 * h <= n; h *= 4) {
+            int half = h;
+            layer(n / 4, k -> radix4(a, half, k));
+        }
+    }
+
+    private void layer(int butterflies, IntConsumer butterfly) {
+        IntStream range = IntStream.range(0, butterflies);
+        if (n >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(butterfly);
+    }
+
+    private void bitReverse(Object[] a) {
+        int shift = 32 - Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < n; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (i < j) {
+                Object t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(Object[] array, int i) {
+        return (E) array[i];
+    }
+
+    private void radix2(Object[] a, int i) {
+        E u = get(a, i);
+        E v = get(a, i + 1);
+        a[i] = ring.add(u, v);
+        a[i + 1] = ring.subtract(u, v);
+    }
+
+    /**
+     * Apply the <i>k</i>'th radix-4 butterfly in the layers combining blocks of size <i>h</i> into blocks of size
+     * <i>4h</i>. With <i>w = ω<sub>4h</sub><sup>j</sup></i>, the butterfly maps <i>(a<sub>0</sub>, ...,
+     * a<sub>3</sub>)</i> to <i>(x<sub>0</sub> + x<sub>1</sub>) ± (x<sub>2</sub> + x<sub>3</sub>)</i> and
+     * <i>(x<sub>0</sub> - x<sub>1</sub>) ± ω<sub>4</sub>(x<sub>2</sub> - x<sub>3</sub>)</i> where
+     * <i>x<sub>0</sub> = a<sub>0</sub>, x<sub>1</sub> = w<sup>2</sup>a<sub>1</sub>, x<sub>2</sub> = wa<sub>2</sub></i>
+     * and <i>x<sub>3</sub> = w<sup>3</sup>a<sub>3</sub></i>.
+     */
+    private void radix4(Object[] a, int h, int k) {
+        int j = k % h;
+        int i = 4 * (k - j) + j;
+
+        E x0 = get(a, i);
+        E x1 = get(a, i + h);
+        E x2 = get(a, i + 2 * h);
+        E x3 = get(a, i + 3 * h);
+        if (j > 0) {
+            x1 = ring.multiply(get(twiddles.roots, h + j), x1);
+            x2 = ring.multiply(get(twiddles.roots, 2 * h + j), x2);
+            x3 = ring.multiply(get(twiddles.cubes, h + j), x3);
+        }
+
+        E s0 = ring.add(x0, x1);
+        E d0 = ring.subtract(x0, x1);
+        E s1 = ring.add(x2, x3);
+        E d1 = ring.multiply(fourthRoot, ring.subtract(x2, x3));
+        a[i] = ring.add(s0, s1);
+        a[i + h] = ring.add(d0, d1);
+        a[i + 2 * h] = ring.subtract(s0, s1);
+        a[i + 3 * h] = ring.subtract(d0, d1);
+    }
+
+    /**
+     * For each power of two <i>m &le; n</i>, entry <i>m/2 + j</i> of <code>roots</code> is
+     * <i>ω<sub>m</sub><sup>j</sup></i> for <i>0 &le; j &lt; m/2</i>, and entry <i>m/4 + j</i> of <code>cubes</code>
+     * is <i>ω<sub>m</sub><sup>3j</sup></i> for <i>0 &le; j &lt; m/4</i>. Here <i>ω<sub>m</sub> =
+     * ω<sup>n/m</sup></i>.
+     */
+    private static class Twiddles {
+
+        private final Object[] roots;
+        private final Object[] cubes;
+
+        @SuppressWarnings("unchecked")
+        private <F> Twiddles(Ring<F> ring, F root, int n) {
+            this.roots = new Object[Math.max(n, 2)];
+            this.cubes = new Object[Math.max(n / 2, 1)];
+
+            int half = n / 2;
+            F power = ring.identity();
+            for (int j = 0; j < half; j++) {
+                roots[half + j] = power;
+                power = ring.multiply(power, root);
+            }
+            if (n > 1 && !ring.equals(power, ring.negate(ring.identity()))) {
+                throw new IllegalArgumentException("Expected a principal " + n + "'th root of unity");
+            }
+
+            for (int m = half; m > 1; m /= 2) {
+                for (int j = 0; j < m / 2; j++) {
+                    roots[m / 2 + j] = roots[m + 2 * j];
+                }
+            }
+            for (int m = 4; m <= n; m *= 2) {
+                for (int j = 0; j < m / 4; j++) {
+                    cubes[m / 4 + j] = ring.multiply((F) roots[m / 2 + j], (F) roots[m / 2 + 2 * j]);
+                }
+            }
+        }
+    }
+
+}
@@ -4,63 +4,274 @@ import dk.jonaslindstrom.ruffini.common.abstractions.Group;
 import dk.jonaslindstrom.ruffini.common.abstractions.Monoid;
 
 import java.math.BigInteger;
+import java.util.function.IntPredicate;
 
 /**
  * Compute <i>a<sup>e</sup></i> for a {@link BigInteger} <i>e</i>.
+ * <p>
+ * Powers are computed iteratively from the most significant bit of the exponent using one of the strategies in
+ * {@link Strategy}. By default, square-and-multiply is used for small exponents and a sliding window otherwise, with
+ * a window size chosen from the bit length of the exponent. When many powers of the same base are needed, eg. of a
+ * generator, a table of powers of the base can be precomputed using {@link #precompute(Object, int)}.
  */
 public class Power<E> {
 
+    private static final int FIXED_BASE_WINDOW = 4;
+
     private final Monoid<E> monoid;
+    private final Strategy strategy;
+    private final int window;
 
     public Power(Monoid<E> monoid) {
+        this(monoid, Strategy.AUTOMATIC, 0);
+    }
+
+    /**
+     * Create a new instance using the given strategy. If the window size is zero, it is chosen based on the size
+     * of the exponent.
+     */
+    public Power(Monoid<E> monoid, Strategy strategy, int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Window size must be non-negative but was " + window);
+        }
         this.monoid = monoid;
+        this.strategy = strategy;
+        this.window = window;
     }
 
-    public E apply(E a, BigInteger e) {
+    /**
+     * The window size minimising the expected number of multiplications for the sliding window method with an
+     * exponent of the given bit length.
+     */
+    private static int optimalWindow(int bits) {
+        if (bits <= 7) {
+            return 1;
+        } else if (bits <= 36) {
+            return 2;
+        } else if (bits <= 140) {
+            return 3;
+        } else if (bits <= 450) {
+            return 4;
+        } else if (bits <= 1303) {
+            return 5;
+        } else if (bits <= 3529) {
+            return 6;
+        }
+        return 7;
+    }
 
-        if (e.compareTo(BigInteger.ZERO) < 0) {
-            if (!(monoid instanceof Group)) {
-                throw new IllegalArgumentException("Negative exponents are only allowed for groups");
-            }
-            return ((Group<E>) monoid).invert(apply(a, e.negate()));
+    private E invert(E a) {
+        if (!(monoid instanceof Group)) {
+            throw new IllegalArgumentException("Negative exponents are only allowed for groups");
         }
+        return ((Group<E>) monoid).invert(a);
+    }
 
-        if (e.equals(BigInteger.ZERO)) {
+    public E apply(E a, BigInteger e) {
+        if (e.signum() < 0) {
+            return invert(apply(a, e.negate()));
+        }
+        return apply(a, e.bitLength(), e::testBit);
+    }
+
+    public E apply(E a, Integer e) {
+        // The bits of |e| are read as an unsigned int, so this also works for Integer.MIN_VALUE
+        int f = Math.abs(e);
+        E result = apply(a, 32 - Integer.numberOfLeadingZeros(f), i -> i < 32 && ((f >>> i) & 1) == 1);
+        return e < 0 ? invert(result) : result;
+    }
+
+    /**
+     * Compute <i>a<sup>e</sup></i> for a non-negative exponent given by its bit length and a predicate testing its
+     * bits.
+     */
+    private E apply(E a, int bits, IntPredicate bit) {
+        if (bits == 0) {
             return monoid.identity();
-        } else if (e.equals(BigInteger.ONE)) {
+        } else if (bits == 1) {
             return a;
         }
 
-        if (e.testBit(0)) {
-            return monoid
-                    .multiply(a, apply(monoid.multiply(a, a), e.subtract(BigInteger.ONE).shiftRight(1)));
-        } else {
-            return apply(monoid.multiply(a, a), e.shiftRight(1));
+        int w = window > 0 ? window : optimalWindow(bits);
+        return switch (strategy) {
+            case BINARY -> binary(a, bits, bit);
+            case FIXED_WINDOW -> fixedWindow(a, bits, bit, w);
+            case AUTOMATIC, SLIDING_WINDOW -> w == 1 ? binary(a, bits, bit) : slidingWindow(a, bits, bit, w);
+        };
+    }
+
+    private E square(E a) {
+        return monoid.multiply(a, a);
+    }
+
+    private E binary(E a, int bits, IntPredicate bit) {
+        E result = a;
+        for (int i = bits - 2; i >= 0; i--) {
+            result = square(result);
+            if (bit.test(i)) {
+                result = monoid.multiply(result, a);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E slidingWindow(E a, int bits, IntPredicate bit, int w) {
+        // Odd powers a, a^3, ..., a^(2^w - 1)
+        Object[] odd = new Object[1 << (w - 1)];
+        odd[0] = a;
+        E a2 = square(a);
+        for (int k = 1; k < odd.length; k++) {
+            odd[k] = monoid.multiply((E) odd[k - 1], a2);
         }
 
+        // The identity is represented by null to avoid multiplications by it
+        E result = null;
+        int i = bits - 1;
+        while (i >= 0) {
+            if (!bit.test(i)) {
+                result = result == null ? null : square(result);
+                i--;
+                continue;
+            }
+
+            // Find the longest window of at most w bits starting at bit i and ending with a one
+            int l = Math.max(i - w + 1, 0);
+            while (!bit.test(l)) {
+                l++;
+            }
+            int value = 0;
+            for (int j = i; j >= l; j--) {
+                value = 2 * value + (bit.test(j) ? 1 : 0);
+                if (result != null) {
+                    result = square(result);
+                }
+            }
+            result = result == null ? (E) odd[value >> 1] : monoid.multiply(result, (E) odd[value >> 1]);
+            i = l - 1;
+        }
+        return result;
     }
 
-    public E apply(E a, Integer e) {
+    @SuppressWarnings("unchecked")
+    private E fixedWindow(E a, int bits, IntPredicate bit, int w) {
+        // All powers a, a^2, ..., a^(2^w - 1)
+        Object[] table = new Object[1 << w];
+        table[1] = a;
+        for (int k = 2; k < table.length; k++) {
+            table[k] = monoid.multiply((E) table[k - 1], a);
+        }
 
-        if (e < 0) {
-            if (!(monoid instanceof Group)) {
-                throw new IllegalArgumentException("Negative exponents are only allowed for groups");
+        E result = null;
+        for (int d = (bits - 1) / w; d >= 0; d--) {
+            if (result != null) {
+                for (int j = 0; j < w; j++) {
+                    result = square(result);
+                }
+            }
+            int digit = digit(bit, d * w, w);
+            if (digit != 0) {
+                result = result == null ? (E) table[digit] : monoid.multiply(result, (E) table[digit]);
             }
-            return ((Group<E>) monoid).invert(apply(a, -e));
         }
+        return result == null ? monoid.identity() : result;
+    }
 
-        if (e == 0) {
-            return monoid.identity();
-        } else if (e == 1) {
-            return a;
+    /**
+     * Return the integer with the <i>w</i> bits starting at the given position.
+     */
+    private static int digit(IntPredicate bit, int from, int w) {
+        int value = 0;
+        for (int j = w - 1; j >= 0; j--) {
+            value = 2 * value + (bit.test(from + j) ? 1 : 0);
         }
+        return value;
+    }
+
+    /**
+     * Precompute a table for computing powers of the given base with exponents of at most the given bit length. Building
+     * the table costs about <i>15/4</i> multiplications per bit, so this pays off when the base is used for more than
+     * a few exponentiations.
+     */
+    public FixedBase precompute(E base, int bits) {
+        return new FixedBase(base, bits, FIXED_BASE_WINDOW);
+    }
+
+    public enum Strategy {
+        /**
+         * Use square-and-multiply for small exponents and otherwise a sliding window with a window size depending on
+         * the exponent.
+         */
+        AUTOMATIC,
+
+        /**
+         * Left-to-right square-and-multiply.
+         */
+        BINARY,
+
+        /**
+         * Left-to-right sliding window using a table of odd powers of the base.
+         */
+        SLIDING_WINDOW,
 
-        if (Math.floorMod(e, 2) == 1) {
-            return monoid.multiply(a, apply(monoid.multiply(a, a), (e - 1) / 2));
-        } else {
-            return apply(monoid.multiply(a, a), e / 2);
+        /**
+         * Left-to-right fixed window using a table of all powers of the base smaller than <i>2<sup>w</sup></i>.
+         */
+        FIXED_WINDOW
+    }
+
+    /**
+     * Powers of a fixed base <i>a</i>. For a window size <i>w</i>, the table holds <i>a<sup>j 2<sup>wi</sup></sup></i>
+     * for all <i>0 &lt; j &lt; 2<sup>w</sup></i> and all windows <i>i</i>, so a power can be computed using one
+     * multiplication per non-zero window of the exponent and no squarings.
+     */
+    public class FixedBase {
+
+        private final E base;
+        private final int bits, w;
+        private final Object[][] table;
+
+        private FixedBase(E base, int bits, int w) {
+            this.base = base;
+            this.bits = bits;
+            this.w = w;
+
+            int windows = (bits + w - 1) / w;
+            this.table = new Object[windows][1 << w];
+            E g = base;
+            for (int i = 0; i < windows; i++) {
+                table[i][1] = g;
+                for (int j = 2; j < 1 << w; j++) {
+                    table[i][j] = monoid.multiply(get(i, j - 1), g);
+                }
+                if (i < windows - 1) {
+                    g = monoid.multiply(get(i, (1 << w) - 1), g);
+                }
+            }
         }
 
+        @SuppressWarnings("unchecked")
+        private E get(int i, int j) {
+            return (E) table[i][j];
+        }
+
+        public E apply(BigInteger e) {
+            if (e.signum() < 0) {
+                return invert(apply(e.negate()));
+            }
+            if (e.bitLength() > bits) {
+                return Power.this.apply(base, e.bitLength(), e::testBit);
+            }
+
+            E result = null;
+            for (int i = 0; i < table.length; i++) {
+                int digit = digit(e::testBit, i * w, w);
+                if (digit != 0) {
+                    result = result == null ? get(i, digit) : monoid.multiply(result, get(i, digit));
+                }
+            }
+            return result == null ? monoid.identity() : result;
+        }
     }
 
 }
@@ -0,0 +1,71 @@
+package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.EuclideanDomain;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.MutableMatrix;
+
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Compute the determinant of a matrix over a Euclidean domain using Bareiss' fraction-free elimination. This uses
+ * <i>O(n<sup>3</sup>)</i> ring operations and all divisions are exact, so the intermediate entries are minors of the
+ * original matrix and do not grow more than necessary.
+ *
+ * @param <E> Element type.
+ */
+public class BareissAlgorithm<E> implements Function<Matrix<E>, E> {
+
+    private final EuclideanDomain<E> ring;
+
+    public BareissAlgorithm(EuclideanDomain<E> ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public E apply(Matrix<E> a) {
+        assert (a.isSquare());
+        int n = a.getHeight();
+        if (n == 0) {
+            return ring.identity();
+        }
+
+        MutableMatrix<E> m = a.mutable();
+        boolean negate = false;
+        E previous = ring.identity();
+
+        for (int k = 0; k < n - 1; k++) {
+            if (ring.isZero(m.get(k, k))) {
+                int pivot = k + 1;
+                while (pivot < n && ring.isZero(m.get(pivot, k))) {
+                    pivot++;
+                }
+                if (pivot == n) {
+                    return ring.zero();
+                }
+                for (int j = k; j < n; j++) {
+                    E tmp = m.get(k, j);
+                    m.set(k, j, m.get(pivot, j));
+                    m.set(pivot, j, tmp);
+                }
+                negate = !negate;
+            }
+
+            int row = k;
+            E d = previous;
+            E akk = m.get(k, k);
+            IntStream.range(k + 1, n).parallel().forEach(i -> {
+                E aik = m.get(i, row);
+                for (int j = row + 1; j < n; j++) {
+                    E numerator = ring.subtract(ring.multiply(m.get(i, j), akk), ring.multiply(aik, m.get(row, j)));
+                    m.set(i, j, ring.divideExact(numerator, d));
+                }
+            });
+            previous = akk;
+        }
+
+        E determinant = m.get(n - 1, n - 1);
+        return negate ? ring.negate(determinant) : determinant;
+    }
+
+}
@@ -0,0 +1,88 @@
+package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compute the determinant of a matrix over an arbitrary commutative ring using Berkowitz' algorithm. This does not
+ * use any divisions and uses <i>O(n<sup>4</sup>)</i> ring operations.
+ *
+ * @param <E> Element type.
+ */
+public class BerkowitzAlgorithm<E> implements Function<Matrix<E>, E> {
+
+    private final Ring<E> ring;
+
+    public BerkowitzAlgorithm(Ring<E> ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Compute the coefficients of the characteristic polynomial <i>det(xI - A)</i> of the given matrix starting with
+     * the leading coefficient, so the <i>k</i>'th entry of the result is the coefficient of <i>x<sup>n-k</sup></i>.
+     */
+    public List<E> characteristicPolynomial(Matrix<E> a) {
+        assert (a.isSquare());
+        int n = a.getHeight();
+
+        List<E> v = new ArrayList<>();
+        v.add(ring.identity());
+
+        for (int r = 1; r <= n; r++) {
+            int s = r - 1;
+
+            // First column of the Toeplitz matrix: 1, -a_rr, -RC, -RAC, ..., -RA^{r-2}C
+            List<E> t = new ArrayList<>(r + 1);
+            t.add(ring.identity());
+            t.add(ring.negate(a.get(s, s)));
+
+            List<E> c = new ArrayList<>(s);
+            for (int i = 0; i < s; i++) {
+                c.add(a.get(i, s));
+            }
+            for (int k = 2; k <= r; k++) {
+                E rc = ring.zero();
+                for (int j = 0; j < s; j++) {
+                    rc = ring.add(rc, ring.multiply(a.get(s, j), c.get(j)));
+                }
+                t.add(ring.negate(rc));
+
+                if (k < r) {
+                    List<E> next = new ArrayList<>(s);
+                    for (int i = 0; i < s; i++) {
+                        E sum = ring.zero();
+                        for (int j = 0; j < s; j++) {
+                            sum = ring.add(sum, ring.multiply(a.get(i, j), c.get(j)));
+                        }
+                        next.add(sum);
+                    }
+                    c = next;
+                }
+            }
+
+            List<E> w = new ArrayList<>(r + 1);
+            for (int i = 0; i <= r; i++) {
+                E sum = ring.zero();
+                for (int j = Math.max(0, i - r); j <= Math.min(i, s); j++) {
+                    sum = ring.add(sum, ring.multiply(t.get(i - j), v.get(j)));
+                }
+                w.add(sum);
+            }
+            v = w;
+        }
+
+        return v;
+    }
+
+    @Override
+    public E apply(Matrix<E> a) {
+        int n = a.getHeight();
+        E constant = characteristicPolynomial(a).get(n);
+        return n % 2 == 0 ? constant : ring.negate(constant);
+    }
+
+}
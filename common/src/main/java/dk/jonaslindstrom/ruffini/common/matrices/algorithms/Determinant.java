@@ -1,39 +1,38 @@
 package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
 
+import dk.jonaslindstrom.ruffini.common.abstractions.EuclideanDomain;
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
 import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
 
 import java.util.function.Function;
 
 /**
- * Calculate the determinant of a matrix.
+ * Calculate the determinant of a matrix. The algorithm is chosen based on the structure of the ring: an
+ * {@link LUDecomposition} is used over fields, Bareiss' fraction-free elimination over Euclidean domains (see
+ * {@link BareissAlgorithm}) and the division-free Berkowitz algorithm over other rings (see
+ * {@link BerkowitzAlgorithm}).
  *
  * @param <E> Element type.
  */
 public class Determinant<E> implements Function<Matrix<E>, E> {
 
-    private final Ring<E> ring;
+    private final Function<Matrix<E>, E> algorithm;
 
     public Determinant(Ring<E> ring) {
-        this.ring = ring;
+        if (ring instanceof Field<E> field) {
+            this.algorithm = a -> new LUDecomposition<>(field, a).determinant();
+        } else if (ring instanceof EuclideanDomain<E> domain) {
+            this.algorithm = new BareissAlgorithm<>(domain);
+        } else {
+            this.algorithm = new BerkowitzAlgorithm<>(ring);
+        }
     }
 
     @Override
     public E apply(Matrix<E> t) {
         assert (t.isSquare());
-
-        if (t.getHeight() == 1) {
-            return t.get(0, 0);
-        } else {
-            E d = ring.zero();
-            E c = ring.identity();
-            Matrix<E> view = t.view();
-            for (int i = 0; i < t.getHeight(); i++) {
-                d = ring.add(d, ring.multiply(t.get(i, 0), ring.multiply(c, apply(view.minor(i, 0)))));
-                c = ring.negate(c);
-            }
-            return d;
-        }
+        return algorithm.apply(t);
     }
 
 }
@@ -1,69 +1,226 @@
 package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.LongMatrix;
 import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
-import dk.jonaslindstrom.ruffini.common.matrices.elements.MutableMatrix;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 
+import java.util.function.IntConsumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 /**
- * Perform Gaussian elimination on a matrix.
+ * Perform Gaussian elimination on a matrix, returning the reduced row echelon form.
+ * <p>
+ * The entries are copied into a flat array in row-major order. For each pivot, the elimination of the pivot column
+ * from the other rows is split across rows, so each task updates whole rows in a sequential loop. If the field is an
+ * {@link IntPrimeField} or a {@link LongPrimeField}, or a {@link PrimitivePrimeField} backed by one, the elimination
+ * is done on primitive arrays without boxing.
  *
  * @param <E> Element type.
  */
 public class GaussianElimination<E> implements UnaryOperator<Matrix<E>> {
 
+    /**
+     * Eliminations updating fewer than this many entries are done sequentially.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 12;
+
     private final Field<E> field;
 
     public GaussianElimination(Field<E> field) {
         this.field = field;
     }
 
-    private void interchangeRows(MutableMatrix<E> matrix, int i, int j) {
-        IntStream.range(0, matrix.getWidth()).parallel().forEach(k -> {
-            E tmp = matrix.get(i, k);
-            matrix.set(i, k, matrix.get(j, k));
-            matrix.set(j, k, tmp);
-        });
+    /**
+     * Apply the given row operation to all rows except the pivot row, in parallel if the total number of updated
+     * entries is large enough.
+     */
+    private static void forEachOtherRow(int m, int lead, int width, IntConsumer operation) {
+        IntStream rows = IntStream.range(0, m).filter(k -> k != lead);
+        if ((long) m * width > PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(operation);
     }
 
-    private void addMultipleOfRow(MutableMatrix<E> matrix, int from, int to, E multiple) {
-        IntStream.range(0, matrix.getWidth()).parallel().forEach(k -> matrix.set(to, k,
-                field.add(matrix.get(to, k), field.multiply(matrix.get(from, k), multiple))));
-    }
+    @SuppressWarnings("unchecked")
+    @Override
+    public Matrix<E> apply(Matrix<E> a) {
+        int m = a.getHeight();
+        int n = a.getWidth();
 
-    private void subtractMultipleOfRow(MutableMatrix<E> matrix, int from, int to, E multiple) {
-        addMultipleOfRow(matrix, from, to, field.negate(multiple));
+        Ring<?> primitive = PrimitivePrimeField.unwrap(field);
+        if (primitive instanceof IntPrimeField f) {
+            int[] entries = new int[m * n];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    entries[i * n + j] = f.element((Integer) a.get(i, j));
+                }
+            }
+            eliminate(entries, m, n, f);
+            return Matrix.of(m, n, (i, j) -> (E) Integer.valueOf(entries[i * n + j]));
+        } else if (primitive instanceof LongPrimeField f) {
+            long[] entries = new long[m * n];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    entries[i * n + j] = f.element((Long) a.get(i, j));
+                }
+            }
+            eliminate(entries, m, n, f);
+            return (Matrix<E>) new LongMatrix(m, n, entries);
+        }
+
+        Object[] entries = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                entries[i * n + j] = a.get(i, j);
+            }
+        }
+        eliminate(entries, m, n);
+        return Matrix.of(m, n, (i, j) -> (E) entries[i * n + j]);
     }
 
-    private void scaleRow(MutableMatrix<E> matrix, int row, E multiple) {
-        IntStream.range(0, matrix.getWidth()).parallel().forEach(k ->
-                matrix.set(row, k, field.multiply(matrix.get(row, k), multiple)));
+    @SuppressWarnings("unchecked")
+    private void eliminate(Object[] entries, int m, int n) {
+        int lead = 0;
+        for (int j = 0; j < n && lead < m; j++) {
+            int p = lead;
+            while (p < m && field.isZero((E) entries[p * n + j])) {
+                p++;
+            }
+            if (p == m) {
+                continue;
+            }
+            swapRows(entries, n, p, lead);
+
+            // Entries to the left of the pivot are zero in the pivot row and need not be updated
+            int row = lead * n;
+            E inverse = field.invert((E) entries[row + j]);
+            for (int c = j; c < n; c++) {
+                entries[row + c] = field.multiply((E) entries[row + c], inverse);
+            }
+
+            int column = j;
+            forEachOtherRow(m, lead, n - j, k -> {
+                int offset = k * n;
+                E f = (E) entries[offset + column];
+                if (field.isZero(f)) {
+                    return;
+                }
+                for (int c = column; c < n; c++) {
+                    entries[offset + c] = field.subtract((E) entries[offset + c],
+                            field.multiply(f, (E) entries[row + c]));
+                }
+            });
+            lead++;
+        }
     }
 
-    @Override
-    public Matrix<E> apply(Matrix<E> a) {
+    private static void eliminate(int[] entries, int m, int n, IntPrimeField field) {
+        int p = field.getModulus();
         int lead = 0;
-        MutableMatrix<E> matrix = a.mutable();
-        for (int j = 0; j < matrix.getWidth(); j++) {
-            for (int i = lead; i < matrix.getHeight(); i++) {
-                if (!field.isZero(matrix.get(i, j))) {
-                    if (i > lead) {
-                        interchangeRows(matrix, i, lead);
-                    }
-                    scaleRow(matrix, lead, field.invert(matrix.get(lead, j)));
-                    for (int k = 0; k < matrix.getHeight(); k++) {
-                        if (k == lead) {
-                            continue;
-                        }
-                        subtractMultipleOfRow(matrix, lead, k, matrix.get(k, j));
-                    }
-                    lead++;
+        for (int j = 0; j < n && lead < m; j++) {
+            int i = lead;
+            while (i < m && entries[i * n + j] == 0) {
+                i++;
+            }
+            if (i == m) {
+                continue;
+            }
+            swapRows(entries, n, i, lead);
+
+            int row = lead * n;
+            int inverse = field.inv(entries[row + j]);
+            for (int c = j; c < n; c++) {
+                entries[row + c] = field.mul(entries[row + c], inverse);
+            }
+
+            int column = j;
+            forEachOtherRow(m, lead, n - j, k -> {
+                int offset = k * n;
+                int f = entries[offset + column];
+                if (f == 0) {
+                    return;
+                }
+                // x - f y = x + (p - f) y < p + p^2 fits in a long and can be reduced directly
+                long g = p - f;
+                for (int c = column; c < n; c++) {
+                    entries[offset + c] = field.reduce(entries[offset + c] + g * entries[row + c]);
                 }
+            });
+            lead++;
+        }
+    }
+
+    private static void eliminate(long[] entries, int m, int n, LongPrimeField field) {
+        int lead = 0;
+        for (int j = 0; j < n && lead < m; j++) {
+            int i = lead;
+            while (i < m && entries[i * n + j] == 0) {
+                i++;
+            }
+            if (i == m) {
+                continue;
+            }
+            swapRows(entries, n, i, lead);
+
+            int row = lead * n;
+            long inverse = field.inv(entries[row + j]);
+            for (int c = j; c < n; c++) {
+                entries[row + c] = field.mul(entries[row + c], inverse);
             }
+
+            int column = j;
+            forEachOtherRow(m, lead, n - j, k -> {
+                int offset = k * n;
+                long f = entries[offset + column];
+                if (f == 0) {
+                    return;
+                }
+                long g = field.neg(f);
+                for (int c = column; c < n; c++) {
+                    entries[offset + c] = field.add(entries[offset + c], field.mul(g, entries[row + c]));
+                }
+            });
+            lead++;
+        }
+    }
+
+    private static void swapRows(Object[] entries, int n, int i, int j) {
+        if (i == j) {
+            return;
+        }
+        for (int c = 0; c < n; c++) {
+            Object tmp = entries[i * n + c];
+            entries[i * n + c] = entries[j * n + c];
+            entries[j * n + c] = tmp;
+        }
+    }
+
+    private static void swapRows(int[] entries, int n, int i, int j) {
+        if (i == j) {
+            return;
+        }
+        for (int c = 0; c < n; c++) {
+            int tmp = entries[i * n + c];
+            entries[i * n + c] = entries[j * n + c];
+            entries[j * n + c] = tmp;
+        }
+    }
+
+    private static void swapRows(long[] entries, int n, int i, int j) {
+        if (i == j) {
+            return;
+        }
+        for (int c = 0; c < n; c++) {
+            long tmp = entries[i * n + c];
+            entries[i * n + c] = entries[j * n + c];
+            entries[j * n + c] = tmp;
         }
-        return matrix;
     }
 
 }
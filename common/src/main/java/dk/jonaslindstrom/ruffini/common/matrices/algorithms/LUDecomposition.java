@@ -0,0 +1,272 @@
+package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.vector.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Compute a decomposition <i>PA = LU</i> of an <i>m x n</i> matrix over a field, where <i>P</i> is a permutation
+ * matrix, <i>L</i> is an <i>m x m</i> unit lower triangular matrix and <i>U</i> is an <i>m x n</i> matrix in row
+ * echelon form. The matrix does not have to be square or of full rank.
+ * <p>
+ * The factorization is computed once when an instance is created, and may then be used to solve systems with many
+ * right-hand sides and to compute the determinant, inverse, rank and kernel of the matrix. Each solve uses
+ * <i>O(mn)</i> field operations and no inversions.
+ *
+ * @param <E> Element type.
+ */
+public class LUDecomposition<E> {
+
+    /**
+     * Eliminations updating fewer than this many entries are done sequentially.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 12;
+
+    private final Field<E> field;
+    private final int m, n;
+
+    /**
+     * Entries of <i>U</i> on and above the pivots and the entries of <i>L</i> below them in row-major order.
+     */
+    private final Object[] lu;
+
+    /**
+     * Row <i>i</i> of <i>PA</i> is row <code>permutation[i]</code> of <i>A</i>.
+     */
+    private final int[] permutation;
+
+    /**
+     * The column of the pivot in each of the first <code>rank</code> rows of <i>U</i> and the inverses of the
+     * pivots.
+     */
+    private final int[] pivotColumns;
+    private final Object[] pivotInverses;
+    private final int rank;
+    private final boolean oddPermutation;
+
+    public LUDecomposition(Field<E> field, Matrix<E> a) {
+        this.field = field;
+        this.m = a.getHeight();
+        this.n = a.getWidth();
+        this.lu = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                lu[i * n + j] = a.get(i, j);
+            }
+        }
+        this.permutation = IntStream.range(0, m).toArray();
+
+        int[] pivots = new int[Math.min(m, n)];
+        List<Object> inverses = new ArrayList<>();
+        boolean odd = false;
+        int r = 0;
+        for (int c = 0; c < n && r < m; c++) {
+            int p = r;
+            while (p < m && field.isZero(get(p, c))) {
+                p++;
+            }
+            if (p == m) {
+                continue;
+            }
+            if (p != r) {
+                swapRows(p, r);
+                odd = !odd;
+            }
+
+            E inverse = field.invert(get(r, c));
+            pivots[r] = c;
+            inverses.add(inverse);
+
+            int row = r, column = c;
+            IntStream rows = IntStream.range(r + 1, m);
+            if ((long) (m - r) * (n - c) > PARALLEL_THRESHOLD) {
+                rows = rows.parallel();
+            }
+            rows.forEach(i -> {
+                E f = get(i, column);
+                if (field.isZero(f)) {
+                    return;
+                }
+                f = field.multiply(f, inverse);
+                lu[i * n + column] = f;
+                for (int j = column + 1; j < n; j++) {
+                    lu[i * n + j] = field.subtract(get(i, j), field.multiply(f, get(row, j)));
+                }
+            });
+            r++;
+        }
+
+        this.rank = r;
+        this.pivotColumns = pivots;
+        this.pivotInverses = inverses.toArray();
+        this.oddPermutation = odd;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(int i, int j) {
+        return (E) lu[i * n + j];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E pivotInverse(int k) {
+        return (E) pivotInverses[k];
+    }
+
+    private void swapRows(int i, int j) {
+        for (int k = 0; k < n; k++) {
+            Object tmp = lu[i * n + k];
+            lu[i * n + k] = lu[j * n + k];
+            lu[j * n + k] = tmp;
+        }
+        int tmp = permutation[i];
+        permutation[i] = permutation[j];
+        permutation[j] = tmp;
+    }
+
+    /**
+     * Return the entry of <i>L</i> at position <i>(i,k)</i> for <i>k &lt; i</i>.
+     */
+    private E lower(int i, int k) {
+        return k < rank ? get(i, pivotColumns[k]) : field.zero();
+    }
+
+    public Matrix<E> getL() {
+        return Matrix.of(m, m, (i, j) -> i == j ? field.identity() : (j < i ? lower(i, j) : field.zero()));
+    }
+
+    public Matrix<E> getU() {
+        return Matrix.of(m, n, (i, j) -> i < rank && j >= pivotColumns[i] ? get(i, j) : field.zero());
+    }
+
+    /**
+     * Return the permutation as an array where row <i>i</i> of <i>PA</i> is the row with the given index in
+     * <i>A</i>.
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    public Matrix<E> getP() {
+        return Matrix.of(m, m, (i, j) -> permutation[i] == j ? field.identity() : field.zero());
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public boolean isInvertible() {
+        return m == n && rank == n;
+    }
+
+    public E determinant() {
+        if (m != n) {
+            throw new IllegalArgumentException("Matrix must be square");
+        }
+        if (rank < n) {
+            return field.zero();
+        }
+        E determinant = field.identity();
+        for (int i = 0; i < n; i++) {
+            determinant = field.multiply(determinant, get(i, i));
+        }
+        return oddPermutation ? field.negate(determinant) : determinant;
+    }
+
+    /**
+     * Find a solution <i>x</i> to <i>Ax = b</i>. If the matrix is not of full rank, the free variables in the
+     * solution are set to zero.
+     *
+     * @throws IllegalArgumentException If the system has no solution.
+     */
+    @SuppressWarnings("unchecked")
+    public Vector<E> solve(Vector<E> b) {
+        if (b.size() != m) {
+            throw new IllegalArgumentException("Expected vector of size " + m + " but was " + b.size());
+        }
+
+        // Solve Ly = Pb
+        Object[] y = new Object[m];
+        for (int i = 0; i < m; i++) {
+            E yi = b.get(permutation[i]);
+            for (int k = 0; k < Math.min(i, rank); k++) {
+                yi = field.subtract(yi, field.multiply(lower(i, k), (E) y[k]));
+            }
+            y[i] = yi;
+        }
+
+        for (int i = rank; i < m; i++) {
+            if (!field.isZero((E) y[i])) {
+                throw new IllegalArgumentException("System has no solution");
+            }
+        }
+
+        return backSubstitute(y, -1);
+    }
+
+    /**
+     * Solve <i>AX = B</i> for each column of <i>B</i>.
+     *
+     * @throws IllegalArgumentException If one of the systems has no solution.
+     */
+    public Matrix<E> solve(Matrix<E> b) {
+        List<Vector<E>> columns = IntStream.range(0, b.getWidth()).parallel()
+                .mapToObj(j -> solve(b.getColumn(j))).toList();
+        return Matrix.of(n, b.getWidth(), (i, j) -> columns.get(j).get(i));
+    }
+
+    /**
+     * Compute the inverse of the matrix.
+     *
+     * @throws IllegalArgumentException If the matrix is not invertible.
+     */
+    public Matrix<E> inverse() {
+        if (!isInvertible()) {
+            throw new IllegalArgumentException("Matrix not invertible");
+        }
+        return solve(Matrix.eye(n, field));
+    }
+
+    /**
+     * Return a basis for the kernel of the matrix, eg. the vectors <i>x</i> such that <i>Ax = 0</i>.
+     */
+    public List<Vector<E>> kernel() {
+        boolean[] isPivot = new boolean[n];
+        for (int k = 0; k < rank; k++) {
+            isPivot[pivotColumns[k]] = true;
+        }
+        Object[] zeros = new Object[rank];
+        for (int k = 0; k < rank; k++) {
+            zeros[k] = field.zero();
+        }
+        return IntStream.range(0, n).filter(j -> !isPivot[j]).mapToObj(j -> backSubstitute(zeros, j)).toList();
+    }
+
+    /**
+     * Solve <i>Ux = y</i> where <i>y</i> has at least <code>rank</code> entries. Free variables are zero except
+     * for the one with index <code>free</code> which is set to one.
+     */
+    @SuppressWarnings("unchecked")
+    private Vector<E> backSubstitute(Object[] y, int free) {
+        Object[] x = new Object[n];
+        for (int j = 0; j < n; j++) {
+            x[j] = j == free ? field.identity() : field.zero();
+        }
+        for (int k = rank - 1; k >= 0; k--) {
+            int c = pivotColumns[k];
+            E s = (E) y[k];
+            for (int j = c + 1; j < n; j++) {
+                E xj = (E) x[j];
+                if (!field.isZero(xj)) {
+                    s = field.subtract(s, field.multiply(get(k, j), xj));
+                }
+            }
+            x[c] = field.multiply(s, pivotInverse(k));
+        }
+        return Vector.of(n, j -> (E) x[j]);
+    }
+
+}
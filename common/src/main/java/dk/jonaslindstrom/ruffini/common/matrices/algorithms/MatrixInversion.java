@@ -7,7 +7,7 @@ import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
 import java.util.function.UnaryOperator;
 
 /**
- * Compute the inverse of a matrix.
+ * Compute the inverse of a matrix using an {@link LUDecomposition}.
  */
 public class MatrixInversion<E> implements UnaryOperator<Matrix<E>> {
 
@@ -20,26 +20,6 @@ public class MatrixInversion<E> implements UnaryOperator<Matrix<E>> {
     @Override
     public Matrix<E> apply(Matrix<E> a) {
         assert a.isSquare();
-        int n = a.getHeight();
-        Matrix<E> composed = Matrix.lazy(n, 2 * n, (i, j) -> {
-            if (j < n) {
-                return a.get(i, j);
-            } else {
-                int k = j - n;
-                return i == k ? field.identity() : field.zero();
-            }
-        });
-
-        Matrix<E> reduced = new GaussianElimination<>(field).apply(composed);
-
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (i == j && !reduced.get(i, j).equals(field.identity()) || i != j && !reduced.get(i, j).equals(field.zero())) {
-                    throw new IllegalArgumentException("Matrix not invertible");
-                }
-            }
-        }
-
-        return reduced.submatrix(0, n, n, 2 * n);
+        return new LUDecomposition<>(field, a).inverse();
     }
 }
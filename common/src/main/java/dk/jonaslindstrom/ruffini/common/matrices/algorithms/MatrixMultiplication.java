@@ -1,36 +1,271 @@
 package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.algorithms.DotProduct;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.LongMatrix;
 import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
 /**
  * This function computes the product of two matrices.
+ * <p>
+ * If constructed from a ring, the output is split into square tiles which are computed in parallel on a
+ * {@link ForkJoinPool}. Each tile is computed in <i>i-k-j</i> order from blocks of the inputs copied into flat arrays,
+ * so the entries used by the inner loop are read sequentially. If the ring is an {@link IntPrimeField} or a
+ * {@link LongPrimeField}, or a {@link PrimitivePrimeField} backed by one, the tiles are computed on primitive arrays
+ * without boxing.
  */
 public class MatrixMultiplication<E> implements BinaryOperator<Matrix<E>> {
 
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /**
+     * Products with fewer than this many multiplications are computed sequentially.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 15;
+
+    private final Ring<E> ring;
     private final BiFunction<Vector<E>, Vector<E>, E> dotProduct;
+    private final int blockSize;
+    private final ForkJoinPool pool;
 
     public MatrixMultiplication(Ring<E> ring) {
-        this(new DotProduct<>(ring));
+        this(ring, DEFAULT_BLOCK_SIZE);
+    }
+
+    public MatrixMultiplication(Ring<E> ring, int blockSize) {
+        this(ring, blockSize, ForkJoinPool.commonPool());
+    }
+
+    public MatrixMultiplication(Ring<E> ring, int blockSize, ForkJoinPool pool) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive but was " + blockSize);
+        }
+        this.ring = ring;
+        this.dotProduct = null;
+        this.blockSize = blockSize;
+        this.pool = pool;
     }
 
+    /**
+     * Create a new instance which computes each entry of the product using the given dot product.
+     */
     public MatrixMultiplication(BiFunction<Vector<E>, Vector<E>, E> dotProduct) {
+        this.ring = null;
         this.dotProduct = dotProduct;
+        this.blockSize = DEFAULT_BLOCK_SIZE;
+        this.pool = ForkJoinPool.commonPool();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Matrix<E> apply(Matrix<E> a, Matrix<E> b) {
         if (a.getWidth() != b.getHeight()) {
             throw new IllegalArgumentException("Matrix sizes does allow multiplication.");
         }
 
-        return Matrix
-                .of(a.getHeight(), b.getWidth(), (i, j) -> dotProduct.apply(a.getRow(i), b.getColumn(j)));
+        if (dotProduct != null) {
+            return Matrix
+                    .of(a.getHeight(), b.getWidth(), (i, j) -> dotProduct.apply(a.getRow(i), b.getColumn(j)));
+        }
+
+        int m = a.getHeight();
+        int l = a.getWidth();
+        int n = b.getWidth();
+
+        Ring<?> primitive = PrimitivePrimeField.unwrap(ring);
+        if (primitive instanceof IntPrimeField field) {
+            int[] result = multiply(toIntArray((Matrix<Integer>) a, field),
+                    toIntArray((Matrix<Integer>) b, field), m, l, n, field);
+            return Matrix.of(m, n, (i, j) -> (E) Integer.valueOf(result[i * n + j]));
+        } else if (primitive instanceof LongPrimeField field) {
+            long[] result = multiply(toLongArray((Matrix<Long>) a, field),
+                    toLongArray((Matrix<Long>) b, field), m, l, n, field);
+            return (Matrix<E>) new LongMatrix(m, n, result);
+        }
+
+        Object[] result = multiply(toArray(a), toArray(b), m, l, n);
+        return Matrix.of(m, n, (i, j) -> (E) result[i * n + j]);
+    }
+
+    private static Object[] toArray(Matrix<?> a) {
+        int m = a.getHeight();
+        int n = a.getWidth();
+        Object[] array = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                array[i * n + j] = a.get(i, j);
+            }
+        }
+        return array;
+    }
+
+    private static int[] toIntArray(Matrix<Integer> a, IntPrimeField field) {
+        int m = a.getHeight();
+        int n = a.getWidth();
+        int[] array = new int[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                array[i * n + j] = field.element(a.get(i, j));
+            }
+        }
+        return array;
+    }
+
+    private static long[] toLongArray(Matrix<Long> a, LongPrimeField field) {
+        int m = a.getHeight();
+        int n = a.getWidth();
+        long[] array = new long[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                array[i * n + j] = field.element(a.get(i, j));
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Run the given tile kernel for all tiles of an <i>m x n</i> output, in parallel if the total work
+     * <i>mln</i> is large enough.
+     */
+    private void forEachTile(int m, int l, int n, TileKernel kernel) {
+        int rowTiles = (m + blockSize - 1) / blockSize;
+        int columnTiles = (n + blockSize - 1) / blockSize;
+        Tiles tiles = new Tiles(0, rowTiles * columnTiles, columnTiles, m, n, kernel);
+        if ((long) m * l * n < PARALLEL_THRESHOLD) {
+            tiles.compute();
+        } else {
+            pool.invoke(tiles);
+        }
+    }
+
+    private Object[] multiply(Object[] a, Object[] b, int m, int l, int n) {
+        Object[] c = new Object[m * n];
+        forEachTile(m, l, n, (i0, i1, j0, j1) -> {
+            for (int k0 = 0; k0 < l; k0 += blockSize) {
+                int k1 = Math.min(k0 + blockSize, l);
+                for (int i = i0; i < i1; i++) {
+                    for (int k = k0; k < k1; k++) {
+                        @SuppressWarnings("unchecked")
+                        E aik = (E) a[i * l + k];
+                        for (int j = j0; j < j1; j++) {
+                            @SuppressWarnings("unchecked")
+                            E product = ring.multiply(aik, (E) b[k * n + j]);
+                            @SuppressWarnings("unchecked")
+                            E cij = (E) c[i * n + j];
+                            c[i * n + j] = cij == null ? product : ring.add(cij, product);
+                        }
+                    }
+                }
+            }
+            if (l == 0) {
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        c[i * n + j] = ring.zero();
+                    }
+                }
+            }
+        });
+        return c;
+    }
+
+    private int[] multiply(int[] a, int[] b, int m, int l, int n, IntPrimeField field) {
+        // Entries are at most p - 1 < 2^31, so products are smaller than p^2 < 2^62 and the sum of the accumulator and
+        // a product can be reduced modulo p^2 with a single comparison
+        long p = field.getModulus();
+        long pp = p * p;
+        int[] c = new int[m * n];
+        forEachTile(m, l, n, (i0, i1, j0, j1) -> {
+            long[] accumulator = new long[j1 - j0];
+            for (int i = i0; i < i1; i++) {
+                for (int k = 0; k < l; k++) {
+                    long aik = a[i * l + k];
+                    if (aik == 0) {
+                        continue;
+                    }
+                    int offset = k * n;
+                    for (int j = j0; j < j1; j++) {
+                        long s = accumulator[j - j0] + aik * b[offset + j];
+                        accumulator[j - j0] = s >= pp ? s - pp : s;
+                    }
+                }
+                for (int j = j0; j < j1; j++) {
+                    c[i * n + j] = field.reduce(accumulator[j - j0]);
+                    accumulator[j - j0] = 0;
+                }
+            }
+        });
+        return c;
+    }
+
+    private long[] multiply(long[] a, long[] b, int m, int l, int n, LongPrimeField field) {
+        long[] c = new long[m * n];
+        forEachTile(m, l, n, (i0, i1, j0, j1) -> {
+            for (int k0 = 0; k0 < l; k0 += blockSize) {
+                int k1 = Math.min(k0 + blockSize, l);
+                for (int i = i0; i < i1; i++) {
+                    for (int k = k0; k < k1; k++) {
+                        long aik = a[i * l + k];
+                        if (aik == 0) {
+                            continue;
+                        }
+                        int offset = k * n;
+                        for (int j = j0; j < j1; j++) {
+                            c[i * n + j] = field.add(c[i * n + j], field.mul(aik, b[offset + j]));
+                        }
+                    }
+                }
+            }
+        });
+        return c;
+    }
+
+    /**
+     * Computes the entries <i>(i,j)</i> with <i>i<sub>0</sub> ≤ i &lt; i<sub>1</sub></i> and <i>j<sub>0</sub> ≤ j &lt;
+     * j<sub>1</sub></i> of a product.
+     */
+    private interface TileKernel {
+        void compute(int i0, int i1, int j0, int j1);
+    }
+
+    /**
+     * Applies a kernel to a range of tiles, splitting the range in two until there is only a single tile left.
+     */
+    private class Tiles extends RecursiveAction {
+
+        private final int from, to, columnTiles, m, n;
+        private final TileKernel kernel;
+
+        private Tiles(int from, int to, int columnTiles, int m, int n, TileKernel kernel) {
+            this.from = from;
+            this.to = to;
+            this.columnTiles = columnTiles;
+            this.m = m;
+            this.n = n;
+            this.kernel = kernel;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && getPool() != null) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Tiles(from, middle, columnTiles, m, n, kernel),
+                        new Tiles(middle, to, columnTiles, m, n, kernel));
+                return;
+            }
+            for (int t = from; t < to; t++) {
+                int i0 = (t / columnTiles) * blockSize;
+                int j0 = (t % columnTiles) * blockSize;
+                kernel.compute(i0, Math.min(i0 + blockSize, m), j0, Math.min(j0 + blockSize, n));
+            }
+        }
     }
 
 }
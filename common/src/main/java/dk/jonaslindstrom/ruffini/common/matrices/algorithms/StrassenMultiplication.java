@@ -1,100 +1,332 @@
 package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.helpers.MultiOperator;
-import dk.jonaslindstrom.ruffini.common.helpers.NullSafeRing;
 import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
-import dk.jonaslindstrom.ruffini.common.util.MathUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 /**
- * This function computes the product of two square matrices using the Strassen algorithm.
+ * This function computes the product of two matrices using the Winograd variant of the Strassen algorithm which uses
+ * seven multiplications and 15 additions of quadrants at each level of the recursion.
+ * <p>
+ * Odd dimensions are handled by peeling off the last row or column and fixing up the result with a classical
+ * product instead of padding. All sums and products are computed in buffers allocated once per level of the
+ * recursion, and the seven products at the top levels are computed in parallel. Once a dimension is below a crossover
+ * point the remaining product is computed classically. Unless given explicitly, the crossover point is chosen from a
+ * simple cost model based on the measured cost of additions and multiplications in the ring.
  */
 public class StrassenMultiplication<E> implements BinaryOperator<Matrix<E>> {
 
+    private static final int MIN_CROSSOVER = 16;
+    private static final int MAX_CROSSOVER = 1024;
+    private static final int CALIBRATION_ROUNDS = 2000;
+    private static final long CALIBRATION_TIME_LIMIT = 2_000_000;
+
     private final Ring<E> ring;
-    private final int bound;
+    private final int parallelLevels;
+    private volatile int bound;
 
+    /**
+     * Create a new instance which uses the classical algorithm for matrices where one of the dimensions is at most
+     * <code>bound</code>.
+     */
     public StrassenMultiplication(Ring<E> ring, int bound) {
+        if (bound < 1) {
+            throw new IllegalArgumentException("Bound must be positive but was " + bound);
+        }
         this.ring = ring;
         this.bound = bound;
+        int cores = ForkJoinPool.getCommonPoolParallelism();
+        this.parallelLevels = cores > 1 ? (int) Math.ceil(Math.log(cores) / Math.log(7)) : 0;
     }
 
+    /**
+     * Create a new instance where the crossover point is calibrated on the first call.
+     */
     public StrassenMultiplication(Ring<E> ring) {
         this(ring, 1);
+        this.bound = 0;
     }
 
     @Override
     public Matrix<E> apply(Matrix<E> a, Matrix<E> b) {
-        assert (a.isSquare() && b.isSquare());
-        assert (a.getHeight() == b.getHeight());
+        if (a.getWidth() != b.getHeight()) {
+            throw new IllegalArgumentException("Matrix sizes does allow multiplication.");
+        }
 
-        int n = a.getHeight();
+        int m = a.getHeight();
+        int l = a.getWidth();
+        int n = b.getWidth();
 
-        if (n == 1) {
-            return Matrix.of(1, 1, new NullSafeRing<>(ring).multiply(a.get(0, 0), b.get(0, 0)));
+        Block A = new Block(new Object[m * l], 0, l, m, l);
+        Block B = new Block(new Object[l * n], 0, n, l, n);
+        Block C = new Block(new Object[m * n], 0, n, m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < l; j++) {
+                A.set(i, j, a.get(i, j));
+            }
         }
-
-        if (n <= bound) {
-            return new MatrixMultiplication<>(ring).apply(a, b);
+        for (int i = 0; i < l; i++) {
+            for (int j = 0; j < n; j++) {
+                B.set(i, j, b.get(i, j));
+            }
         }
 
-        int N = MathUtils.nextPowerOfTwo(n);
-        if (N > n) {
-            return apply(a.view().extendTo(N, N, null), b.view().extendTo(N, N, null)).submatrix(0, n, 0, n);
+        if (bound == 0 && m > 0 && l > 0 && n > 0) {
+            bound = calibrate(get(A, 0, 0), get(B, 0, 0));
         }
 
-        int m = n / 2;
+        multiply(A, B, C, 0, null);
+        return Matrix.of(m, n, (i, j) -> get(C, i, j));
+    }
+
+    /**
+     * One level of the recursion replaces a product of size <i>n</i> with seven of size <i>n/2</i> and 15 additions of
+     * <i>(n/2)<sup>2</sup></i> entries. Counting a classical product as <i>n<sup>3</sup></i> multiplications and
+     * additions, this pays off when <i>n/8 (t<sub>mul</sub> + t<sub>add</sub>) &gt; 15/4 (t<sub>add</sub> +
+     * t<sub>copy</sub>)</i>, where <i>t<sub>copy</sub></i> accounts for the extra memory traffic of the buffers.
+     */
+    private int calibrate(E x, E y) {
+        Object[] sink = new Object[1];
 
-        Matrix<Matrix<E>> A = Matrix
-                .of(2, 2, (i, j) -> a.view().submatrix(i * m, (i + 1) * m, j * m, (j + 1) * m));
+        // Warm up
+        timePerOperation(() -> ring.add(ring.multiply(x, y), x));
 
-        Matrix<Matrix<E>> B = Matrix
-                .of(2, 2, (i, j) -> b.view().submatrix(i * m, (i + 1) * m, j * m, (j + 1) * m));
+        double add = timePerOperation(() -> ring.add(x, y));
+        double multiply = timePerOperation(() -> ring.multiply(x, y));
+        double move = timePerOperation(() -> sink[0] = x);
 
-        Matrix<E> m1 = apply(plus(A.get(0, 0), A.get(1, 1)), plus(B.get(0, 0), B.get(1, 1)));
-        Matrix<E> m2 = apply(plus(A.get(1, 0), A.get(1, 1)), B.get(0, 0));
-        Matrix<E> m3 = apply(A.get(0, 0), plus(B.get(0, 1), B.get(1, 1).view().map(this::minus)));
-        Matrix<E> m4 = apply(A.get(1, 1), plus(B.get(1, 0), B.get(0, 0).view().map(this::minus)));
-        Matrix<E> m5 = apply(plus(A.get(0, 0), A.get(0, 1)), B.get(1, 1));
-        Matrix<E> m6 = apply(plus(A.get(1, 0), A.get(0, 0).view().map(this::minus)),
-                plus(B.get(0, 0), B.get(0, 1)));
-        Matrix<E> m7 = apply(plus(A.get(0, 1), A.get(1, 1).view().map(this::minus)),
-                plus(B.get(1, 0), B.get(1, 1)));
+        double crossover = 30 * (add + move) / Math.max(1e-3, add + multiply);
+        return (int) Math.min(MAX_CROSSOVER, Math.max(MIN_CROSSOVER, Math.ceil(crossover)));
+    }
+
+    /**
+     * Estimate the time in nanoseconds of a single operation. The operation is repeated until a fixed number of
+     * rounds or a time limit is reached, whichever comes first.
+     */
+    private static double timePerOperation(Supplier<Object> operation) {
+        Object[] results = new Object[CALIBRATION_ROUNDS];
+        long start = System.nanoTime();
+        long elapsed = 0;
+        int rounds = 0;
+        while (rounds < CALIBRATION_ROUNDS && elapsed < CALIBRATION_TIME_LIMIT) {
+            results[rounds++] = operation.get();
+            elapsed = System.nanoTime() - start;
+        }
+        return (double) elapsed / rounds;
+    }
 
-        MultiOperator<Matrix<E>> sum = new MultiOperator<>(this::plus);
+    /**
+     * Compute <i>C = AB</i>.
+     */
+    private void multiply(Block A, Block B, Block C, int level, List<Workspace> workspaces) {
+        int m = A.rows;
+        int l = A.columns;
+        int n = B.columns;
 
-        Matrix<Matrix<E>> C = Matrix.of(2, sum.apply(m1, m4, m5.view().map(this::minus), m7),
-                plus(m3, m5), plus(m2, m4), sum.apply(m1, m2.view().map(this::minus), m3, m6));
+        if (Math.min(m, Math.min(l, n)) <= Math.max(1, bound)) {
+            classical(A, B, C);
+            return;
+        }
+
+        int m2 = m / 2, l2 = l / 2, n2 = n / 2;
+        Block C0 = C.sub(0, 0, 2 * m2, 2 * n2);
 
-        return Matrix.fromBlocks(C);
+        strassenWinograd(A.sub(0, 0, 2 * m2, 2 * l2), B.sub(0, 0, 2 * l2, 2 * n2), C0, level, workspaces);
+
+        // Peel off the last column of A and row of B
+        if (l % 2 == 1) {
+            for (int i = 0; i < 2 * m2; i++) {
+                E a = get(A, i, l - 1);
+                for (int j = 0; j < 2 * n2; j++) {
+                    C0.set(i, j, ring.add(get(C0, i, j), ring.multiply(a, get(B, l - 1, j))));
+                }
+            }
+        }
+
+        // Compute the last column and row of C classically
+        if (n % 2 == 1) {
+            classical(A, B.sub(0, n - 1, l, n), C.sub(0, n - 1, m, n));
+        }
+        if (m % 2 == 1) {
+            classical(A.sub(m - 1, 0, m, l), B.sub(0, 0, l, 2 * n2), C.sub(m - 1, 0, m, 2 * n2));
+        }
     }
 
-    private E minus(E e) {
-        if (e == null) {
-            return null;
+    /**
+     * Compute <i>C = AB</i> where all dimensions are even.
+     */
+    private void strassenWinograd(Block A, Block B, Block C, int level, List<Workspace> workspaces) {
+        int m = A.rows / 2, l = A.columns / 2, n = B.columns / 2;
+
+        Block A11 = A.quadrant(0, 0), A12 = A.quadrant(0, 1), A21 = A.quadrant(1, 0), A22 = A.quadrant(1, 1);
+        Block B11 = B.quadrant(0, 0), B12 = B.quadrant(0, 1), B21 = B.quadrant(1, 0), B22 = B.quadrant(1, 1);
+        Block C11 = C.quadrant(0, 0), C12 = C.quadrant(0, 1), C21 = C.quadrant(1, 0), C22 = C.quadrant(1, 1);
+
+        boolean parallel = level < parallelLevels;
+
+        Workspace w;
+        if (parallel) {
+            w = new Workspace(m, l, n);
+        } else {
+            if (workspaces == null) {
+                workspaces = new ArrayList<>();
+            }
+            while (workspaces.size() <= level) {
+                workspaces.add(null);
+            }
+            w = workspaces.get(level);
+            if (w == null) {
+                w = new Workspace(m, l, n);
+                workspaces.set(level, w);
+            }
+        }
+
+        // Eight additions to compute the factors
+        add(A21, A22, w.S[0]);
+        subtract(w.S[0], A11, w.S[1]);
+        subtract(A11, A21, w.S[2]);
+        subtract(A12, w.S[1], w.S[3]);
+
+        subtract(B12, B11, w.T[0]);
+        subtract(B22, w.T[0], w.T[1]);
+        subtract(B22, B12, w.T[2]);
+        subtract(w.T[1], B21, w.T[3]);
+
+        Block[][] products = new Block[][]{
+                {A11, B11, w.P[0]},
+                {A12, B21, w.P[1]},
+                {w.S[3], B22, w.P[2]},
+                {A22, w.T[3], w.P[3]},
+                {w.S[0], w.T[0], w.P[4]},
+                {w.S[1], w.T[1], w.P[5]},
+                {w.S[2], w.T[2], w.P[6]}};
+
+        if (parallel) {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (Block[] product : products) {
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        multiply(product[0], product[1], product[2], level + 1, null);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (Block[] product : products) {
+                multiply(product[0], product[1], product[2], level + 1, workspaces);
+            }
         }
-        return ring.negate(e);
+
+        // Seven additions to combine the products
+        Block[] P = w.P;
+        add(P[0], P[1], C11);
+        add(P[0], P[5], P[5]);
+        add(P[5], P[6], P[6]);
+        add(P[5], P[4], P[5]);
+        add(P[5], P[2], C12);
+        subtract(P[6], P[3], C21);
+        add(P[6], P[4], C22);
     }
 
-    private Matrix<E> plus(Matrix<E> a, Matrix<E> b) {
-        assert (a.getHeight() == b.getHeight() && a.getWidth() == b.getWidth());
+    @SuppressWarnings("unchecked")
+    private E get(Block X, int i, int j) {
+        return (E) X.get(i, j);
+    }
 
-        return Matrix.of(a.getHeight(), a.getWidth(), (i, j) -> {
-            E aij = a.get(i, j);
-            E bij = b.get(i, j);
+    private void classical(Block A, Block B, Block C) {
+        int l = A.columns;
+        for (int i = 0; i < C.rows; i++) {
+            for (int j = 0; j < C.columns; j++) {
+                E sum = l == 0 ? ring.zero() : ring.multiply(get(A, i, 0), get(B, 0, j));
+                for (int k = 1; k < l; k++) {
+                    sum = ring.add(sum, ring.multiply(get(A, i, k), get(B, k, j)));
+                }
+                C.set(i, j, sum);
+            }
+        }
+    }
 
-            if (aij == null) {
-                return bij;
+    private void add(Block X, Block Y, Block Z) {
+        for (int i = 0; i < Z.rows; i++) {
+            for (int j = 0; j < Z.columns; j++) {
+                Z.set(i, j, ring.add(get(X, i, j), get(Y, i, j)));
             }
+        }
+    }
 
-            if (bij == null) {
-                return aij;
+    private void subtract(Block X, Block Y, Block Z) {
+        for (int i = 0; i < Z.rows; i++) {
+            for (int j = 0; j < Z.columns; j++) {
+                Z.set(i, j, ring.subtract(get(X, i, j), get(Y, i, j)));
             }
+        }
+    }
+
+    /**
+     * A rectangular block of entries in a flat array.
+     */
+    private static class Block {
 
-            return ring.add(aij, bij);
-        });
+        private final Object[] entries;
+        private final int offset, stride, rows, columns;
+
+        private Block(Object[] entries, int offset, int stride, int rows, int columns) {
+            this.entries = entries;
+            this.offset = offset;
+            this.stride = stride;
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        private Block(int rows, int columns) {
+            this(new Object[rows * columns], 0, columns, rows, columns);
+        }
+
+        private Object get(int i, int j) {
+            return entries[offset + i * stride + j];
+        }
+
+        private void set(int i, int j, Object value) {
+            entries[offset + i * stride + j] = value;
+        }
+
+        /**
+         * Return the block with rows <i>r0, ..., r1-1</i> and columns <i>c0, ..., c1-1</i>.
+         */
+        private Block sub(int r0, int c0, int r1, int c1) {
+            return new Block(entries, offset + r0 * stride + c0, stride, r1 - r0, c1 - c0);
+        }
+
+        private Block quadrant(int i, int j) {
+            int h = rows / 2, w = columns / 2;
+            return sub(i * h, j * w, (i + 1) * h, (j + 1) * w);
+        }
+    }
+
+    /**
+     * Buffers for the sums and products used at one level of the recursion.
+     */
+    private static class Workspace {
+
+        private final Block[] S = new Block[4], T = new Block[4], P = new Block[7];
+
+        private Workspace(int m, int l, int n) {
+            for (int i = 0; i < 4; i++) {
+                S[i] = new Block(m, l);
+                T[i] = new Block(l, n);
+            }
+            for (int i = 0; i < 7; i++) {
+                P[i] = new Block(m, n);
+            }
+        }
     }
 
 }
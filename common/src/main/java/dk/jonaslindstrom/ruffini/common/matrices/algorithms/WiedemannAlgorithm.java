@@ -0,0 +1,124 @@
+package dk.jonaslindstrom.ruffini.common.matrices.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.algorithms.BerlekampMassey;
+import dk.jonaslindstrom.ruffini.common.algorithms.DotProduct;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.SparseMatrix;
+import dk.jonaslindstrom.ruffini.common.vector.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Solve a linear system <i>Ax = b</i> for a non-singular <i>n x n</i> matrix over a finite field using Wiedemann's
+ * algorithm. The matrix is only accessed as a black box computing products <i>Av</i>, so if <i>A</i> is a
+ * {@link SparseMatrix} with <i>ω</i> non-zero entries, the system is solved using <i>O(nω + n<sup>2</sup>)</i> field
+ * operations and <i>O(n)</i> memory.
+ * <p>
+ * For a random vector <i>u</i>, the minimal polynomial <i>f</i> of the sequence <i>u<sup>T</sup>A<sup>i</sup>b</i>
+ * is computed using the {@link BerlekampMassey} algorithm. With high probability for large fields, <i>f(A)b = 0</i>,
+ * and if <i>f = f<sub>0</sub> + x g</i> with <i>f<sub>0</sub> ≠ 0</i> then <i>x = -g(A)b / f<sub>0</sub></i>. The
+ * solution is verified and the algorithm is repeated with a new random vector if it fails.
+ *
+ * @param <E> Element type.
+ */
+public class WiedemannAlgorithm<E> implements BiFunction<Matrix<E>, Vector<E>, Vector<E>> {
+
+    private static final int DEFAULT_ATTEMPTS = 8;
+
+    private final Field<E> field;
+    private final Supplier<E> sampler;
+    private final int attempts;
+    private final DotProduct<E> dotProduct;
+    private final BerlekampMassey<E> berlekampMassey;
+
+    /**
+     * Create a new instance using the given sampler to generate uniformly random field elements.
+     */
+    public WiedemannAlgorithm(Field<E> field, Supplier<E> sampler) {
+        this(field, sampler, DEFAULT_ATTEMPTS);
+    }
+
+    public WiedemannAlgorithm(Field<E> field, Supplier<E> sampler, int attempts) {
+        this.field = field;
+        this.sampler = sampler;
+        this.attempts = attempts;
+        this.dotProduct = new DotProduct<>(field);
+        this.berlekampMassey = new BerlekampMassey<>(field);
+    }
+
+    @Override
+    public Vector<E> apply(Matrix<E> a, Vector<E> b) {
+        if (!a.isSquare() || a.getHeight() != b.size()) {
+            throw new IllegalArgumentException("Expected a square matrix of size " + b.size());
+        }
+        return solve(v -> a.apply(v, field), b);
+    }
+
+    /**
+     * Solve <i>Ax = b</i> where <i>A</i> is a square matrix given as a black box computing <i>v ↦ Av</i>.
+     *
+     * @throws IllegalArgumentException If no solution was found, which is likely if <i>A</i> is singular.
+     */
+    public Vector<E> solve(UnaryOperator<Vector<E>> a, Vector<E> b) {
+        int n = b.size();
+        if (b.stream().allMatch(field::isZero)) {
+            return b;
+        }
+
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            Vector<E> u = Vector.of(n, i -> sampler.get());
+
+            List<E> sequence = new ArrayList<>(2 * n);
+            Vector<E> v = b;
+            for (int i = 0; i < 2 * n; i++) {
+                if (i > 0) {
+                    v = a.apply(v);
+                }
+                sequence.add(dotProduct.apply(u, v));
+            }
+
+            // The connection polynomial 1 + c_1 x + ... + c_L x^L is the reverse of the minimal polynomial
+            List<E> c = berlekampMassey.apply(sequence);
+            int length = c.size() - 1;
+            E f0 = c.get(length);
+            if (length == 0 || field.isZero(f0)) {
+                continue;
+            }
+
+            // x = -(f_1 b + f_2 Ab + ... + f_L A^{L-1}b) / f_0 where f_i = c_{L-i}
+            List<E> x = new ArrayList<>(b);
+            for (int i = 0; i < n; i++) {
+                x.set(i, field.multiply(c.get(length - 1), b.get(i)));
+            }
+            v = b;
+            for (int k = 2; k <= length; k++) {
+                v = a.apply(v);
+                E fk = c.get(length - k);
+                if (field.isZero(fk)) {
+                    continue;
+                }
+                for (int i = 0; i < n; i++) {
+                    x.set(i, field.add(x.get(i), field.multiply(fk, v.get(i))));
+                }
+            }
+            E scale = field.negate(field.invert(f0));
+            Vector<E> solution = Vector.of(n, i -> field.multiply(scale, x.get(i)));
+
+            Vector<E> check = a.apply(solution);
+            boolean correct = true;
+            for (int i = 0; i < n && correct; i++) {
+                correct = field.equals(check.get(i), b.get(i));
+            }
+            if (correct) {
+                return solution;
+            }
+        }
+        throw new IllegalArgumentException("Unable to solve system. The matrix may be singular.");
+    }
+
+}
@@ -66,8 +66,8 @@ public abstract class BaseMatrix<E> implements Matrix<E> {
             return false;
         }
 
-        for (int i = 0; i < getWidth(); i++) {
-            for (int j = 0; j < getHeight(); j++) {
+        for (int i = 0; i < getHeight(); i++) {
+            for (int j = 0; j < getWidth(); j++) {
                 if (!equality.test(this.get(i, j), other.get(i, j))) {
                     return false;
                 }
@@ -0,0 +1,126 @@
+package dk.jonaslindstrom.ruffini.common.matrices.elements;
+
+import dk.jonaslindstrom.ruffini.common.functional.IntBinaryFunction;
+import dk.jonaslindstrom.ruffini.common.vector.Vector;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * A dense matrix with all entries stored in a single flat array. Entry <i>(i,j)</i> is stored at index
+ * <i>offset + i · rowStride + j · columnStride</i>, so rows, columns, transposes and contiguous submatrices are
+ * returned as views sharing the same array without copying any entries.
+ *
+ * @param <E> Element type.
+ */
+public class DenseMatrix<E> extends BaseMatrix<E> {
+
+    protected final Object[] entries;
+    protected final int m, n;
+    protected final int offset, rowStride, columnStride;
+
+    DenseMatrix(Object[] entries, int m, int n, int offset, int rowStride, int columnStride) {
+        this.entries = entries;
+        this.m = m;
+        this.n = n;
+        this.offset = offset;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    DenseMatrix(int m, int n, IntBinaryFunction<E> populator, boolean sequential) {
+        this(new Object[m * n], m, n, 0, n, 1);
+        IntStream indices = sequential ? IntStream.range(0, m) : IntStream.range(0, m).parallel();
+        indices.forEach(i -> {
+            for (int j = 0; j < n; j++) {
+                entries[i * n + j] = populator.apply(i, j);
+            }
+        });
+    }
+
+    /**
+     * Create a new matrix with the given rows. All rows are assumed to have the same length.
+     */
+    static <E> DenseMatrix<E> fromRows(List<? extends List<E>> rows) {
+        int m = rows.size();
+        int n = rows.get(0).size();
+        Object[] entries = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            List<E> row = rows.get(i);
+            for (int j = 0; j < n; j++) {
+                entries[i * n + j] = row.get(j);
+            }
+        }
+        return new DenseMatrix<>(entries, m, n, 0, n, 1);
+    }
+
+    protected int index(int i, int j) {
+        return offset + i * rowStride + j * columnStride;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int i, int j) {
+        assert (i >= 0 && i < m && j >= 0 && j < n);
+        return (E) entries[index(i, j)];
+    }
+
+    @Override
+    public int getHeight() {
+        return m;
+    }
+
+    @Override
+    public int getWidth() {
+        return n;
+    }
+
+    @Override
+    public Vector<E> getRow(int i) {
+        return Vector.view(n, j -> get(i, j));
+    }
+
+    @Override
+    public Vector<E> getColumn(int j) {
+        return Vector.view(m, i -> get(i, j));
+    }
+
+    @Override
+    public Matrix<E> transpose() {
+        return new DenseMatrix<>(entries, n, m, offset, columnStride, rowStride);
+    }
+
+    @Override
+    public Matrix<E> submatrix(int r0, int r1, int c0, int c1) {
+        assert (r0 <= r1 && r1 <= m && c0 <= c1 && c1 <= n);
+        return new DenseMatrix<>(entries, r1 - r0, c1 - c0, index(r0, c0), rowStride, columnStride);
+    }
+
+    @Override
+    public Matrix<E> submatrix(int[] rows, int[] columns) {
+        return new MatrixView<>(rows.length, columns.length, (i, j) -> get(rows[i], columns[j]));
+    }
+
+    @Override
+    public Matrix<E> minor(int i, int j) {
+        return new MatrixView<>(m - 1, n - 1, (a, b) -> get(a >= i ? a + 1 : a, b >= j ? b + 1 : b));
+    }
+
+    @Override
+    public Matrix<E> extendTo(int m, int n, E padding) {
+        assert (m >= this.m && n >= this.n);
+        return new DenseMatrix<>(m, n, (i, j) -> i < this.m && j < this.n ? get(i, j) : padding, true);
+    }
+
+    @Override
+    public <F> Matrix<F> map(Function<E, F> f) {
+        return Matrix.of(m, n, (i, j) -> f.apply(get(i, j)));
+    }
+
+    @Override
+    public Matrix<E> view() {
+        return this;
+    }
+
+}
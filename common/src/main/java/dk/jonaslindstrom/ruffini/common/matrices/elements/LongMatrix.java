@@ -0,0 +1,130 @@
+package dk.jonaslindstrom.ruffini.common.matrices.elements;
+
+import dk.jonaslindstrom.ruffini.common.functional.IntBinaryFunction;
+import dk.jonaslindstrom.ruffini.common.vector.Vector;
+
+import java.util.function.Function;
+
+/**
+ * A dense matrix of <code>long</code>s stored in a single flat primitive array. Like {@link DenseMatrix}, rows,
+ * columns, transposes and contiguous submatrices are views sharing the same array.
+ */
+public class LongMatrix extends BaseMatrix<Long> {
+
+    private final long[] entries;
+    private final int m, n;
+    private final int offset, rowStride, columnStride;
+
+    private LongMatrix(long[] entries, int m, int n, int offset, int rowStride, int columnStride) {
+        this.entries = entries;
+        this.m = m;
+        this.n = n;
+        this.offset = offset;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    /**
+     * Create a new <i>m x n</i> matrix backed by the given array with the entries in row-major order. The array is
+     * not copied, so it should not be changed afterwards.
+     */
+    public LongMatrix(int m, int n, long[] entries) {
+        this(entries, m, n, 0, n, 1);
+        if (entries.length != m * n) {
+            throw new IllegalArgumentException("Expected " + m * n + " entries but got " + entries.length);
+        }
+    }
+
+    public LongMatrix(int m, int n, IntBinaryFunction<Long> populator) {
+        this(new long[m * n], m, n, 0, n, 1);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                entries[i * n + j] = populator.apply(i, j);
+            }
+        }
+    }
+
+    private int index(int i, int j) {
+        return offset + i * rowStride + j * columnStride;
+    }
+
+    public long getLong(int i, int j) {
+        return entries[index(i, j)];
+    }
+
+    /**
+     * Return a copy of the entries of this matrix in row-major order.
+     */
+    public long[] toLongArray() {
+        long[] result = new long[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i * n + j] = getLong(i, j);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Long get(int i, int j) {
+        return getLong(i, j);
+    }
+
+    @Override
+    public int getHeight() {
+        return m;
+    }
+
+    @Override
+    public int getWidth() {
+        return n;
+    }
+
+    @Override
+    public Vector<Long> getRow(int i) {
+        return Vector.view(n, j -> getLong(i, j));
+    }
+
+    @Override
+    public Vector<Long> getColumn(int j) {
+        return Vector.view(m, i -> getLong(i, j));
+    }
+
+    @Override
+    public LongMatrix transpose() {
+        return new LongMatrix(entries, n, m, offset, columnStride, rowStride);
+    }
+
+    @Override
+    public LongMatrix submatrix(int r0, int r1, int c0, int c1) {
+        assert (r0 <= r1 && r1 <= m && c0 <= c1 && c1 <= n);
+        return new LongMatrix(entries, r1 - r0, c1 - c0, index(r0, c0), rowStride, columnStride);
+    }
+
+    @Override
+    public Matrix<Long> submatrix(int[] rows, int[] columns) {
+        return new MatrixView<>(rows.length, columns.length, (i, j) -> get(rows[i], columns[j]));
+    }
+
+    @Override
+    public Matrix<Long> minor(int i, int j) {
+        return new MatrixView<>(m - 1, n - 1, (a, b) -> get(a >= i ? a + 1 : a, b >= j ? b + 1 : b));
+    }
+
+    @Override
+    public Matrix<Long> extendTo(int m, int n, Long padding) {
+        assert (m >= this.m && n >= this.n);
+        return new LongMatrix(m, n, (i, j) -> i < this.m && j < this.n ? getLong(i, j) : padding);
+    }
+
+    @Override
+    public <F> Matrix<F> map(Function<Long, F> f) {
+        return Matrix.of(m, n, (i, j) -> f.apply(get(i, j)));
+    }
+
+    @Override
+    public Matrix<Long> view() {
+        return this;
+    }
+
+}
@@ -43,7 +43,7 @@ public interface Matrix<E> extends BiFunction<Vector<E>, Ring<E>, Vector<E>> {
      * <i>cloned</i>.
      */
     static <E> Matrix<E> copy(Matrix<E> matrix) {
-        return new ConcreteMatrix<>(matrix.getHeight(), matrix.getWidth(), matrix::get);
+        return new DenseMatrix<>(matrix.getHeight(), matrix.getWidth(), matrix::get, true);
     }
 
     /**
@@ -60,7 +60,7 @@ public interface Matrix<E> extends BiFunction<Vector<E>, Ring<E>, Vector<E>> {
      */
     static <E> Matrix<E> of(int m, int n, IntBinaryFunction<E> populator,
                             boolean populateSequentially) {
-        return new ConcreteMatrix<>(m, n, populator, populateSequentially);
+        return new DenseMatrix<>(m, n, populator, populateSequentially);
     }
 
     /**
@@ -68,20 +68,18 @@ public interface Matrix<E> extends BiFunction<Vector<E>, Ring<E>, Vector<E>> {
      * rows are created immediately in parallel.
      */
     static <E> Matrix<E> of(int m, IntFunction<ArrayList<E>> rowPopulator) {
-        return new ConcreteMatrix<>(
-                IntStream.range(0, m).parallel().mapToObj(rowPopulator)
-                        .collect(Collectors.toCollection(ArrayList::new)));
+        return DenseMatrix.fromRows(
+                IntStream.range(0, m).parallel().mapToObj(rowPopulator).collect(Collectors.toList()));
     }
 
     @SuppressWarnings("unchecked")
     static <E> Matrix<E> of(E[]... rows) {
-        return new ConcreteMatrix<>(rows.length, i -> new ArrayList<>(Arrays.asList(rows[i])));
+        return new DenseMatrix<>(rows.length, rows[0].length, (i, j) -> rows[i][j], true);
     }
 
     @SafeVarargs
     static <E> Matrix<E> of(ArrayList<E>... rows) {
-        return new ConcreteMatrix<>(
-                Arrays.stream(rows).collect(Collectors.toCollection(ArrayList::new)));
+        return DenseMatrix.fromRows(Arrays.asList(rows));
     }
 
     /**
@@ -100,7 +98,7 @@ public interface Matrix<E> extends BiFunction<Vector<E>, Ring<E>, Vector<E>> {
     }
 
     static <E> Matrix<E> of(int m, int n, E defaultValue) {
-        return new ConcreteMatrix<>(m, n, (x, y) -> defaultValue);
+        return new DenseMatrix<>(m, n, (x, y) -> defaultValue, true);
     }
 
     static <E> Matrix<E> eye(int n, E one, E zero) {
@@ -116,18 +114,10 @@ public interface Matrix<E> extends BiFunction<Vector<E>, Ring<E>, Vector<E>> {
         int m = blocks.getHeight() * tl.getHeight();
         int n = blocks.getWidth() * tl.getWidth();
 
-        ArrayList<ArrayList<E>> rows = new ArrayList<>(m);
+        int h = tl.getHeight();
+        int w = tl.getWidth();
 
-        for (Vector<Matrix<E>> row : blocks.rows()) {
-            for (int i = 0; i < tl.getHeight(); i++) {
-                ArrayList<E> entries = new ArrayList<>(n);
-                for (Matrix<E> b : row) {
-                    entries.addAll(b.getRow(i));
-                }
-                rows.add(entries);
-            }
-        }
-        return new ConcreteMatrix<>(rows);
+        return new DenseMatrix<>(m, n, (i, j) -> blocks.get(i / h, j / w).get(i % h, j % w), false);
     }
 
     static <T> BinaryOperator<Matrix<T>> entrywiseOperator(BinaryOperator<T> op) {
@@ -3,29 +3,45 @@ package dk.jonaslindstrom.ruffini.common.matrices.elements;
 import dk.jonaslindstrom.ruffini.common.functional.IntBinaryFunction;
 
 /**
- * Instances of this class represents a <i>mutable</i> matrix.
+ * Instances of this class represents a <i>mutable</i> matrix. Rows and columns are views of this matrix and will
+ * reflect later changes, but transposes and submatrices are copies.
  */
-public class MutableMatrix<E> extends ConcreteMatrix<E> {
+public class MutableMatrix<E> extends DenseMatrix<E> {
 
     public MutableMatrix(int m, int n, E defaultValue) {
-        super(m, n, (i, j) -> defaultValue);
+        this(m, n, (i, j) -> defaultValue);
     }
 
     public MutableMatrix(int m, int n, IntBinaryFunction<E> populator) {
-        super(m, n, populator);
+        super(m, n, populator, true);
     }
 
     MutableMatrix(Matrix<E> matrix) {
-        super(matrix.getHeight(), matrix.getWidth(), matrix::get);
+        this(matrix.getHeight(), matrix.getWidth(), matrix::get);
     }
 
-    MutableMatrix(ConcreteMatrix<E> matrix) {
-        super(matrix.rows);
+    public void set(int i, int j, E value) {
+        entries[index(i, j)] = value;
     }
 
     @Override
-    public void set(int i, int j, E value) {
-        super.set(i, j, value);
+    public Matrix<E> transpose() {
+        return Matrix.copy(super.transpose());
+    }
+
+    @Override
+    public Matrix<E> submatrix(int r0, int r1, int c0, int c1) {
+        return Matrix.copy(super.submatrix(r0, r1, c0, c1));
+    }
+
+    @Override
+    public Matrix<E> submatrix(int[] rows, int[] columns) {
+        return Matrix.copy(super.submatrix(rows, columns));
+    }
+
+    @Override
+    public Matrix<E> minor(int i, int j) {
+        return Matrix.copy(super.minor(i, j));
     }
 
 }
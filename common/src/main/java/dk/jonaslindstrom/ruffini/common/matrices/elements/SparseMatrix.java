@@ -1,29 +1,178 @@
 package dk.jonaslindstrom.ruffini.common.matrices.elements;
 
-import dk.jonaslindstrom.ruffini.common.util.MatrixIndex;
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.vector.ConcreteVector;
+import dk.jonaslindstrom.ruffini.common.vector.Vector;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
- * This class represents a sparse matrix by only storing the non-zero entries.
+ * This class represents a sparse matrix by only storing the non-zero entries in compressed sparse row (CSR) format:
+ * The column indices and values of the entries in row <i>i</i> are stored in sorted order at the positions
+ * <code>rowPointers[i], ..., rowPointers[i+1]-1</code> of two flat arrays.
+ * <p>
+ * The transpose is computed in <i>O(nnz)</i> time and is also stored in CSR format, so it is equivalent to the
+ * compressed sparse column (CSC) representation of this matrix. Multiplication with a vector uses <i>O(nnz)</i>
+ * ring operations.
  */
-public class SparseMatrix<E> extends MatrixView<E> {
+public class SparseMatrix<E> extends BaseMatrix<E> {
 
-    private SparseMatrix(int m, int n, Map<MatrixIndex, E> entries, E zero) {
-        super(m, n, (i, j) -> {
-            E e = entries.get(MatrixIndex.of(i, j));
-            return Objects.nonNull(e) ? e : zero;
+    private final int m, n;
+    private final int[] rowPointers;
+    private final int[] columns;
+    private final Object[] values;
+    private final E zero;
+
+    private SparseMatrix(int m, int n, int[] rowPointers, int[] columns, Object[] values, E zero) {
+        this.m = m;
+        this.n = n;
+        this.rowPointers = rowPointers;
+        this.columns = columns;
+        this.values = values;
+        this.zero = zero;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E value(int k) {
+        return (E) values[k];
+    }
+
+    /**
+     * Return the number of stored entries.
+     */
+    public int getNonZeroCount() {
+        return rowPointers[m];
+    }
+
+    /**
+     * Apply the given consumer to the column index and value of all stored entries in the given row in order of
+     * increasing column index.
+     */
+    public void forEachInRow(int i, BiConsumer<Integer, E> consumer) {
+        for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+            consumer.accept(columns[k], value(k));
+        }
+    }
+
+    @Override
+    public E get(int i, int j) {
+        assert (i >= 0 && i < m && j >= 0 && j < n);
+        int k = Arrays.binarySearch(columns, rowPointers[i], rowPointers[i + 1], j);
+        return k >= 0 ? value(k) : zero;
+    }
+
+    @Override
+    public int getHeight() {
+        return m;
+    }
+
+    @Override
+    public int getWidth() {
+        return n;
+    }
+
+    @Override
+    public Vector<E> apply(Vector<E> b, Ring<E> ring) {
+        if (b.size() != n) {
+            throw new IllegalArgumentException();
+        }
+        return new ConcreteVector<>(m, i -> {
+            E sum = ring.zero();
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sum = ring.add(sum, ring.multiply(value(k), b.get(columns[k])));
+            }
+            return sum;
         });
     }
 
+    /**
+     * Compute <i>A<sup>T</sup>b</i> where <i>A</i> is this matrix without computing the transpose.
+     */
+    @SuppressWarnings("unchecked")
+    public Vector<E> applyTranspose(Vector<E> b, Ring<E> ring) {
+        if (b.size() != m) {
+            throw new IllegalArgumentException();
+        }
+        Object[] result = new Object[n];
+        Arrays.fill(result, ring.zero());
+        for (int i = 0; i < m; i++) {
+            E bi = b.get(i);
+            if (ring.isZero(bi)) {
+                continue;
+            }
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                result[columns[k]] = ring.add((E) result[columns[k]], ring.multiply(value(k), bi));
+            }
+        }
+        return Vector.of(n, j -> (E) result[j]);
+    }
+
+    @Override
+    public SparseMatrix<E> transpose() {
+        int nnz = getNonZeroCount();
+        int[] pointers = new int[n + 1];
+        for (int k = 0; k < nnz; k++) {
+            pointers[columns[k] + 1]++;
+        }
+        for (int j = 0; j < n; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+
+        // Rows are visited in increasing order, so the entries in each column end up sorted
+        int[] next = Arrays.copyOf(pointers, n);
+        int[] rows = new int[nnz];
+        Object[] transposed = new Object[nnz];
+        for (int i = 0; i < m; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = next[columns[k]]++;
+                rows[position] = i;
+                transposed[position] = values[k];
+            }
+        }
+        return new SparseMatrix<>(n, m, pointers, rows, transposed, zero);
+    }
+
+    @Override
+    public Matrix<E> minor(int i, int j) {
+        return new MatrixView<>(m - 1, n - 1, (a, b) -> get(a >= i ? a + 1 : a, b >= j ? b + 1 : b));
+    }
+
+    @Override
+    public Matrix<E> submatrix(int[] rows, int[] columns) {
+        return new MatrixView<>(rows.length, columns.length, (i, j) -> get(rows[i], columns[j]));
+    }
+
+    @Override
+    public Matrix<E> submatrix(int r0, int r1, int c0, int c1) {
+        return new MatrixView<>(r1 - r0, c1 - c0, (i, j) -> get(i + r0, j + c0));
+    }
+
+    @Override
+    public Matrix<E> extendTo(int m, int n, E padding) {
+        return new MatrixView<>(m, n, (i, j) -> (i < this.m && j < this.n) ? get(i, j) : padding);
+    }
+
+    @Override
+    public <F> Matrix<F> map(Function<E, F> f) {
+        return new MatrixView<>(m, n, (i, j) -> f.apply(get(i, j)));
+    }
+
+    @Override
+    public Matrix<E> view() {
+        return this;
+    }
+
     public static class Builder<F> {
 
-        private final HashMap<MatrixIndex, F> entries = new HashMap<>();
         private final int m;
         private final int n;
         private final F zero;
+        private int size = 0;
+        private int[] rows = new int[16];
+        private int[] columns = new int[16];
+        private Object[] values = new Object[16];
 
         public Builder(int m, int n, F zero) {
             this.m = m;
@@ -31,14 +180,72 @@ public class SparseMatrix<E> extends MatrixView<E> {
             this.zero = zero;
         }
 
+        /**
+         * Set the entry at position <i>(i,j)</i>. If this entry has been set before, it will be overwritten.
+         */
         public Builder<F> add(int i, int j, F value) {
             assert (i < m && j < n);
-            entries.put(MatrixIndex.of(i, j), value);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, 2 * size);
+                columns = Arrays.copyOf(columns, 2 * size);
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            rows[size] = i;
+            columns[size] = j;
+            values[size] = value;
+            size++;
             return this;
         }
 
-        public Matrix<F> build() {
-            return new SparseMatrix<>(m, n, entries, zero);
+        public SparseMatrix<F> build() {
+            // Sort the entries by row using a stable counting sort
+            int[] pointers = new int[m + 1];
+            for (int k = 0; k < size; k++) {
+                pointers[rows[k] + 1]++;
+            }
+            for (int i = 0; i < m; i++) {
+                pointers[i + 1] += pointers[i];
+            }
+            int[] next = Arrays.copyOf(pointers, m);
+            int[] sortedColumns = new int[size];
+            Object[] sortedValues = new Object[size];
+            for (int k = 0; k < size; k++) {
+                int position = next[rows[k]]++;
+                sortedColumns[position] = columns[k];
+                sortedValues[position] = values[k];
+            }
+
+            // Sort each row by column with a stable insertion sort and keep only the last value for each column
+            int[] compressedPointers = new int[m + 1];
+            int nnz = 0;
+            for (int i = 0; i < m; i++) {
+                int from = pointers[i];
+                int to = pointers[i + 1];
+                for (int k = from + 1; k < to; k++) {
+                    int column = sortedColumns[k];
+                    Object value = sortedValues[k];
+                    int l = k - 1;
+                    while (l >= from && sortedColumns[l] > column) {
+                        sortedColumns[l + 1] = sortedColumns[l];
+                        sortedValues[l + 1] = sortedValues[l];
+                        l--;
+                    }
+                    sortedColumns[l + 1] = column;
+                    sortedValues[l + 1] = value;
+                }
+                for (int k = from; k < to; k++) {
+                    if (k + 1 < to && sortedColumns[k + 1] == sortedColumns[k]) {
+                        continue;
+                    }
+                    sortedColumns[nnz] = sortedColumns[k];
+                    sortedValues[nnz] = sortedValues[k];
+                    nnz++;
+                }
+                compressedPointers[i + 1] = nnz;
+            }
+
+            return new SparseMatrix<>(m, n, compressedPointers, Arrays.copyOf(sortedColumns, nnz),
+                    Arrays.copyOf(sortedValues, nnz), zero);
         }
     }
 
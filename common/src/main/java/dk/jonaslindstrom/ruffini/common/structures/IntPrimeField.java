@@ -0,0 +1,210 @@
+package dk.jonaslindstrom.ruffini.common.structures;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+import dk.jonaslindstrom.ruffini.common.util.MathUtils;
+
+/**
+ * This class represents a prime field <i>𝔽<sub>p</sub></i> for a prime <i>p &lt; 2<sup>31</sup></i> where elements are
+ * represented by <code>int</code>s in the range <i>0, ..., p-1</i>.
+ * <p>
+ * Besides the generic {@link Field} methods which accept any integer, this class has primitive methods {@link #add(int,
+ * int)}, {@link #sub(int, int)}, {@link #mul(int, int)}, {@link #neg(int)}, {@link #inv(int)} and {@link #pow(int,
+ * long)} which neither box nor allocate. These assume that the inputs are already reduced. Multiplication uses Barrett
+ * reduction and for small primes, inverses are looked up in a precomputed table.
+ */
+public class IntPrimeField implements PrimitivePrimeField<Integer> {
+
+    /**
+     * Inverse tables are precomputed for primes up to this bound.
+     */
+    private static final int INVERSE_TABLE_BOUND = 1 << 16;
+
+    private final int p;
+
+    /**
+     * <i>⌊(2<sup>64</sup> - 1) / p⌋</i> as an unsigned long.
+     */
+    private final long barrett;
+
+    private final int[] inverses;
+
+    public IntPrimeField(int p) {
+        if (p < 2) {
+            throw new IllegalArgumentException("Modulus must be a prime");
+        }
+        this.p = p;
+        this.barrett = Long.divideUnsigned(-1L, p);
+
+        if (p <= INVERSE_TABLE_BOUND) {
+            this.inverses = new int[p];
+            inverses[1] = 1;
+            for (int i = 2; i < p; i++) {
+                // p = (p / i) * i + p mod i so i^{-1} = -(p / i) * (p mod i)^{-1}
+                inverses[i] = p - (int) ((long) (p / i) * inverses[p % i] % p);
+            }
+        } else {
+            this.inverses = null;
+        }
+    }
+
+    public int getModulus() {
+        return p;
+    }
+
+    /**
+     * Reduce a non-negative long modulo <i>p</i>.
+     */
+    public int reduce(long x) {
+        long q = MathUtils.unsignedMultiplyHigh(x, barrett);
+        long r = x - q * p;
+        while (r >= p) {
+            r -= p;
+        }
+        return (int) r;
+    }
+
+    /**
+     * Reduce an arbitrary integer to the range <i>0, ..., p-1</i>.
+     */
+    public int element(long x) {
+        return x >= 0 ? reduce(x) : (int) Math.floorMod(x, p);
+    }
+
+    private int canonical(int a) {
+        return a >= 0 && a < p ? a : Math.floorMod(a, p);
+    }
+
+    public int add(int a, int b) {
+        // The sum may overflow but the result fits in an int, so the wrap-around cancels out
+        int s = a + b - p;
+        return s < 0 ? s + p : s;
+    }
+
+    public int sub(int a, int b) {
+        int d = a - b;
+        return d < 0 ? d + p : d;
+    }
+
+    public int neg(int a) {
+        return a == 0 ? 0 : p - a;
+    }
+
+    public int mul(int a, int b) {
+        return reduce((long) a * b);
+    }
+
+    public int inv(int a) {
+        if (a == 0) {
+            throw new NotInvertibleException(a);
+        }
+        if (inverses != null) {
+            return inverses[a];
+        }
+
+        int r0 = p, r1 = a;
+        int t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            int q = r0 / r1;
+            int r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            int t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        return t0 < 0 ? t0 + p : t0;
+    }
+
+    public int pow(int a, long e) {
+        if (e < 0) {
+            // Reduce modulo p - 1 first since -e overflows for Long.MIN_VALUE
+            return pow(inv(a), -(e % (p - 1)));
+        }
+        int result = 1;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = mul(result, a);
+            }
+            a = mul(a, a);
+            e >>= 1;
+        }
+        return result;
+    }
+
+    @Override
+    public Integer add(Integer a, Integer b) {
+        return add(canonical(a), canonical(b));
+    }
+
+    @Override
+    public Integer subtract(Integer a, Integer b) {
+        return sub(canonical(a), canonical(b));
+    }
+
+    @Override
+    public Integer negate(Integer a) {
+        return neg(canonical(a));
+    }
+
+    @Override
+    public Integer doubling(Integer a) {
+        int c = canonical(a);
+        return add(c, c);
+    }
+
+    @Override
+    public Integer multiply(Integer a, Integer b) {
+        return mul(canonical(a), canonical(b));
+    }
+
+    @Override
+    public Integer invert(Integer a) {
+        return inv(canonical(a));
+    }
+
+    @Override
+    public Integer power(Integer a, int e) {
+        return pow(canonical(a), e);
+    }
+
+    @Override
+    public Integer integer(int a) {
+        return canonical(a);
+    }
+
+    @Override
+    public Integer identity() {
+        return 1;
+    }
+
+    @Override
+    public Integer zero() {
+        return 0;
+    }
+
+    @Override
+    public boolean isZero(Integer a) {
+        return canonical(a) == 0;
+    }
+
+    @Override
+    public boolean equals(Integer a, Integer b) {
+        return canonical(a) == canonical(b);
+    }
+
+    @Override
+    public String toString(Integer a) {
+        return Integer.toString(a);
+    }
+
+    @Override
+    public String toString() {
+        return "\\mathbb{F}_{" + p + "}";
+    }
+
+    @Override
+    public Field<Integer> asPrimitiveField() {
+        return this;
+    }
+}
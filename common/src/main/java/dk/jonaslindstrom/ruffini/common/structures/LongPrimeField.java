@@ -0,0 +1,210 @@
+package dk.jonaslindstrom.ruffini.common.structures;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+import dk.jonaslindstrom.ruffini.common.util.MathUtils;
+
+/**
+ * This class represents a prime field <i>𝔽<sub>p</sub></i> for a prime <i>p &lt; 2<sup>63</sup></i> where elements are
+ * represented by <code>long</code>s in the range <i>0, ..., p-1</i>.
+ * <p>
+ * Besides the generic {@link Field} methods which accept any long, this class has primitive methods {@link #add(long,
+ * long)}, {@link #sub(long, long)}, {@link #mul(long, long)}, {@link #neg(long)}, {@link #inv(long)} and
+ * {@link #pow(long, long)} which neither box nor allocate. These assume that the inputs are already reduced. If
+ * <i>p &lt; 2<sup>31</sup></i> products fit in a long and are reduced directly, and otherwise they are reduced using two
+ * Montgomery reductions, so the representation stays canonical.
+ */
+public class LongPrimeField implements PrimitivePrimeField<Long> {
+
+    private final long p;
+    private final boolean small;
+
+    /**
+     * <i>-p<sup>-1</sup> mod 2<sup>64</sup></i> and <i>R<sup>2</sup> mod p</i> for <i>R = 2<sup>64</sup></i>.
+     */
+    private final long inverse, r2;
+
+    public LongPrimeField(long p) {
+        if (p < 2) {
+            throw new IllegalArgumentException("Modulus must be a prime");
+        }
+        this.p = p;
+        this.small = p < (1L << 31);
+
+        if (!small) {
+            // Newton iteration doubles the number of correct bits in each step
+            long x = p;
+            for (int i = 0; i < 5; i++) {
+                x *= 2 - p * x;
+            }
+            this.inverse = -x;
+
+            // R mod p followed by 64 doublings
+            long r = Long.remainderUnsigned(-1L, p) + 1;
+            if (r == p) {
+                r = 0;
+            }
+            for (int i = 0; i < 64; i++) {
+                r = add(r, r);
+            }
+            this.r2 = r;
+        } else {
+            this.inverse = 0;
+            this.r2 = 0;
+        }
+    }
+
+    public long getModulus() {
+        return p;
+    }
+
+    /**
+     * Compute <i>(hi 2<sup>64</sup> + lo) R<sup>-1</sup> mod p</i> assuming <i>hi &lt; p</i>.
+     */
+    private long redc(long hi, long lo) {
+        long m = lo * inverse;
+        long t = hi + MathUtils.unsignedMultiplyHigh(m, p) + (lo != 0 ? 1 : 0);
+        return t >= p || t < 0 ? t - p : t;
+    }
+
+    /**
+     * Reduce an arbitrary long to the range <i>0, ..., p-1</i>.
+     */
+    public long element(long x) {
+        return x >= 0 && x < p ? x : Math.floorMod(x, p);
+    }
+
+    public long add(long a, long b) {
+        // The sum may overflow but the result fits in a long, so the wrap-around cancels out
+        long s = a + b - p;
+        return s < 0 ? s + p : s;
+    }
+
+    public long sub(long a, long b) {
+        long d = a - b;
+        return d < 0 ? d + p : d;
+    }
+
+    public long neg(long a) {
+        return a == 0 ? 0 : p - a;
+    }
+
+    public long mul(long a, long b) {
+        if (small) {
+            return a * b % p;
+        }
+        long t = redc(MathUtils.unsignedMultiplyHigh(a, b), a * b);
+        return redc(MathUtils.unsignedMultiplyHigh(t, r2), t * r2);
+    }
+
+    public long inv(long a) {
+        if (a == 0) {
+            throw new NotInvertibleException(a);
+        }
+
+        long r0 = p, r1 = a;
+        long t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        return t0 < 0 ? t0 + p : t0;
+    }
+
+    public long pow(long a, long e) {
+        if (e < 0) {
+            // Reduce modulo p - 1 first since -e overflows for Long.MIN_VALUE
+            return pow(inv(a), -(e % (p - 1)));
+        }
+        long result = 1;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = mul(result, a);
+            }
+            a = mul(a, a);
+            e >>= 1;
+        }
+        return result;
+    }
+
+    @Override
+    public Long add(Long a, Long b) {
+        return add(element(a), element(b));
+    }
+
+    @Override
+    public Long subtract(Long a, Long b) {
+        return sub(element(a), element(b));
+    }
+
+    @Override
+    public Long negate(Long a) {
+        return neg(element(a));
+    }
+
+    @Override
+    public Long doubling(Long a) {
+        long c = element(a);
+        return add(c, c);
+    }
+
+    @Override
+    public Long multiply(Long a, Long b) {
+        return mul(element(a), element(b));
+    }
+
+    @Override
+    public Long invert(Long a) {
+        return inv(element(a));
+    }
+
+    @Override
+    public Long power(Long a, int e) {
+        return pow(element(a), e);
+    }
+
+    @Override
+    public Long integer(int a) {
+        return element(a);
+    }
+
+    @Override
+    public Long identity() {
+        return 1L;
+    }
+
+    @Override
+    public Long zero() {
+        return 0L;
+    }
+
+    @Override
+    public boolean isZero(Long a) {
+        return element(a) == 0;
+    }
+
+    @Override
+    public boolean equals(Long a, Long b) {
+        return element(a) == element(b);
+    }
+
+    @Override
+    public String toString(Long a) {
+        return Long.toString(a);
+    }
+
+    @Override
+    public String toString() {
+        return "\\mathbb{F}_{" + p + "}";
+    }
+
+    @Override
+    public Field<Long> asPrimitiveField() {
+        return this;
+    }
+}
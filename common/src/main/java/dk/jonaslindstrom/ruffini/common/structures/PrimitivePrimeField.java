@@ -0,0 +1,25 @@
+package dk.jonaslindstrom.ruffini.common.structures;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+
+/**
+ * A prime field which is backed by an {@link IntPrimeField} or a {@link LongPrimeField}. Algorithms use this to run
+ * their inner loops on primitive arrays, also for fields which wrap one of these.
+ *
+ * @param <E> Element type.
+ */
+public interface PrimitivePrimeField<E> extends Field<E> {
+
+    /**
+     * Return the field with primitive arithmetic backing this field. It has the same elements as this field.
+     */
+    Field<E> asPrimitiveField();
+
+    /**
+     * If the given ring is a {@link PrimitivePrimeField}, return the field backing it. Otherwise, return the ring.
+     */
+    static Ring<?> unwrap(Ring<?> ring) {
+        return ring instanceof PrimitivePrimeField<?> field ? field.asPrimitiveField() : ring;
+    }
+}
@@ -14,7 +14,7 @@ public class QuotientRing<E> implements Ring<E> {
     protected E mod;
 
     public QuotientRing(final EuclideanDomain<E> ring, final E mod) {
-        this(ring, e -> ring.divide(e, mod).getSecond());
+        this(ring, ring.reduction(mod));
         this.mod = mod;
     }
 
@@ -46,4 +46,11 @@ public class MathUtils {
         }
         return expansion;
     }
+
+    /**
+     * Return the high 64 bits of the unsigned 128-bit product of <i>a</i> and <i>b</i>.
+     */
+    public static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
 }
@@ -0,0 +1,126 @@
+package dk.jonaslindstrom.ruffini.common.vector;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * A vector of <code>double</code>s backed by a primitive array. Besides the generic {@link Vector} methods, this class
+ * has bulk operations for real arithmetic which neither box nor allocate more than the result.
+ */
+public class DoubleVector extends BaseVector<Double> {
+
+    private final double[] coordinates;
+
+    /**
+     * Create a new vector backed by the given array. The array is not copied, so it should not be changed afterwards.
+     */
+    public DoubleVector(double... coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public DoubleVector(int n, IntToDoubleFunction populator) {
+        this.coordinates = new double[n];
+        Arrays.setAll(coordinates, populator);
+    }
+
+    @Override
+    public int size() {
+        return coordinates.length;
+    }
+
+    @Override
+    public Double get(int i) {
+        return coordinates[i];
+    }
+
+    public double getDouble(int i) {
+        return coordinates[i];
+    }
+
+    /**
+     * Return a copy of the entries of this vector.
+     */
+    public double[] toDoubleArray() {
+        return coordinates.clone();
+    }
+
+    @Override
+    public Stream<Double> stream() {
+        return Arrays.stream(coordinates).boxed();
+    }
+
+    @Override
+    public Vector<Double> pad(int n, Double padding) {
+        double[] padded = Arrays.copyOf(coordinates, n);
+        if (n > coordinates.length && padding != 0.0) {
+            Arrays.fill(padded, coordinates.length, n, padding);
+        }
+        return new DoubleVector(padded);
+    }
+
+    @Override
+    public List<Double> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Double get(int i) {
+                return coordinates[i];
+            }
+
+            @Override
+            public int size() {
+                return coordinates.length;
+            }
+        };
+    }
+
+    public DoubleVector add(DoubleVector other) {
+        assert (size() == other.size());
+        double[] result = new double[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = coordinates[i] + other.coordinates[i];
+        }
+        return new DoubleVector(result);
+    }
+
+    public DoubleVector subtract(DoubleVector other) {
+        assert (size() == other.size());
+        double[] result = new double[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = coordinates[i] - other.coordinates[i];
+        }
+        return new DoubleVector(result);
+    }
+
+    /**
+     * Return the coordinate-wise product of this and another vector.
+     */
+    public DoubleVector multiply(DoubleVector other) {
+        assert (size() == other.size());
+        double[] result = new double[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = coordinates[i] * other.coordinates[i];
+        }
+        return new DoubleVector(result);
+    }
+
+    public DoubleVector scale(double s) {
+        double[] result = new double[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = s * coordinates[i];
+        }
+        return new DoubleVector(result);
+    }
+
+    public double dot(DoubleVector other) {
+        assert (size() == other.size());
+        double sum = 0;
+        for (int i = 0; i < coordinates.length; i++) {
+            sum += coordinates[i] * other.coordinates[i];
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,138 @@
+package dk.jonaslindstrom.ruffini.common.vector;
+
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A vector of <code>int</code>s backed by a primitive array. Besides the generic {@link Vector} methods, this class has
+ * bulk operations over an {@link IntPrimeField} which neither box nor allocate more than the result. The entries are
+ * assumed to be reduced modulo the characteristic of the field used.
+ */
+public class IntVector extends BaseVector<Integer> {
+
+    private final int[] coordinates;
+
+    /**
+     * Create a new vector backed by the given array. The array is not copied, so it should not be changed afterwards.
+     */
+    public IntVector(int... coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public IntVector(int n, IntUnaryOperator populator) {
+        this.coordinates = new int[n];
+        Arrays.setAll(coordinates, populator);
+    }
+
+    @Override
+    public int size() {
+        return coordinates.length;
+    }
+
+    @Override
+    public Integer get(int i) {
+        return coordinates[i];
+    }
+
+    public int getInt(int i) {
+        return coordinates[i];
+    }
+
+    /**
+     * Return a copy of the entries of this vector.
+     */
+    public int[] toIntArray() {
+        return coordinates.clone();
+    }
+
+    @Override
+    public Stream<Integer> stream() {
+        return Arrays.stream(coordinates).boxed();
+    }
+
+    @Override
+    public Vector<Integer> pad(int n, Integer padding) {
+        int[] padded = Arrays.copyOf(coordinates, n);
+        if (n > coordinates.length && padding != 0) {
+            Arrays.fill(padded, coordinates.length, n, padding);
+        }
+        return new IntVector(padded);
+    }
+
+    @Override
+    public List<Integer> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int i) {
+                return coordinates[i];
+            }
+
+            @Override
+            public int size() {
+                return coordinates.length;
+            }
+        };
+    }
+
+    public IntVector add(IntVector other, IntPrimeField field) {
+        assert (size() == other.size());
+        int[] result = new int[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.add(coordinates[i], other.coordinates[i]);
+        }
+        return new IntVector(result);
+    }
+
+    public IntVector subtract(IntVector other, IntPrimeField field) {
+        assert (size() == other.size());
+        int[] result = new int[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.sub(coordinates[i], other.coordinates[i]);
+        }
+        return new IntVector(result);
+    }
+
+    /**
+     * Return the coordinate-wise product of this and another vector.
+     */
+    public IntVector multiply(IntVector other, IntPrimeField field) {
+        assert (size() == other.size());
+        int[] result = new int[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.mul(coordinates[i], other.coordinates[i]);
+        }
+        return new IntVector(result);
+    }
+
+    public IntVector scale(int s, IntPrimeField field) {
+        int[] result = new int[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.mul(s, coordinates[i]);
+        }
+        return new IntVector(result);
+    }
+
+    /**
+     * Return the dot product of this and another vector. The products are accumulated without reduction and only
+     * reduced modulo <i>p<sup>2</sup></i> when needed, so there is a single modular reduction in total.
+     */
+    public int dot(IntVector other, IntPrimeField field) {
+        assert (size() == other.size());
+        long p = field.getModulus();
+        long pp = p * p;
+        long sum = 0;
+        for (int i = 0; i < coordinates.length; i++) {
+            sum += (long) coordinates[i] * other.coordinates[i];
+            if (sum >= pp) {
+                sum -= pp;
+            }
+        }
+        return field.reduce(sum);
+    }
+
+}
@@ -0,0 +1,129 @@
+package dk.jonaslindstrom.ruffini.common.vector;
+
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * A vector of <code>long</code>s backed by a primitive array. Besides the generic {@link Vector} methods, this class has
+ * bulk operations over a {@link LongPrimeField} which neither box nor allocate more than the result. The entries are
+ * assumed to be reduced modulo the characteristic of the field used.
+ */
+public class LongVector extends BaseVector<Long> {
+
+    private final long[] coordinates;
+
+    /**
+     * Create a new vector backed by the given array. The array is not copied, so it should not be changed afterwards.
+     */
+    public LongVector(long... coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public LongVector(int n, IntToLongFunction populator) {
+        this.coordinates = new long[n];
+        Arrays.setAll(coordinates, populator);
+    }
+
+    @Override
+    public int size() {
+        return coordinates.length;
+    }
+
+    @Override
+    public Long get(int i) {
+        return coordinates[i];
+    }
+
+    public long getLong(int i) {
+        return coordinates[i];
+    }
+
+    /**
+     * Return a copy of the entries of this vector.
+     */
+    public long[] toLongArray() {
+        return coordinates.clone();
+    }
+
+    @Override
+    public Stream<Long> stream() {
+        return Arrays.stream(coordinates).boxed();
+    }
+
+    @Override
+    public Vector<Long> pad(int n, Long padding) {
+        long[] padded = Arrays.copyOf(coordinates, n);
+        if (n > coordinates.length && padding != 0L) {
+            Arrays.fill(padded, coordinates.length, n, padding);
+        }
+        return new LongVector(padded);
+    }
+
+    @Override
+    public List<Long> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Long get(int i) {
+                return coordinates[i];
+            }
+
+            @Override
+            public int size() {
+                return coordinates.length;
+            }
+        };
+    }
+
+    public LongVector add(LongVector other, LongPrimeField field) {
+        assert (size() == other.size());
+        long[] result = new long[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.add(coordinates[i], other.coordinates[i]);
+        }
+        return new LongVector(result);
+    }
+
+    public LongVector subtract(LongVector other, LongPrimeField field) {
+        assert (size() == other.size());
+        long[] result = new long[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.sub(coordinates[i], other.coordinates[i]);
+        }
+        return new LongVector(result);
+    }
+
+    /**
+     * Return the coordinate-wise product of this and another vector.
+     */
+    public LongVector multiply(LongVector other, LongPrimeField field) {
+        assert (size() == other.size());
+        long[] result = new long[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.mul(coordinates[i], other.coordinates[i]);
+        }
+        return new LongVector(result);
+    }
+
+    public LongVector scale(long s, LongPrimeField field) {
+        long[] result = new long[coordinates.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = field.mul(s, coordinates[i]);
+        }
+        return new LongVector(result);
+    }
+
+    public long dot(LongVector other, LongPrimeField field) {
+        assert (size() == other.size());
+        long sum = 0;
+        for (int i = 0; i < coordinates.length; i++) {
+            sum = field.add(sum, field.mul(coordinates[i], other.coordinates[i]));
+        }
+        return sum;
+    }
+
+}
@@ -1,11 +1,8 @@
 package dk.jonaslindstrom.ruffini.common.vector;
 
-import com.google.common.collect.Streams;
-
 import java.util.Collection;
 import java.util.List;
 import java.util.function.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface Vector<E> extends Collection<E> {
@@ -32,12 +29,28 @@ public interface Vector<E> extends Collection<E> {
     }
 
     static <E, F> Vector<F> op(Vector<E> a, Vector<E> b, BiFunction<E, E, F> op) {
-        return Vector.ofList(Streams.zip(a.stream(), b.stream(), op).collect(
-                Collectors.toList()));
+        return new ConcreteVector<>(Math.min(a.size(), b.size()), i -> op.apply(a.get(i), b.get(i)), true);
     }
 
+    /**
+     * Return a vector backed by the given array. The array is not copied.
+     */
     static Vector<Double> fromArray(double[] array) {
-        return Vector.view(array.length, i -> array[i]);
+        return new DoubleVector(array);
+    }
+
+    /**
+     * Return a vector backed by the given array. The array is not copied.
+     */
+    static Vector<Integer> fromArray(int[] array) {
+        return new IntVector(array);
+    }
+
+    /**
+     * Return a vector backed by the given array. The array is not copied.
+     */
+    static Vector<Long> fromArray(long[] array) {
+        return new LongVector(array);
     }
 
     int size();
@@ -65,8 +78,7 @@ public interface Vector<E> extends Collection<E> {
     List<E> asList();
 
     default Vector<E> coordinateWise(Vector<E> other, BinaryOperator<E> operator) {
-        return Vector.ofList(Streams.zip(this.stream(), other.stream(), operator).collect(
-                Collectors.toList()));
+        return Vector.op(this, other, operator);
     }
 
 }
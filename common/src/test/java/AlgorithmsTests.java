@@ -1,10 +1,31 @@
 import dk.jonaslindstrom.ruffini.common.abstractions.AdditiveGroup;
 import dk.jonaslindstrom.ruffini.common.abstractions.EuclideanDomain;
+import dk.jonaslindstrom.ruffini.common.abstractions.Group;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
 import dk.jonaslindstrom.ruffini.common.algorithms.*;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+import dk.jonaslindstrom.ruffini.common.helpers.PerformanceLoggingField;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.BareissAlgorithm;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.BerkowitzAlgorithm;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.Determinant;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.GaussianElimination;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.LUDecomposition;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.MatrixInversion;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.MatrixMultiplication;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.StrassenMultiplication;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.WiedemannAlgorithm;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.LongMatrix;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.MutableMatrix;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.SparseMatrix;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
 import dk.jonaslindstrom.ruffini.common.util.SamplingUtils;
 import dk.jonaslindstrom.ruffini.common.util.TestUtils;
+import dk.jonaslindstrom.ruffini.common.vector.DoubleVector;
+import dk.jonaslindstrom.ruffini.common.vector.IntVector;
+import dk.jonaslindstrom.ruffini.common.vector.LongVector;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 import org.junit.Assert;
 import org.junit.Test;
@@ -14,6 +35,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.IntFunction;
 
 import static dk.jonaslindstrom.ruffini.common.util.SamplingUtils.generateDecreasingSequence;
 import static dk.jonaslindstrom.ruffini.common.util.SamplingUtils.sampleFactoredNumber;
@@ -48,6 +70,100 @@ public class AlgorithmsTests {
         }
     }
 
+    @Test
+    public void testSignedDigitMultiply() {
+        AdditiveGroup<BigInteger> integers = new TestUtils.TestBigIntegers();
+        Random random = new Random(1234);
+        for (int w = 2; w < 7; w++) {
+            for (int bits : new int[]{1, 2, 17, 64, 255}) {
+                BigInteger x = new BigInteger(32, random);
+                BigInteger s = new BigInteger(bits, random);
+                Assert.assertEquals(s.multiply(x), new Multiply<>(integers, w).apply(s, x));
+                Assert.assertEquals(s.negate().multiply(x), new Multiply<>(integers, w).apply(s.negate(), x));
+
+                int t = random.nextInt();
+                Assert.assertEquals(BigInteger.valueOf(t).multiply(x), new Multiply<>(integers, w).apply(t, x));
+            }
+        }
+
+        BigInteger x = BigInteger.valueOf(3);
+        Assert.assertEquals(BigInteger.valueOf(Integer.MIN_VALUE).multiply(x),
+                new Multiply<>(integers).apply(Integer.MIN_VALUE, x));
+    }
+
+    @Test
+    public void testMultiScalarMultiplication() {
+        Random random = new Random(1234);
+        TestUtils.TestBigIntegers integers = new TestUtils.TestBigIntegers();
+        AdditiveGroup<BigInteger> signedIntegers = new TestUtils.TestBigIntegers() {
+            @Override
+            public boolean hasCheapNegation() {
+                return true;
+            }
+        };
+
+        for (int n : new int[]{1, 5, 31, 100, 300}) {
+            List<BigInteger> scalars = new ArrayList<>();
+            List<BigInteger> points = new ArrayList<>();
+            BigInteger expected = BigInteger.ZERO;
+            for (int i = 0; i < n; i++) {
+                BigInteger k = new BigInteger(1 + random.nextInt(128), random);
+                k = i % 3 == 1 ? k.negate() : (i % 7 == 2 ? BigInteger.ZERO : k);
+                BigInteger x = new BigInteger(32, random);
+                scalars.add(k);
+                points.add(x);
+                expected = expected.add(k.multiply(x));
+            }
+            Assert.assertEquals(expected, new MultiScalarMultiplication<>(integers).apply(scalars, points));
+            Assert.assertEquals(expected, new MultiScalarMultiplication<>(signedIntegers).apply(scalars, points));
+        }
+
+        // The multiplicative group of a prime field
+        int p = 65521;
+        IntPrimeField field = new IntPrimeField(p);
+        Group<Integer> group = new Group<>() {
+            @Override
+            public Integer invert(Integer a) {
+                return field.invert(a);
+            }
+
+            @Override
+            public Integer identity() {
+                return 1;
+            }
+
+            @Override
+            public Integer multiply(Integer a, Integer b) {
+                return field.multiply(a, b);
+            }
+
+            @Override
+            public String toString(Integer a) {
+                return a.toString();
+            }
+
+            @Override
+            public boolean equals(Integer a, Integer b) {
+                return a.equals(b);
+            }
+        };
+        for (int n : new int[]{3, 50}) {
+            List<BigInteger> scalars = new ArrayList<>();
+            List<Integer> points = new ArrayList<>();
+            BigInteger expected = BigInteger.ONE;
+            for (int i = 0; i < n; i++) {
+                BigInteger k = new BigInteger(64, random).subtract(BigInteger.ONE.shiftLeft(63));
+                int x = 1 + random.nextInt(p - 1);
+                scalars.add(k);
+                points.add(x);
+                expected = expected.multiply(BigInteger.valueOf(x).modPow(k, BigInteger.valueOf(p)))
+                        .mod(BigInteger.valueOf(p));
+            }
+            Assert.assertEquals(expected.intValue(),
+                    (int) MultiScalarMultiplication.multiplicative(group).apply(scalars, points));
+        }
+    }
+
     @Test
     public void testBigPower() {
         Ring<BigInteger> integers = new TestUtils.TestBigIntegers();
@@ -76,6 +192,46 @@ public class AlgorithmsTests {
         }
     }
 
+    @Test
+    public void testPowerStrategies() {
+        Random random = new Random(1234);
+        int p = 2147483647;
+        IntPrimeField field = new IntPrimeField(p);
+
+        for (int bits : new int[]{1, 5, 31, 64, 200, 700}) {
+            int x = random.nextInt(p);
+            BigInteger e = new BigInteger(bits, random);
+            int expected = BigInteger.valueOf(x).modPow(e, BigInteger.valueOf(p)).intValue();
+
+            for (Power.Strategy strategy : Power.Strategy.values()) {
+                for (int w = 0; w < 6; w++) {
+                    Assert.assertEquals(expected, (int) new Power<>(field, strategy, w).apply(x, e));
+                }
+            }
+
+            if (bits < 32) {
+                for (Power.Strategy strategy : Power.Strategy.values()) {
+                    Assert.assertEquals(expected, (int) new Power<>(field, strategy, 0).apply(x, e.intValue()));
+                }
+            }
+
+            // Integer.MIN_VALUE cannot be negated as an int
+            BigInteger min = BigInteger.valueOf(Integer.MIN_VALUE);
+            Assert.assertEquals(BigInteger.valueOf(x).modPow(min, BigInteger.valueOf(p)).intValue(),
+                    (int) new Power<>(field).apply(x, Integer.MIN_VALUE));
+
+            Power<Integer> power = new Power<>(field);
+            Integer base = x;
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(expected, (int) power.apply(base, e));
+            }
+            Power<Integer>.FixedBase fixedBase = power.precompute(base, bits / 2 + 1);
+            Assert.assertEquals(expected, (int) fixedBase.apply(e));
+            Assert.assertEquals(BigInteger.valueOf(x).modPow(e.shiftRight(bits / 2), BigInteger.valueOf(p)).intValue(),
+                    (int) fixedBase.apply(e.shiftRight(bits / 2)));
+        }
+    }
+
     @Test
     public void testChineseRemainderTheorem() {
         EuclideanDomain<BigInteger> integers = new TestUtils.TestBigIntegers();
@@ -190,4 +346,400 @@ public class AlgorithmsTests {
         }
 
     }
+
+    @Test
+    public void testIntPrimeField() {
+        Random random = new Random(1234);
+        for (int p : new int[]{2, 3, 65537, 998244353, 2147483647}) {
+            IntPrimeField field = new IntPrimeField(p);
+            BigInteger modulus = BigInteger.valueOf(p);
+            for (int i = 0; i < 1000; i++) {
+                int a = random.nextInt(p);
+                int b = i == 0 ? p - 1 : random.nextInt(p);
+                BigInteger x = BigInteger.valueOf(a);
+                BigInteger y = BigInteger.valueOf(b);
+
+                Assert.assertEquals(x.add(y).mod(modulus).intValue(), field.add(a, b));
+                Assert.assertEquals(x.subtract(y).mod(modulus).intValue(), field.sub(a, b));
+                Assert.assertEquals(x.negate().mod(modulus).intValue(), field.neg(a));
+                Assert.assertEquals(x.multiply(y).mod(modulus).intValue(), field.mul(a, b));
+                Assert.assertEquals(x.modPow(BigInteger.valueOf(1000003), modulus).intValue(), field.pow(a, 1000003));
+                if (a != 0) {
+                    Assert.assertEquals(x.modInverse(modulus).intValue(), field.inv(a));
+                }
+                Assert.assertTrue(field.equals(field.multiply(Integer.valueOf(a - p), Integer.valueOf(b - p)),
+                        field.mul(a, b)));
+            }
+        }
+    }
+
+    @Test
+    public void testLongPrimeField() {
+        Random random = new Random(1234);
+        for (long p : new long[]{65537, 2147483647, 4611686018427387847L, 9223372036854775783L}) {
+            LongPrimeField field = new LongPrimeField(p);
+            BigInteger modulus = BigInteger.valueOf(p);
+            for (int i = 0; i < 1000; i++) {
+                long a = Math.floorMod(random.nextLong(), p);
+                long b = i == 0 ? p - 1 : Math.floorMod(random.nextLong(), p);
+                BigInteger x = BigInteger.valueOf(a);
+                BigInteger y = BigInteger.valueOf(b);
+
+                Assert.assertEquals(x.add(y).mod(modulus).longValue(), field.add(a, b));
+                Assert.assertEquals(x.subtract(y).mod(modulus).longValue(), field.sub(a, b));
+                Assert.assertEquals(x.negate().mod(modulus).longValue(), field.neg(a));
+                Assert.assertEquals(x.multiply(y).mod(modulus).longValue(), field.mul(a, b));
+                Assert.assertEquals(x.modPow(BigInteger.valueOf(1000003), modulus).longValue(), field.pow(a, 1000003));
+                if (a != 0) {
+                    Assert.assertEquals(x.modInverse(modulus).longValue(), field.inv(a));
+                    Assert.assertEquals(x.modPow(BigInteger.valueOf(Long.MIN_VALUE), modulus).longValue(),
+                            field.pow(a, Long.MIN_VALUE));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveVectors() {
+        Random random = new Random(1234);
+        int n = 1000;
+
+        IntPrimeField intField = new IntPrimeField(2147483647);
+        IntVector a = new IntVector(n, i -> random.nextInt(intField.getModulus()));
+        IntVector b = new IntVector(n, i -> random.nextInt(intField.getModulus()));
+        Vector<Integer> boxedA = Vector.ofList(a.asList());
+        Vector<Integer> boxedB = Vector.ofList(b.asList());
+        Assert.assertEquals(new DotProduct<>(intField).apply(boxedA, boxedB), new DotProduct<>(intField).apply(a, b));
+        Assert.assertEquals(boxedA.coordinateWise(boxedB, intField::add).asList(), a.add(b, intField).asList());
+        Assert.assertEquals(boxedA.coordinateWise(boxedB, intField::multiply).asList(), a.multiply(b, intField).asList());
+
+        LongPrimeField longField = new LongPrimeField(9223372036854775783L);
+        LongVector c = new LongVector(n, i -> Math.floorMod(random.nextLong(), longField.getModulus()));
+        LongVector d = new LongVector(n, i -> Math.floorMod(random.nextLong(), longField.getModulus()));
+        Vector<Long> boxedC = Vector.ofList(c.asList());
+        Vector<Long> boxedD = Vector.ofList(d.asList());
+        Assert.assertEquals(new DotProduct<>(longField).apply(boxedC, boxedD), new DotProduct<>(longField).apply(c, d));
+        Assert.assertEquals(boxedC.coordinateWise(boxedD, longField::subtract).asList(), c.subtract(d, longField).asList());
+
+        DoubleVector x = new DoubleVector(n, i -> random.nextDouble());
+        DoubleVector y = new DoubleVector(n, i -> random.nextDouble());
+        double expected = 0;
+        for (int i = 0; i < n; i++) {
+            expected += x.getDouble(i) * y.getDouble(i);
+        }
+        Assert.assertEquals(expected, x.dot(y), 1e-9);
+        Assert.assertEquals(2 * x.getDouble(17), x.add(x).get(17), 1e-12);
+        Assert.assertEquals(n + 3, x.pad(n + 3, 0.0).size());
+    }
+
+    @Test
+    public void testDenseMatrixViews() {
+        Matrix<Integer> a = Matrix.of(5, 7, (i, j) -> 10 * i + j);
+        Matrix<Integer> b = a.transpose().submatrix(1, 6, 2, 4).transpose();
+
+        Assert.assertEquals(2, b.getHeight());
+        Assert.assertEquals(5, b.getWidth());
+        for (int i = 0; i < b.getHeight(); i++) {
+            for (int j = 0; j < b.getWidth(); j++) {
+                Assert.assertEquals(a.get(i + 2, j + 1), b.get(i, j));
+            }
+        }
+        Assert.assertEquals(a.getColumn(3).asList(), a.transpose().getRow(3).asList());
+        Assert.assertTrue(b.equals(Matrix.copy(b), Integer::equals));
+
+        MutableMatrix<Integer> c = a.mutable();
+        Matrix<Integer> t = c.transpose();
+        c.set(0, 1, -1);
+        Assert.assertEquals(-1, (int) c.getRow(0).get(1));
+        Assert.assertEquals(1, (int) t.get(1, 0));
+        Assert.assertEquals(1, (int) a.get(0, 1));
+
+        LongMatrix d = new LongMatrix(5, 7, (i, j) -> (long) a.get(i, j));
+        Assert.assertEquals(46L, d.transpose().submatrix(1, 7, 1, 5).getLong(5, 3));
+    }
+
+    @Test
+    public void testBlockedMatrixMultiplication() {
+        Random random = new Random(1234);
+        int m = 70, l = 45, n = 83;
+        int p = 2147483647;
+
+        Matrix<Integer> a = Matrix.of(m, l, (i, j) -> random.nextInt(p));
+        Matrix<Integer> b = Matrix.of(l, n, (i, j) -> random.nextInt(p));
+        Matrix<BigInteger> aBig = a.map(BigInteger::valueOf);
+        Matrix<BigInteger> bBig = b.map(BigInteger::valueOf);
+
+        Matrix<BigInteger> expected = new MatrixMultiplication<>(new DotProduct<>(new TestUtils.TestBigIntegers()))
+                .apply(aBig, bBig);
+        Matrix<BigInteger> actual = new MatrixMultiplication<>(new TestUtils.TestBigIntegers(), 16).apply(aBig, bBig);
+        Assert.assertTrue(expected.equals(actual, BigInteger::equals));
+
+        Matrix<Integer> reduced = new MatrixMultiplication<>(new IntPrimeField(p), 16).apply(a, b);
+        Assert.assertTrue(expected.map(x -> x.mod(BigInteger.valueOf(p)).intValue()).equals(reduced, Integer::equals));
+
+        LongPrimeField longField = new LongPrimeField(9223372036854775783L);
+        Matrix<Long> c = new MatrixMultiplication<>(longField, 16)
+                .apply(a.map(Integer::longValue), b.map(Integer::longValue));
+        Assert.assertTrue(expected.map(x -> x.mod(BigInteger.valueOf(longField.getModulus())).longValue())
+                .equals(c, Long::equals));
+    }
+
+    @Test
+    public void testStrassenMultiplication() {
+        Random random = new Random(1234);
+        Ring<BigInteger> integers = new TestUtils.TestBigIntegers();
+
+        for (int[] dimensions : new int[][]{{1, 1, 1}, {17, 17, 17}, {31, 20, 45}, {64, 63, 65}}) {
+            Matrix<BigInteger> a = Matrix.of(dimensions[0], dimensions[1],
+                    (i, j) -> BigInteger.valueOf(random.nextInt(1000)), true);
+            Matrix<BigInteger> b = Matrix.of(dimensions[1], dimensions[2],
+                    (i, j) -> BigInteger.valueOf(random.nextInt(1000)), true);
+            Matrix<BigInteger> expected = new MatrixMultiplication<>(integers).apply(a, b);
+            Assert.assertTrue(expected.equals(new StrassenMultiplication<>(integers, 2).apply(a, b),
+                    BigInteger::equals));
+            Assert.assertTrue(expected.equals(new StrassenMultiplication<>(integers).apply(a, b), BigInteger::equals));
+        }
+    }
+
+    @Test
+    public void testDeterminant() {
+        Random random = new Random(1234);
+        TestUtils.TestBigIntegers integers = new TestUtils.TestBigIntegers();
+        int p = 65521;
+
+        Matrix<BigInteger> a = Matrix.of(3, 3, (i, j) -> BigInteger.valueOf(new int[][]{
+                {0, 2, 1}, {3, -1, 4}, {5, 2, 0}}[i][j]));
+        Assert.assertEquals(BigInteger.valueOf(51), new BareissAlgorithm<>(integers).apply(a));
+        Assert.assertEquals(BigInteger.valueOf(51), new BerkowitzAlgorithm<>(integers).apply(a));
+        Assert.assertEquals(BigInteger.valueOf(51), new Determinant<>(integers).apply(a));
+        Assert.assertEquals(List.of(BigInteger.ONE, BigInteger.ONE, BigInteger.valueOf(-19), BigInteger.valueOf(-51)),
+                new BerkowitzAlgorithm<>(integers).characteristicPolynomial(a));
+
+        for (int n = 1; n < 12; n++) {
+            Matrix<BigInteger> b = Matrix.of(n, n, (i, j) -> BigInteger.valueOf(random.nextInt(21) - 10), true);
+            BigInteger expected = new BerkowitzAlgorithm<>(integers).apply(b);
+            Assert.assertEquals(expected, new BareissAlgorithm<>(integers).apply(b));
+
+            Integer reduced = new Determinant<>(new IntPrimeField(p))
+                    .apply(b.map(x -> x.mod(BigInteger.valueOf(p)).intValue()));
+            Assert.assertEquals(expected.mod(BigInteger.valueOf(p)).intValue(), (int) reduced);
+        }
+    }
+
+    @Test
+    public void testLUDecomposition() {
+        Random random = new Random(1234);
+        IntPrimeField field = new IntPrimeField(65521);
+        MatrixMultiplication<Integer> multiplication = new MatrixMultiplication<>(field);
+
+        Matrix<Integer> a = Matrix.of(7, 7, (i, j) -> random.nextInt(65521), true);
+        LUDecomposition<Integer> lu = new LUDecomposition<>(field, a);
+        Assert.assertTrue(lu.isInvertible());
+        Assert.assertTrue(multiplication.apply(lu.getP(), a).equals(
+                multiplication.apply(lu.getL(), lu.getU()), Integer::equals));
+        Assert.assertTrue(multiplication.apply(a, lu.inverse()).equals(Matrix.eye(7, field), Integer::equals));
+        Assert.assertEquals(new BerkowitzAlgorithm<>(field).apply(a), lu.determinant());
+
+        for (int t = 0; t < 10; t++) {
+            Vector<Integer> b = Vector.of(7, i -> random.nextInt(65521));
+            Assert.assertEquals(b.asList(), multiplication.apply(a, Matrix.column(lu.solve(b))).getColumn(0).asList());
+        }
+
+        // Rank 2 matrix with a zero column
+        Matrix<Integer> c = Matrix.of(4, 5, (i, j) -> j == 0 ? 0 : (i + 1) * j + (j % 2) * i, true);
+        LUDecomposition<Integer> singular = new LUDecomposition<>(field, c);
+        Assert.assertEquals(2, singular.rank());
+        Assert.assertEquals(3, singular.kernel().size());
+        for (Vector<Integer> x : singular.kernel()) {
+            Assert.assertTrue(multiplication.apply(c, Matrix.column(x)).stream().allMatch(field::isZero));
+        }
+        Vector<Integer> b = c.getColumn(3);
+        Assert.assertEquals(b.asList(),
+                multiplication.apply(c, Matrix.column(singular.solve(b))).getColumn(0).asList());
+        Assert.assertThrows(IllegalArgumentException.class, () -> singular.solve(Vector.of(1, 0, 0, 0)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new MatrixInversion<>(field).apply(c.submatrix(0, 4, 1, 5)));
+    }
+
+    @Test
+    public void testGaussianElimination() {
+        Random random = new Random(1234);
+        int p = 65521;
+        IntPrimeField field = new IntPrimeField(p);
+
+        // The last rows are linear combinations of the first ones
+        for (int[] dimensions : new int[][]{{5, 8}, {90, 70}}) {
+            int m = dimensions[0], n = dimensions[1];
+            Matrix<Integer> b = Matrix.of(m - 2, n, (i, j) -> random.nextInt(p), true);
+            Matrix<Integer> a = Matrix.of(m, n, (i, j) -> i < m - 2 ? b.get(i, j)
+                    : field.add((int) b.get(0, j), field.mul(i, b.get(i - 2, j))), true);
+
+            Matrix<Integer> expected = new GaussianElimination<>(new PerformanceLoggingField<>(field)).apply(a);
+            Assert.assertTrue(expected.equals(new GaussianElimination<>(field).apply(a), Integer::equals));
+            Matrix<Long> reduced = new GaussianElimination<>(new LongPrimeField(p)).apply(a.map(Integer::longValue));
+            Assert.assertTrue(expected.map(Integer::longValue).equals(reduced, Long::equals));
+
+            // Reduced row echelon form of a matrix of rank r
+            int r = Math.min(m - 2, n);
+            int lead = -1;
+            for (int i = 0; i < m; i++) {
+                int j = 0;
+                while (j < n && expected.get(i, j) == 0) {
+                    j++;
+                }
+                Assert.assertEquals(i >= r, j == n);
+                if (i < r) {
+                    Assert.assertTrue(j > lead);
+                    Assert.assertEquals(1, (int) expected.get(i, j));
+                    for (int k = 0; k < m; k++) {
+                        Assert.assertEquals(k == i ? 1 : 0, (int) expected.get(k, j));
+                    }
+                    lead = j;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSparseMatrix() {
+        Random random = new Random(1234);
+        int p = 65521;
+        int n = 300;
+        IntPrimeField field = new IntPrimeField(p);
+
+        SparseMatrix.Builder<Integer> builder = new SparseMatrix.Builder<>(n, n, 0);
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < 5; k++) {
+                builder.add(i, random.nextInt(n), random.nextInt(p));
+            }
+            builder.add(i, i, 1 + random.nextInt(p - 1));
+        }
+        builder.add(0, 0, 7).add(0, 0, 1);
+        SparseMatrix<Integer> a = builder.build();
+        Matrix<Integer> dense = Matrix.copy(a);
+        Assert.assertEquals(1, (int) a.get(0, 0));
+        Assert.assertTrue(a.getNonZeroCount() <= 6 * n);
+        Assert.assertTrue(dense.transpose().equals(a.transpose(), Integer::equals));
+
+        Vector<Integer> b = Vector.of(n, i -> random.nextInt(p));
+        MatrixMultiplication<Integer> multiplication = new MatrixMultiplication<>(field);
+        Assert.assertEquals(multiplication.apply(dense, Matrix.column(b)).getColumn(0).asList(),
+                a.apply(b, field).asList());
+        Assert.assertEquals(a.transpose().apply(b, field).asList(), a.applyTranspose(b, field).asList());
+
+        Vector<Integer> expected = new LUDecomposition<>(field, dense).solve(b);
+        Vector<Integer> x = new WiedemannAlgorithm<>(field, () -> random.nextInt(p)).apply(a, b);
+        Assert.assertEquals(expected.asList(), x.asList());
+
+        // Fibonacci numbers satisfy s_k - s_{k-1} - s_{k-2} = 0
+        List<Integer> fibonacci = new ArrayList<>(List.of(0, 1));
+        for (int i = 2; i < 10; i++) {
+            fibonacci.add(field.add((int) fibonacci.get(i - 1), (int) fibonacci.get(i - 2)));
+        }
+        Assert.assertEquals(List.of(1, p - 1, p - 1), new BerlekampMassey<>(field).apply(fibonacci));
+    }
+
+    @Test
+    public void testBatchInversion() {
+        int p = 65521;
+        IntPrimeField field = new IntPrimeField(p);
+        Random random = new Random(1234);
+
+        List<Integer> small = List.of(3, 1, 17, 65520);
+        List<Integer> inverses = field.invertAll(small);
+        for (int i = 0; i < small.size(); i++) {
+            Assert.assertEquals(field.invert(small.get(i)), inverses.get(i));
+        }
+        Assert.assertTrue(field.invertAll(List.of()).isEmpty());
+        Assert.assertThrows(NotInvertibleException.class, () -> field.invertAll(List.of(2, 0, 5)));
+        Assert.assertEquals(List.of(0, field.invert(2), 0, field.invert(5)),
+                field.invertAllNonZero(List.of(0, 2, 0, 5)));
+        Assert.assertEquals(List.of(0, 0), field.invertAllNonZero(List.of(0, 0)));
+
+        // Large enough to be split into chunks
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            large.add(i % 1000 == 0 ? 0 : 1 + random.nextInt(p - 1));
+        }
+        List<Integer> largeInverses = field.invertAllNonZero(large);
+        for (int i = 0; i < large.size(); i++) {
+            Assert.assertEquals(large.get(i) == 0 ? 0 : (int) field.invert(large.get(i)), (int) largeInverses.get(i));
+        }
+    }
+
+    @Test
+    public void testNumberTheoreticTransform() {
+        int p = 65537;
+        IntPrimeField field = new IntPrimeField(p);
+        Random random = new Random(1234);
+
+        for (int n = 1; n <= 128; n *= 2) {
+            int root = field.pow(3, (p - 1) / n);
+            List<Integer> x = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                x.add(random.nextInt(p));
+            }
+
+            // Naive O(n^2) transform
+            List<Integer> expected = new ArrayList<>();
+            for (int k = 0; k < n; k++) {
+                int sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum = field.add(sum, field.mul(x.get(j), field.pow(root, j * k)));
+                }
+                expected.add(sum);
+            }
+
+            Object[] a = x.toArray();
+            new NumberTheoreticTransform<>(field, root, n).transform(a);
+            Assert.assertEquals(expected, List.of(a));
+        }
+
+        // Large enough to be computed in parallel
+        int n = 1 << 14;
+        int root = field.pow(3, (p - 1) / n);
+        Vector<Integer> x = Vector.of(n, i -> random.nextInt(p));
+        Vector<Integer> y = new DiscreteFourierTransform<>(field, root, n).apply(x);
+        Assert.assertEquals(x.asList(), new InverseDiscreteFourierTransform<>(field, root, n).apply(y).asList());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NumberTheoreticTransform<>(field, 2, 8));
+    }
+
+    @Test
+    public void testMixedRadixFourierTransform() {
+        // p - 1 = 3 * 5 * 7 * 2^12 and 13 is a generator
+        int p = 430081;
+        IntPrimeField field = new IntPrimeField(p);
+        Random random = new Random(1234);
+        IntFunction<Integer> roots = n -> field.pow(13, (p - 1) / n);
+
+        for (int n : new int[]{3, 5, 6, 7, 12, 14, 15, 21, 35, 60, 105}) {
+            int root = roots.apply(n);
+            List<Integer> x = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                x.add(random.nextInt(p));
+            }
+
+            List<Integer> expected = new ArrayList<>();
+            for (int k = 0; k < n; k++) {
+                int sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum = field.add(sum, field.mul(x.get(j), field.pow(root, (long) j * k)));
+                }
+                expected.add(sum);
+            }
+
+            Assert.assertEquals(expected, new DiscreteFourierTransform<>(field, root, n).apply(Vector.ofList(x)).asList());
+            Assert.assertEquals(expected,
+                    new DiscreteFourierTransform<>(field, root, n, roots).apply(Vector.ofList(x)).asList());
+        }
+
+        // Large enough to be computed in parallel
+        int n = 3 << 12;
+        int root = roots.apply(n);
+        Vector<Integer> x = Vector.of(n, i -> random.nextInt(p));
+        Vector<Integer> y = new DiscreteFourierTransform<>(field, root, n).apply(x);
+        Assert.assertEquals(x.asList(), new InverseDiscreteFourierTransform<>(field, root, n).apply(y).asList());
+    }
+
 }
@@ -62,6 +62,11 @@ public class EdwardsCurve<E, F extends Field<E>> implements AdditiveGroup<Edward
         return new EdwardsPoint<>(field.negate(a.x()), a.y());
     }
 
+    @Override
+    public boolean hasCheapNegation() {
+        return true;
+    }
+
     @Override
     public EdwardsPoint<E> zero() {
         return new EdwardsPoint<>(field.zero(), field.identity());
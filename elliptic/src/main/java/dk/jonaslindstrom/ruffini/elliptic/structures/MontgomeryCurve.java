@@ -88,9 +88,17 @@ public class MontgomeryCurve<E, F extends Field<E>> implements AdditiveGroup<Aff
 
     @Override
     public AffinePoint<E> negate(AffinePoint<E> p) {
+        if (p.isPointAtInfinity()) {
+            return p;
+        }
         return new AffinePoint<>(p.x(), field.negate(p.y()));
     }
 
+    @Override
+    public boolean hasCheapNegation() {
+        return true;
+    }
+
     @Override
     public AffinePoint<E> zero() {
         return AffinePoint.pointAtInfinity();
@@ -7,6 +7,9 @@ import dk.jonaslindstrom.ruffini.common.algorithms.Multiply;
 import dk.jonaslindstrom.ruffini.common.algorithms.Power;
 import dk.jonaslindstrom.ruffini.elliptic.elements.AffinePoint;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 public class ShortWeierstrassCurveAffine<E, F extends Field<E>> implements AdditiveGroup<AffinePoint<E>> {
 
@@ -80,11 +83,71 @@ public class ShortWeierstrassCurveAffine<E, F extends Field<E>> implements Addit
         return new AffinePoint<>(x, y);
     }
 
+    /**
+     * Compute the pairwise sums <i>p<sub>i</sub> + q<sub>i</sub></i>. The slopes of all the additions are computed
+     * using a single field inversion, so this is much faster than adding the points one by one when inversion is
+     * expensive.
+     */
+    public List<AffinePoint<E>> batchAdd(List<AffinePoint<E>> p, List<AffinePoint<E>> q) {
+        if (p.size() != q.size()) {
+            throw new IllegalArgumentException("Expected lists of the same size but got " + p.size() + " and "
+                    + q.size());
+        }
+
+        // Sums involving the point at infinity or inverse points are computed directly and marked by a null numerator
+        int n = p.size();
+        List<AffinePoint<E>> result = new ArrayList<>(n);
+        List<E> numerators = new ArrayList<>(n);
+        List<E> denominators = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            AffinePoint<E> pi = p.get(i);
+            AffinePoint<E> qi = q.get(i);
+            if (pi.isPointAtInfinity() || qi.isPointAtInfinity()) {
+                result.add(pi.isPointAtInfinity() ? qi : pi);
+                numerators.add(null);
+                denominators.add(field.identity());
+            } else if (!field.equals(pi.x(), qi.x())) {
+                result.add(null);
+                numerators.add(field.subtract(qi.y(), pi.y()));
+                denominators.add(field.subtract(qi.x(), pi.x()));
+            } else if (field.equals(pi.y(), field.negate(qi.y()))) {
+                result.add(AffinePoint.pointAtInfinity());
+                numerators.add(null);
+                denominators.add(field.identity());
+            } else {
+                result.add(null);
+                numerators.add(field.add(field.multiply(three, pi.x(), pi.x()), a));
+                denominators.add(field.add(pi.y(), pi.y()));
+            }
+        }
+
+        List<E> inverses = field.invertAll(denominators);
+        for (int i = 0; i < n; i++) {
+            if (numerators.get(i) == null) {
+                continue;
+            }
+            AffinePoint<E> pi = p.get(i);
+            E s = field.multiply(numerators.get(i), inverses.get(i));
+            E x = field.subtract(field.multiply(s, s), field.add(pi.x(), q.get(i).x()));
+            E y = field.subtract(field.multiply(s, field.subtract(pi.x(), x)), pi.y());
+            result.set(i, new AffinePoint<>(x, y));
+        }
+        return result;
+    }
+
     @Override
     public AffinePoint<E> negate(AffinePoint<E> p) {
+        if (p.isPointAtInfinity()) {
+            return p;
+        }
         return new AffinePoint<>(p.x(), field.negate(p.y()));
     }
 
+    @Override
+    public boolean hasCheapNegation() {
+        return true;
+    }
+
     @Override
     public AffinePoint<E> zero() {
         return AffinePoint.pointAtInfinity();
@@ -50,6 +50,11 @@ public class ShortWeierstrassCurveProjective<E> implements AdditiveGroup<Project
         return new ProjectivePoint<>(p.X(), field.negate(p.Y()), p.Z());
     }
 
+    @Override
+    public boolean hasCheapNegation() {
+        return true;
+    }
+
     @Override
     public ProjectivePoint<E> add(ProjectivePoint<E> p, ProjectivePoint<E> q) {
 
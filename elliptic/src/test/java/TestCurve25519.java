@@ -1,12 +1,16 @@
 import dk.jonaslindstrom.ruffini.common.exceptions.InvalidParametersException;
 import dk.jonaslindstrom.ruffini.elliptic.elements.AffinePoint;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
 import dk.jonaslindstrom.ruffini.elliptic.structures.Curve25519;
+import dk.jonaslindstrom.ruffini.elliptic.structures.ShortWeierstrassCurveAffine;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TestCurve25519 {
 
@@ -24,4 +28,34 @@ public class TestCurve25519 {
         Assert.assertEquals(expected.x(), x.x());
     }
 
+    @Test
+    public void testBatchAddition() {
+        IntPrimeField field = new IntPrimeField(97);
+        ShortWeierstrassCurveAffine<Integer, IntPrimeField> curve = new ShortWeierstrassCurveAffine<>(field, 2, 3);
+
+        List<AffinePoint<Integer>> points = new ArrayList<>();
+        for (int x = 0; x < 97; x++) {
+            for (int y = 0; y < 97; y++) {
+                if (y * y % 97 == (x * x * x + 2 * x + 3) % 97) {
+                    points.add(new AffinePoint<>(x, y));
+                }
+            }
+        }
+
+        // Generic sums, doublings, inverse points and the point at infinity
+        List<AffinePoint<Integer>> p = new ArrayList<>();
+        List<AffinePoint<Integer>> q = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            p.add(points.get(i));
+            q.add(points.get((7 * i + 3) % points.size()));
+        }
+        p.addAll(List.of(points.get(0), points.get(1), AffinePoint.pointAtInfinity(), points.get(2)));
+        q.addAll(List.of(points.get(0), curve.negate(points.get(1)), points.get(3), AffinePoint.pointAtInfinity()));
+
+        List<AffinePoint<Integer>> sums = curve.batchAdd(p, q);
+        for (int i = 0; i < p.size(); i++) {
+            Assert.assertTrue(curve.equals(curve.add(p.get(i), q.get(i)), sums.get(i)));
+        }
+    }
+
 }
@@ -0,0 +1,330 @@
+package dk.jonaslindstrom.ruffini.finitefields;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+import dk.jonaslindstrom.ruffini.common.util.MathUtils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * This class represents a prime field <i>𝔽<sub>p</sub></i> for a large odd prime <i>p</i>. Elements are stored in
+ * Montgomery form <i>aR mod p</i> with <i>R = 2<sup>64n</sup></i> as <i>n</i> fixed-size 64-bit limbs, and products
+ * are computed using the CIOS variant of Montgomery multiplication. This avoids allocating {@link BigInteger}s and
+ * computing a full reduction for each operation, so it may be used as a faster drop-in replacement for
+ * {@link BigPrimeField} when instantiating curves, field extensions and pairings.
+ * <p>
+ * Elements are always kept fully reduced, so additions and subtractions only need a single conditional correction and
+ * equality is a comparison of limbs. Use {@link #fromBigInteger(BigInteger)} and {@link #toBigInteger(Element)} to
+ * convert to and from the canonical representation.
+ */
+public class MontgomeryPrimeField implements Field<MontgomeryPrimeField.Element> {
+
+    private final BigInteger p;
+    private final int n;
+    private final long[] modulus;
+
+    /**
+     * <i>-p<sup>-1</sup> mod 2<sup>64</sup></i>.
+     */
+    private final long inverse;
+
+    /**
+     * <i>R<sup>2</sup> mod p</i> and <i>R<sup>3</sup> mod p</i> used for conversion and inversion respectively.
+     */
+    private final long[] r2, r3;
+
+    private final Element zero, one;
+
+    public MontgomeryPrimeField(BigInteger p) {
+        if (p.signum() <= 0 || !p.testBit(0) || p.equals(BigInteger.ONE)) {
+            throw new IllegalArgumentException("Modulus must be an odd prime");
+        }
+
+        this.p = p;
+        this.n = (p.bitLength() + 63) / 64;
+        this.modulus = toLimbs(p, n);
+        this.inverse = p.negate().modInverse(BigInteger.ONE.shiftLeft(64)).longValue();
+
+        BigInteger r = BigInteger.ONE.shiftLeft(64 * n).mod(p);
+        this.r2 = toLimbs(r.multiply(r).mod(p), n);
+        this.r3 = toLimbs(r.pow(3).mod(p), n);
+
+        this.zero = new Element(new long[n]);
+        this.one = new Element(toLimbs(r, n));
+    }
+
+    private static long[] toLimbs(BigInteger x, int n) {
+        long[] limbs = new long[n];
+        for (int i = 0; i < n; i++) {
+            limbs[i] = x.shiftRight(64 * i).longValue();
+        }
+        return limbs;
+    }
+
+    private static BigInteger fromLimbs(long[] limbs) {
+        BigInteger x = BigInteger.ZERO;
+        for (int i = limbs.length - 1; i >= 0; i--) {
+            x = x.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(limbs[i])));
+        }
+        return x;
+    }
+
+    public BigInteger getModulus() {
+        return p;
+    }
+
+    /**
+     * The number of 64-bit limbs used to represent an element.
+     */
+    public int getLimbs() {
+        return n;
+    }
+
+    /**
+     * Convert an integer to an element of this field. The integer may be negative or larger than the modulus.
+     */
+    public Element fromBigInteger(BigInteger x) {
+        return new Element(montgomeryMultiply(toLimbs(x.mod(p), n), r2));
+    }
+
+    /**
+     * Return the canonical representative in <i>{0, ..., p-1}</i> of the given element.
+     */
+    public BigInteger toBigInteger(Element a) {
+        long[] unit = new long[n];
+        unit[0] = 1;
+        return fromLimbs(montgomeryMultiply(a.limbs, unit));
+    }
+
+    public Element element(long x) {
+        return fromBigInteger(BigInteger.valueOf(x));
+    }
+
+    @Override
+    public Element integer(int a) {
+        return element(a);
+    }
+
+    /**
+     * Compute <i>abR<sup>-1</sup> mod p</i> using the Coarsely Integrated Operand Scanning (CIOS) method. The inputs
+     * must be smaller than <i>p</i>.
+     */
+    private long[] montgomeryMultiply(long[] a, long[] b) {
+        long[] t = new long[n];
+        long tn = 0;
+        long tn1;
+
+        for (int i = 0; i < n; i++) {
+            long bi = b[i];
+
+            // t = t + a * b[i]
+            long c = 0;
+            for (int j = 0; j < n; j++) {
+                long lo = a[j] * bi;
+                long hi = MathUtils.unsignedMultiplyHigh(a[j], bi);
+                long s = t[j] + lo;
+                hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+                t[j] = s + c;
+                hi += Long.compareUnsigned(t[j], s) < 0 ? 1 : 0;
+                c = hi;
+            }
+            long s = tn + c;
+            tn1 = Long.compareUnsigned(s, tn) < 0 ? 1 : 0;
+            tn = s;
+
+            // t = (t + m * p) / 2^64
+            long m = t[0] * inverse;
+            long lo = m * modulus[0];
+            c = MathUtils.unsignedMultiplyHigh(m, modulus[0]) + (Long.compareUnsigned(t[0] + lo, lo) < 0 ? 1 : 0);
+            for (int j = 1; j < n; j++) {
+                lo = m * modulus[j];
+                long hi = MathUtils.unsignedMultiplyHigh(m, modulus[j]);
+                s = t[j] + lo;
+                hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+                t[j - 1] = s + c;
+                hi += Long.compareUnsigned(t[j - 1], s) < 0 ? 1 : 0;
+                c = hi;
+            }
+            s = tn + c;
+            t[n - 1] = s;
+            tn = tn1 + (Long.compareUnsigned(s, c) < 0 ? 1 : 0);
+        }
+
+        // The result is smaller than 2p so a single subtraction suffices
+        if (tn != 0 || !lessThanModulus(t)) {
+            subtractModulus(t);
+        }
+        return t;
+    }
+
+    private boolean lessThanModulus(long[] a) {
+        for (int i = n - 1; i >= 0; i--) {
+            int c = Long.compareUnsigned(a[i], modulus[i]);
+            if (c != 0) {
+                return c < 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Subtract the modulus in place ignoring any final borrow.
+     */
+    private void subtractModulus(long[] a) {
+        long borrow = 0;
+        for (int i = 0; i < n; i++) {
+            long d = a[i] - modulus[i];
+            long b1 = Long.compareUnsigned(a[i], modulus[i]) < 0 ? 1 : 0;
+            long e = d - borrow;
+            long b2 = Long.compareUnsigned(d, borrow) < 0 ? 1 : 0;
+            a[i] = e;
+            borrow = b1 | b2;
+        }
+    }
+
+    /**
+     * Add the modulus in place ignoring any final carry.
+     */
+    private void addModulus(long[] a) {
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+            long s = a[i] + modulus[i];
+            long c1 = Long.compareUnsigned(s, a[i]) < 0 ? 1 : 0;
+            a[i] = s + carry;
+            long c2 = Long.compareUnsigned(a[i], s) < 0 ? 1 : 0;
+            carry = c1 | c2;
+        }
+    }
+
+    @Override
+    public Element add(Element a, Element b) {
+        long[] s = new long[n];
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+            long t = a.limbs[i] + b.limbs[i];
+            long c1 = Long.compareUnsigned(t, a.limbs[i]) < 0 ? 1 : 0;
+            s[i] = t + carry;
+            long c2 = Long.compareUnsigned(s[i], t) < 0 ? 1 : 0;
+            carry = c1 | c2;
+        }
+        if (carry != 0 || !lessThanModulus(s)) {
+            subtractModulus(s);
+        }
+        return new Element(s);
+    }
+
+    @Override
+    public Element subtract(Element a, Element b) {
+        long[] d = new long[n];
+        long borrow = 0;
+        for (int i = 0; i < n; i++) {
+            long t = a.limbs[i] - b.limbs[i];
+            long b1 = Long.compareUnsigned(a.limbs[i], b.limbs[i]) < 0 ? 1 : 0;
+            d[i] = t - borrow;
+            long b2 = Long.compareUnsigned(t, borrow) < 0 ? 1 : 0;
+            borrow = b1 | b2;
+        }
+        if (borrow != 0) {
+            addModulus(d);
+        }
+        return new Element(d);
+    }
+
+    @Override
+    public Element negate(Element a) {
+        if (isZero(a)) {
+            return a;
+        }
+        return subtract(zero, a);
+    }
+
+    @Override
+    public Element doubling(Element a) {
+        return add(a, a);
+    }
+
+    @Override
+    public Element multiply(Element a, Element b) {
+        return new Element(montgomeryMultiply(a.limbs, b.limbs));
+    }
+
+    @Override
+    public Element invert(Element a) {
+        if (isZero(a)) {
+            throw new NotInvertibleException(a);
+        }
+        // If a = xR then a^{-1} R^3 R^{-1} = x^{-1} R
+        long[] inverse = toLimbs(fromLimbs(a.limbs).modInverse(p), n);
+        return new Element(montgomeryMultiply(inverse, r3));
+    }
+
+    @Override
+    public Element zero() {
+        return zero;
+    }
+
+    @Override
+    public Element identity() {
+        return one;
+    }
+
+    @Override
+    public boolean isZero(Element a) {
+        for (long limb : a.limbs) {
+            if (limb != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Element a, Element b) {
+        return Arrays.equals(a.limbs, b.limbs);
+    }
+
+    @Override
+    public String toString(Element a) {
+        return toBigInteger(a).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "\\mathbb{F}_{" + p.toString() + "}";
+    }
+
+    /**
+     * An element of a {@link MontgomeryPrimeField} stored in Montgomery form. Instances are immutable.
+     */
+    public class Element {
+
+        private final long[] limbs;
+
+        private Element(long[] limbs) {
+            this.limbs = limbs;
+        }
+
+        public BigInteger toBigInteger() {
+            return MontgomeryPrimeField.this.toBigInteger(this);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(limbs, ((Element) o).limbs);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(limbs);
+        }
+
+        @Override
+        public String toString() {
+            return toBigInteger().toString();
+        }
+    }
+
+}
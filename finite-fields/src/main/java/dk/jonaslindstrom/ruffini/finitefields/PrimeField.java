@@ -1,26 +1,85 @@
 package dk.jonaslindstrom.ruffini.finitefields;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Field;
-import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
-import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
-import dk.jonaslindstrom.ruffini.integers.structures.Integers;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.integers.structures.IntegersModuloN;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 
-public class PrimeField extends IntegersModuloN implements Field<Integer> {
+public class PrimeField extends IntegersModuloN implements PrimitivePrimeField<Integer> {
+
+    private final IntPrimeField field;
 
     public PrimeField(Integer p) {
         super(p);
+        this.field = new IntPrimeField(p);
+    }
+
+    /**
+     * Return a view of this field with primitive, allocation-free arithmetic on reduced elements.
+     */
+    public IntPrimeField asIntPrimeField() {
+        return field;
+    }
+
+    @Override
+    public Field<Integer> asPrimitiveField() {
+        return field;
+    }
+
+    @Override
+    public Integer add(Integer a, Integer b) {
+        return field.add(a, b);
+    }
+
+    @Override
+    public Integer subtract(Integer a, Integer b) {
+        return field.subtract(a, b);
+    }
+
+    @Override
+    public Integer negate(Integer a) {
+        return field.negate(a);
+    }
+
+    @Override
+    public Integer multiply(Integer a, Integer b) {
+        return field.multiply(a, b);
     }
 
     @Override
     public Integer invert(Integer a) {
-        EuclideanAlgorithm.Result<Integer> gcd = new EuclideanAlgorithm<>(Integers.getInstance())
-                .applyExtended(a, super.mod);
-        if (gcd.gcd() != 1) {
-            throw new NotInvertibleException(super.mod);
-        }
-        return Math.floorMod(gcd.x(), super.mod);
+        return field.invert(a);
+    }
+
+    @Override
+    public Integer power(Integer a, int e) {
+        return field.power(a, e);
+    }
+
+    @Override
+    public Integer identity() {
+        return field.identity();
+    }
+
+    @Override
+    public Integer zero() {
+        return field.zero();
+    }
+
+    @Override
+    public Integer integer(int a) {
+        return field.integer(a);
+    }
+
+    @Override
+    public boolean isZero(Integer a) {
+        return field.isZero(a);
+    }
+
+    @Override
+    public boolean equals(Integer a, Integer b) {
+        return field.equals(a, b);
     }
 
     @Override
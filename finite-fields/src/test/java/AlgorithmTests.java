@@ -1,10 +1,19 @@
 import dk.jonaslindstrom.ruffini.common.exceptions.NotASquareException;
+import dk.jonaslindstrom.ruffini.common.helpers.PerformanceLoggingField;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.GaussianElimination;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.MatrixMultiplication;
+import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.finitefields.BigPrimeField;
+import dk.jonaslindstrom.ruffini.finitefields.MontgomeryPrimeField;
+import dk.jonaslindstrom.ruffini.finitefields.PrimeField;
 import dk.jonaslindstrom.ruffini.finitefields.algorithms.BigTonelliShanks;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 public class AlgorithmTests {
 
@@ -21,4 +30,55 @@ public class AlgorithmTests {
         Assert.assertEquals(a, field.multiply(x, x));
     }
 
+    @Test
+    public void testMontgomeryPrimeField() {
+        Random random = new Random(1234);
+
+        BigInteger[] primes = new BigInteger[]{
+                BigInteger.valueOf(2147483647),
+                new BigInteger("21888242871839275222246405745257275088696311157297823662689037894645226208583"),
+                new BigInteger("1a0111ea397fe69a4b1ba7b6434bacd764774b84f38512bf6730d2a0f6b0f6241eabfffeb153ffffb9feffffffffaaab", 16),
+                BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19))};
+
+        for (BigInteger p : primes) {
+            MontgomeryPrimeField field = new MontgomeryPrimeField(p);
+            BigPrimeField reference = new BigPrimeField(p);
+
+            for (int i = 0; i < 100; i++) {
+                BigInteger a = new BigInteger(p.bitLength() + 8, random).mod(p);
+                BigInteger b = i == 0 ? p.subtract(BigInteger.ONE) : new BigInteger(p.bitLength() + 8, random).mod(p);
+
+                MontgomeryPrimeField.Element x = field.fromBigInteger(a);
+                MontgomeryPrimeField.Element y = field.fromBigInteger(b);
+
+                Assert.assertEquals(a, field.toBigInteger(x));
+                Assert.assertEquals(reference.add(a, b), field.add(x, y).toBigInteger());
+                Assert.assertEquals(reference.subtract(a, b), field.subtract(x, y).toBigInteger());
+                Assert.assertEquals(reference.negate(a), field.negate(x).toBigInteger());
+                Assert.assertEquals(reference.multiply(a, b), field.multiply(x, y).toBigInteger());
+                Assert.assertEquals(reference.invert(a), field.invert(x).toBigInteger());
+                Assert.assertEquals(a.modPow(BigInteger.valueOf(17), p), field.power(x, 17).toBigInteger());
+                Assert.assertTrue(field.equals(field.identity(), field.multiply(x, field.invert(x))));
+            }
+        }
+    }
+
+    @Test
+    public void testPrimeFieldMatrices() {
+        Random random = new Random(1234);
+        int p = 1000003;
+        PrimeField field = new PrimeField(p);
+        Assert.assertTrue(PrimitivePrimeField.unwrap(field) instanceof IntPrimeField);
+
+        // The logging wrapper hides the primitive field, so the generic algorithms are used as reference
+        PerformanceLoggingField<Integer> reference = new PerformanceLoggingField<>(field);
+        Matrix<Integer> a = Matrix.of(30, 20, (i, j) -> random.nextInt(p));
+        Matrix<Integer> b = Matrix.of(20, 25, (i, j) -> random.nextInt(p));
+
+        Assert.assertTrue(new MatrixMultiplication<>(reference, 16).apply(a, b)
+                .equals(new MatrixMultiplication<>(field, 16).apply(a, b), Integer::equals));
+        Assert.assertTrue(new GaussianElimination<>(reference).apply(a)
+                .equals(new GaussianElimination<>(field).apply(a), Integer::equals));
+    }
+
 }
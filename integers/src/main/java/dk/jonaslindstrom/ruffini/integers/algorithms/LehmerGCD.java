@@ -0,0 +1,101 @@
+package dk.jonaslindstrom.ruffini.integers.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
+
+import java.math.BigInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Compute the greatest common divisor and Bezout coefficients of two non-negative integers using Lehmer's algorithm
+ * (Algorithm L in section 4.5.2 of Knuth's The Art of Computer Programming, vol. 2).
+ * <p>
+ * The quotients of the remainder sequence are computed from the leading 62 bits of the remainders using machine
+ * words for as long as they are guaranteed to be the same as for the full integers, and the steps are then applied
+ * to the full integers at once as a 2x2 matrix. This replaces most divisions of large integers with a few
+ * multiplications by single words. The quotients are exactly those of the classical Euclidean algorithm, so the result
+ * is the same as for {@link EuclideanAlgorithm}.
+ */
+public class LehmerGCD implements BiFunction<BigInteger, BigInteger, EuclideanAlgorithm.Result<BigInteger>> {
+
+    /**
+     * Once the smallest remainder has fewer bits than this, the remaining steps are computed classically.
+     */
+    private static final int WORD_SIZE = 62;
+
+    /**
+     * @throws IllegalArgumentException If one of the inputs is negative.
+     */
+    @Override
+    public EuclideanAlgorithm.Result<BigInteger> apply(BigInteger a, BigInteger b) {
+        if (a.signum() < 0 || b.signum() < 0) {
+            throw new IllegalArgumentException("Inputs must be non-negative");
+        }
+
+        // Invariants: r0 = s0 a + t0 b and r1 = s1 a + t1 b
+        BigInteger r0 = a, r1 = b;
+        BigInteger s0 = BigInteger.ONE, s1 = BigInteger.ZERO;
+        BigInteger t0 = BigInteger.ZERO, t1 = BigInteger.ONE;
+
+        while (r1.signum() != 0) {
+            if (r1.bitLength() > WORD_SIZE && r0.compareTo(r1) >= 0) {
+                int shift = r0.bitLength() - WORD_SIZE;
+                long u = r0.shiftRight(shift).longValue();
+                long v = r1.shiftRight(shift).longValue();
+
+                // Simulate the remainder sequence of (u, v) while the quotients are certain to be correct
+                long A = 1, B = 0, C = 0, D = 1;
+                while (v + C != 0 && v + D != 0) {
+                    long q = (u + A) / (v + C);
+                    if (q != (u + B) / (v + D)) {
+                        break;
+                    }
+                    long T = A - q * C;
+                    A = C;
+                    C = T;
+                    T = B - q * D;
+                    B = D;
+                    D = T;
+                    T = u - q * v;
+                    u = v;
+                    v = T;
+                }
+
+                if (B != 0) {
+                    BigInteger[] r = combine(A, B, C, D, r0, r1);
+                    BigInteger[] s = combine(A, B, C, D, s0, s1);
+                    BigInteger[] t = combine(A, B, C, D, t0, t1);
+                    r0 = r[0];
+                    r1 = r[1];
+                    s0 = s[0];
+                    s1 = s[1];
+                    t0 = t[0];
+                    t1 = t[1];
+                    continue;
+                }
+            }
+
+            // A single classical step
+            BigInteger[] qr = r0.divideAndRemainder(r1);
+            BigInteger q = qr[0];
+            r0 = r1;
+            r1 = qr[1];
+            BigInteger s = s0.subtract(q.multiply(s1));
+            s0 = s1;
+            s1 = s;
+            BigInteger t = t0.subtract(q.multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+        return new EuclideanAlgorithm.Result<>(r0, s0, t0);
+    }
+
+    /**
+     * Return <i>(Ax + By, Cx + Dy)</i>.
+     */
+    private static BigInteger[] combine(long A, long B, long C, long D, BigInteger x, BigInteger y) {
+        return new BigInteger[]{
+                x.multiply(BigInteger.valueOf(A)).add(y.multiply(BigInteger.valueOf(B))),
+                x.multiply(BigInteger.valueOf(C)).add(y.multiply(BigInteger.valueOf(D)))};
+    }
+
+}
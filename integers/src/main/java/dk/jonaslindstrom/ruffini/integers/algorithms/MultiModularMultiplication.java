@@ -0,0 +1,411 @@
+package dk.jonaslindstrom.ruffini.integers.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.algorithms.IntNumberTheoreticTransform;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.integers.structures.BigIntegers;
+import dk.jonaslindstrom.ruffini.integers.structures.BigIntegersModuloN;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Multiply polynomials with integer coefficients, or coefficients modulo some <i>N</i>, using number-theoretic
+ * transforms modulo several word-sized primes.
+ * <p>
+ * The exact integer product is bounded by <i>n A B</i> where <i>n</i> is the length of the shortest factor and
+ * <i>A</i> and <i>B</i> bound the coefficients of the factors. The coefficients are reduced modulo enough primes
+ * <i>p<sub>i</sub> &lt; 2<sup>31</sup></i> with <i>2<sup>k</sup> | p<sub>i</sub> - 1</i> that their product exceeds
+ * this bound, and the product is computed modulo each prime in parallel using an {@link IntNumberTheoreticTransform}.
+ * The coefficients are reconstructed using Garner's algorithm, so the product is computed using <i>O(n log n)</i>
+ * operations per prime for any modulus, including moduli without large roots of unity. The constants used by Garner's
+ * algorithm are precomputed once for each set of primes.
+ * <p>
+ * Primes are searched for as they are needed. For long products, there are only few primes with <i>2<sup>k</sup> |
+ * p - 1</i>, so if their product is too small for the bound, the coefficients of the factor with the largest
+ * coefficients are split in two halves, <i>x = x<sub>0</sub> + 2<sup>s</sup>x<sub>1</sub></i>, and the products with
+ * each half are computed recursively.
+ */
+public class MultiModularMultiplication implements BinaryOperator<Polynomial<BigInteger>> {
+
+    /**
+     * Polynomials where one factor has at most this many coefficients are multiplied directly.
+     */
+    private static final int SCHOOLBOOK_THRESHOLD = 32;
+
+    /**
+     * If the primes available for a product allow fewer than this many bits for the coefficients of the factors, the
+     * product is computed directly.
+     */
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private static final Map<Integer, Primes> primes = new ConcurrentHashMap<>();
+
+    private final Ring<BigInteger> ring;
+    private final BigInteger modulus;
+    private final int maxBits;
+
+    /**
+     * The prefix products of each basis reduced modulo the modulus.
+     */
+    private final Map<Basis, BigInteger[]> reducedPrefixes = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new instance multiplying polynomials with integer coefficients.
+     */
+    public MultiModularMultiplication() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new instance multiplying polynomials with coefficients in <i>ℤ / Nℤ</i>.
+     */
+    public MultiModularMultiplication(BigIntegersModuloN ring) {
+        this(ring, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new instance multiplying polynomials with integer coefficients using primes whose product has at most
+     * about the given number of bits, so products with larger coefficients are split. This is used for testing.
+     */
+    MultiModularMultiplication(int maxBits) {
+        this.ring = BigIntegers.getInstance();
+        this.modulus = null;
+        this.maxBits = maxBits;
+    }
+
+    /**
+     * Create a new instance multiplying polynomials with coefficients in <i>ℤ / Nℤ</i> using primes whose product has
+     * at most about the given number of bits. This is used for testing.
+     */
+    MultiModularMultiplication(BigIntegersModuloN ring, int maxBits) {
+        this.ring = ring;
+        this.modulus = ring.getModulus();
+        this.maxBits = maxBits;
+    }
+
+    @Override
+    public Polynomial<BigInteger> apply(Polynomial<BigInteger> a, Polynomial<BigInteger> b) {
+        BigInteger[] x = coefficients(a);
+        BigInteger[] y = coefficients(b);
+        BigInteger[] result = Math.min(x.length, y.length) <= SCHOOLBOOK_THRESHOLD
+                ? schoolbook(x, y, modulus) : multiModular(x, y, modulus);
+        return Polynomial.fromArray(result, ring);
+    }
+
+    private BigInteger[] coefficients(Polynomial<BigInteger> a) {
+        BigInteger[] coefficients = new BigInteger[a.degree() + 1];
+        Arrays.fill(coefficients, BigInteger.ZERO);
+        a.forEach((i, c) -> coefficients[i] = modulus != null && (c.signum() < 0 || c.compareTo(modulus) >= 0)
+                ? c.mod(modulus) : c);
+        return coefficients;
+    }
+
+    private static BigInteger[] schoolbook(BigInteger[] x, BigInteger[] y, BigInteger modulus) {
+        BigInteger[] result = new BigInteger[x.length + y.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < x.length; i++) {
+            if (x[i].signum() == 0) {
+                continue;
+            }
+            for (int j = 0; j < y.length; j++) {
+                result[i + j] = result[i + j].add(x[i].multiply(y[j]));
+            }
+        }
+        if (modulus != null) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = result[i].mod(modulus);
+            }
+        }
+        return result;
+    }
+
+    private static int maxBitLength(BigInteger[] x) {
+        int bits = 0;
+        for (BigInteger c : x) {
+            bits = Math.max(bits, c.bitLength());
+        }
+        return bits;
+    }
+
+    /**
+     * Compute the product of the given coefficients, reduced modulo the given modulus unless it is <code>null</code>.
+     */
+    private BigInteger[] multiModular(BigInteger[] x, BigInteger[] y, BigInteger modulus) {
+        int length = x.length + y.length - 1;
+        int logLength = 32 - Integer.numberOfLeadingZeros(length - 1);
+        int coefficientBits = maxBitLength(x) + maxBitLength(y);
+        int overhead = 32 - Integer.numberOfLeadingZeros(Math.min(x.length, y.length)) + (modulus == null ? 1 : 0);
+        Basis basis = primes.computeIfAbsent(logLength, Primes::new)
+                .get(Math.min(coefficientBits + overhead, maxBits));
+        if (basis.bits < coefficientBits + overhead) {
+            return split(x, y, modulus, basis.bits - overhead);
+        }
+        int k = basis.primes.size();
+
+        int[][] xLimbs = limbs(x);
+        int[][] yLimbs = limbs(y);
+        int[][] residues = new int[k][];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            Prime prime = basis.primes.get(i);
+            IntNumberTheoreticTransform transform = prime.transform(logLength);
+            int[] u = prime.reduce(x, xLimbs, 1 << logLength);
+            int[] v = prime.reduce(y, yLimbs, 1 << logLength);
+            transform.transform(u);
+            transform.transform(v);
+            for (int j = 0; j < u.length; j++) {
+                u[j] = prime.field.mul(u[j], v[j]);
+            }
+            transform.inverse(u);
+            residues[i] = u;
+        });
+
+        // For modular reduction, the reconstruction is Σ v_i (p_0 ... p_{i-1} mod N). Otherwise, the full product M
+        // is needed to center the result around zero.
+        BigInteger[] prefixes = modulus != null ? reducedPrefixes.computeIfAbsent(basis,
+                b -> Arrays.stream(b.prefixes).map(prefix -> prefix.mod(modulus)).toArray(BigInteger[]::new)) : null;
+
+        BigInteger[] result = new BigInteger[length];
+        IntStream.range(0, length).parallel().forEach(c -> {
+            int[] v = basis.garner(residues, c);
+            if (modulus != null) {
+                BigInteger sum = BigInteger.ZERO;
+                for (int i = 0; i < k; i++) {
+                    sum = sum.add(prefixes[i].multiply(BigInteger.valueOf(v[i])));
+                }
+                result[c] = sum.mod(modulus);
+            } else {
+                BigInteger value = BigInteger.valueOf(v[k - 1]);
+                for (int i = k - 2; i >= 0; i--) {
+                    value = value.multiply(BigInteger.valueOf(basis.primes.get(i).p)).add(BigInteger.valueOf(v[i]));
+                }
+                result[c] = value.compareTo(basis.halfProduct) > 0 ? value.subtract(basis.product) : value;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Compute the product when the available primes only allow the given number of bits for the coefficients of the
+     * factors. The coefficients of the factor with the largest coefficients are split as <i>x<sub>0</sub> +
+     * 2<sup>s</sup>x<sub>1</sub></i> with <i>0 &le; x<sub>0</sub> &lt; 2<sup>s</sup></i>, which also holds for
+     * negative coefficients, and the products with <i>x<sub>0</sub></i> and <i>x<sub>1</sub></i> are computed
+     * recursively.
+     */
+    private BigInteger[] split(BigInteger[] x, BigInteger[] y, BigInteger modulus, int budget) {
+        if (budget < SPLIT_THRESHOLD) {
+            return schoolbook(x, y, modulus);
+        }
+        if (maxBitLength(x) < maxBitLength(y)) {
+            return split(y, x, modulus, budget);
+        }
+
+        int s = maxBitLength(x) / 2;
+        BigInteger mask = BigInteger.ONE.shiftLeft(s).subtract(BigInteger.ONE);
+        BigInteger[] low = Arrays.stream(x).map(c -> c.and(mask)).toArray(BigInteger[]::new);
+        BigInteger[] high = Arrays.stream(x).map(c -> c.shiftRight(s)).toArray(BigInteger[]::new);
+        BigInteger[] result = multiModular(low, y, null);
+        BigInteger[] upper = multiModular(high, y, null);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = result[i].add(upper[i].shiftLeft(s));
+            if (modulus != null) {
+                result[i] = result[i].mod(modulus);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the absolute values of the given integers as big-endian arrays of 32-bit limbs.
+     */
+    private static int[][] limbs(BigInteger[] x) {
+        int[][] limbs = new int[x.length][];
+        for (int i = 0; i < x.length; i++) {
+            byte[] bytes = x[i].abs().toByteArray();
+            int length = (bytes.length + 3) / 4;
+            limbs[i] = new int[length];
+            for (int j = 0; j < bytes.length; j++) {
+                int position = bytes.length - 1 - j;
+                limbs[i][length - 1 - position / 4] |= (bytes[j] & 0xff) << (8 * (position % 4));
+            }
+        }
+        return limbs;
+    }
+
+    /**
+     * The primes <i>p &lt; 2<sup>31</sup></i> with <i>2<sup>k</sup> | p - 1</i> in decreasing order. These are found
+     * as they are needed.
+     */
+    private static class Primes {
+
+        private final int k;
+        private final List<Prime> primes = new ArrayList<>();
+        private long next;
+        private int bits;
+
+        /**
+         * The bases found so far indexed by their size.
+         */
+        private final Map<Integer, Basis> bases = new HashMap<>();
+
+        private Primes(int k) {
+            this.k = k;
+            this.next = (Integer.MAX_VALUE - 1L) >> k;
+        }
+
+        /**
+         * Return the basis of the largest primes such that their product has at least the given number of bits, or
+         * of all primes if there are not enough.
+         */
+        private synchronized Basis get(int bits) {
+            while (this.bits < bits && next > 0) {
+                long p = (next-- << k) + 1;
+                if (BigInteger.valueOf(p).isProbablePrime(64)) {
+                    primes.add(new Prime((int) p));
+                    this.bits += 63 - Long.numberOfLeadingZeros(p);
+                }
+            }
+
+            int size = 0;
+            int total = 0;
+            while (size < primes.size() && total < bits) {
+                total += 31 - Integer.numberOfLeadingZeros(primes.get(size++).p);
+            }
+            return bases.computeIfAbsent(size, l -> new Basis(List.copyOf(primes.subList(0, l))));
+        }
+    }
+
+    /**
+     * A list of primes with the constants used to reconstruct integers from their residues using Garner's algorithm.
+     */
+    private static class Basis {
+
+        private final List<Prime> primes;
+
+        /**
+         * The number of bits guaranteed for the product of the primes.
+         */
+        private final int bits;
+
+        /**
+         * <i>inverses[i][j] = p<sub>j</sub><sup>-1</sup> mod p<sub>i</sub></i> for <i>j &lt; i</i>.
+         */
+        private final int[][] inverses;
+
+        /**
+         * <i>prefixes[i] = p<sub>0</sub> ... p<sub>i-1</sub></i>, the product <i>M</i> of all primes and <i>⌊M /
+         * 2⌋</i>.
+         */
+        private final BigInteger[] prefixes;
+        private final BigInteger product, halfProduct;
+
+        private Basis(List<Prime> primes) {
+            this.primes = primes;
+            int k = primes.size();
+            this.inverses = new int[k][];
+            this.prefixes = new BigInteger[k];
+            int bits = 0;
+            BigInteger product = BigInteger.ONE;
+            for (int i = 0; i < k; i++) {
+                IntPrimeField field = primes.get(i).field;
+                inverses[i] = new int[i];
+                for (int j = 0; j < i; j++) {
+                    inverses[i][j] = field.inv(field.reduce(primes.get(j).p));
+                }
+                prefixes[i] = product;
+                product = product.multiply(BigInteger.valueOf(primes.get(i).p));
+                bits += 31 - Integer.numberOfLeadingZeros(primes.get(i).p);
+            }
+            this.bits = bits;
+            this.product = product;
+            this.halfProduct = product.shiftRight(1);
+        }
+
+        /**
+         * Compute the mixed-radix digits <i>v<sub>i</sub></i> of the residues at the given index, such that the value
+         * is <i>v<sub>0</sub> + v<sub>1</sub>p<sub>0</sub> + v<sub>2</sub>p<sub>0</sub>p<sub>1</sub> + ...</i>.
+         */
+        private int[] garner(int[][] residues, int c) {
+            int k = primes.size();
+            int[] v = new int[k];
+            for (int i = 0; i < k; i++) {
+                IntPrimeField field = primes.get(i).field;
+                int value = residues[i][c];
+                for (int j = 0; j < i; j++) {
+                    value = field.mul(field.sub(value, field.reduce(v[j])), inverses[i][j]);
+                }
+                v[i] = value;
+            }
+            return v;
+        }
+    }
+
+    /**
+     * An NTT-friendly prime with a generator of the multiplicative group and cached transforms.
+     */
+    private static class Prime {
+
+        private final int p;
+        private final IntPrimeField field;
+        private final int generator;
+        private final Map<Integer, IntNumberTheoreticTransform> transforms = new ConcurrentHashMap<>();
+
+        private Prime(int p) {
+            this.p = p;
+            this.field = new IntPrimeField(p);
+
+            // Find the prime factors of p - 1 and the smallest generator
+            List<Integer> factors = new ArrayList<>();
+            int r = p - 1;
+            for (int q = 2; (long) q * q <= r; q++) {
+                if (r % q == 0) {
+                    factors.add(q);
+                    while (r % q == 0) {
+                        r /= q;
+                    }
+                }
+            }
+            if (r > 1) {
+                factors.add(r);
+            }
+            int g = 2;
+            while (true) {
+                int candidate = g;
+                if (factors.stream().allMatch(q -> field.pow(candidate, (p - 1) / q) != 1)) {
+                    break;
+                }
+                g++;
+            }
+            this.generator = g;
+        }
+
+        private IntNumberTheoreticTransform transform(int k) {
+            return transforms.computeIfAbsent(k, l -> new IntNumberTheoreticTransform(field,
+                    field.pow(generator, (p - 1) >> l), 1 << l));
+        }
+
+        /**
+         * Reduce the given integers modulo <i>p</i> using their limbs and pad with zeros to the given length.
+         */
+        private int[] reduce(BigInteger[] x, int[][] limbs, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < x.length; i++) {
+                int value = 0;
+                for (int limb : limbs[i]) {
+                    value = field.reduce(((long) value << 32) | (limb & 0xffffffffL));
+                }
+                result[i] = x[i].signum() < 0 ? field.neg(value) : value;
+            }
+            return result;
+        }
+    }
+
+}
@@ -2,13 +2,20 @@ package dk.jonaslindstrom.ruffini.integers.structures;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.EuclideanDomain;
 import dk.jonaslindstrom.ruffini.common.abstractions.OrderedSet;
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
+import dk.jonaslindstrom.ruffini.integers.algorithms.LehmerGCD;
 
 import java.math.BigInteger;
 import java.util.Comparator;
 
 public class BigIntegers implements EuclideanDomain<BigInteger>, OrderedSet<BigInteger> {
 
+    /**
+     * Lehmer's algorithm is used for gcds of non-negative integers with at least this many bits.
+     */
+    private static final int LEHMER_THRESHOLD = 128;
+
     private static final BigIntegers instance = new BigIntegers();
 
     private BigIntegers() {
@@ -65,6 +72,17 @@ public class BigIntegers implements EuclideanDomain<BigInteger>, OrderedSet<BigI
         return new Pair<>(q, r);
     }
 
+    /**
+     * Use {@link LehmerGCD} for large non-negative integers.
+     */
+    @Override
+    public EuclideanAlgorithm.Result<BigInteger> extendedGcd(BigInteger a, BigInteger b) {
+        if (a.signum() < 0 || b.signum() < 0 || Math.max(a.bitLength(), b.bitLength()) < LEHMER_THRESHOLD) {
+            return null;
+        }
+        return new LehmerGCD().apply(a, b);
+    }
+
     @Override
     public BigInteger norm(BigInteger a) {
         return a.abs();
@@ -1,9 +1,18 @@
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
+import dk.jonaslindstrom.ruffini.common.util.TestUtils;
+import dk.jonaslindstrom.ruffini.integers.algorithms.LehmerGCD;
+import dk.jonaslindstrom.ruffini.integers.algorithms.MultiModularMultiplication;
 import dk.jonaslindstrom.ruffini.integers.structures.BigIntegers;
+import dk.jonaslindstrom.ruffini.integers.structures.BigIntegersModuloN;
 import dk.jonaslindstrom.ruffini.integers.structures.Integers;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
 
 public class TestIntegers {
 
@@ -33,5 +42,61 @@ public class TestIntegers {
         Assert.assertEquals(x.negate(), integers.negate(x));
     }
 
+    @Test
+    public void test_multi_modular_multiplication() {
+        Random random = new Random(1234);
+        BigInteger modulus = new BigInteger("30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd47", 16);
+        BigIntegersModuloN field = new BigIntegersModuloN(modulus);
+
+        Polynomial<BigInteger> a = new Polynomial<>(300, i -> new BigInteger(254, random).mod(modulus));
+        Polynomial<BigInteger> b = new Polynomial<>(200, i -> new BigInteger(254, random).mod(modulus));
+        Assert.assertEquals(new PolynomialRingOverRing<>(field).multiply(a, b),
+                new PolynomialRingOverRing<>(field, new MultiModularMultiplication(field)).multiply(a, b));
+
+        // Integer coefficients of both signs
+        BigIntegers integers = BigIntegers.getInstance();
+        Polynomial<BigInteger> c = new Polynomial<>(100,
+                i -> new BigInteger(100, random).subtract(BigInteger.ONE.shiftLeft(99)));
+        Polynomial<BigInteger> d = new Polynomial<>(80, i -> new BigInteger(70, random).negate());
+        Assert.assertEquals(new PolynomialRingOverRing<>(integers).multiply(c, d),
+                new MultiModularMultiplication().apply(c, d));
+
+        // Coefficients too large for the primes found initially, also modulo a large modulus
+        Polynomial<BigInteger> e = new Polynomial<>(40, i -> new BigInteger(9000, random).negate());
+        Polynomial<BigInteger> f = new Polynomial<>(45, i -> new BigInteger(9000, random));
+        Assert.assertEquals(new PolynomialRingOverRing<>(integers).multiply(e, f),
+                new MultiModularMultiplication().apply(e, f));
+
+        BigInteger largeModulus = BigInteger.ONE.shiftLeft(9000).add(BigInteger.valueOf(1233));
+        BigIntegersModuloN largeRing = new BigIntegersModuloN(largeModulus);
+        Polynomial<BigInteger> g = f.mapCoefficients(x -> x.mod(largeModulus));
+        Polynomial<BigInteger> h = e.mapCoefficients(x -> x.mod(largeModulus));
+        Assert.assertEquals(new PolynomialRingOverRing<>(largeRing).multiply(g, h),
+                new MultiModularMultiplication(largeRing).apply(g, h));
+    }
+
+    @Test
+    public void testLehmerGCD() {
+        Random random = new Random(1234);
+        BigInteger g = new BigInteger(300, random);
+        for (int i = 0; i < 20; i++) {
+            BigInteger a = new BigInteger(200 + 50 * i, random);
+            BigInteger b = new BigInteger(1000 - 40 * i, random);
+            if (i % 2 == 0) {
+                a = a.multiply(g);
+                b = b.multiply(g);
+            }
+
+            // Compare with the classical algorithm
+            EuclideanAlgorithm.Result<BigInteger> expected =
+                    new EuclideanAlgorithm<>(new TestUtils.TestBigIntegers()).applyExtended(a, b);
+            for (EuclideanAlgorithm.Result<BigInteger> actual : List.of(new LehmerGCD().apply(a, b),
+                    new EuclideanAlgorithm<>(BigIntegers.getInstance()).applyExtended(a, b))) {
+                Assert.assertEquals(expected, actual);
+                Assert.assertEquals(a.gcd(b), actual.gcd());
+                Assert.assertEquals(actual.gcd(), a.multiply(actual.x()).add(b.multiply(actual.y())));
+            }
+        }
+    }
 
 }
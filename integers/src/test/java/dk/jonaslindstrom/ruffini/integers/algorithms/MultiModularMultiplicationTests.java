@@ -0,0 +1,41 @@
+package dk.jonaslindstrom.ruffini.integers.algorithms;
+
+import dk.jonaslindstrom.ruffini.integers.structures.BigIntegers;
+import dk.jonaslindstrom.ruffini.integers.structures.BigIntegersModuloN;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class MultiModularMultiplicationTests {
+
+    @Test
+    public void testSplitCoefficients() {
+        Random random = new Random(1234);
+        BigIntegers integers = BigIntegers.getInstance();
+
+        // Coefficients of both signs, so the low halves are non-negative and the high halves are rounded down
+        Polynomial<BigInteger> a = new Polynomial<>(60,
+                i -> new BigInteger(300, random).subtract(BigInteger.ONE.shiftLeft(299)));
+        Polynomial<BigInteger> b = new Polynomial<>(50, i -> new BigInteger(250, random).negate());
+        Polynomial<BigInteger> expected = new PolynomialRingOverRing<>(integers).multiply(a, b);
+
+        // The bits allowed for the primes are too few for the coefficients, so they are split until they fit, or
+        // until the product is computed directly
+        for (int maxBits : new int[]{100, 200, 40}) {
+            Assert.assertEquals(expected, new MultiModularMultiplication(maxBits).apply(a, b));
+            Assert.assertEquals(expected, new MultiModularMultiplication(maxBits).apply(b, a));
+        }
+
+        BigInteger modulus = BigInteger.ONE.shiftLeft(280).add(BigInteger.valueOf(35));
+        BigIntegersModuloN ring = new BigIntegersModuloN(modulus);
+        Polynomial<BigInteger> c = a.mapCoefficients(x -> x.mod(modulus));
+        Polynomial<BigInteger> d = b.mapCoefficients(x -> x.mod(modulus));
+        Assert.assertEquals(new PolynomialRingOverRing<>(ring).multiply(c, d),
+                new MultiModularMultiplication(ring, 100).apply(c, d));
+    }
+
+}
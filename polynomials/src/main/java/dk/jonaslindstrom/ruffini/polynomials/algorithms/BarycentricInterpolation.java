@@ -0,0 +1,74 @@
+package dk.jonaslindstrom.ruffini.polynomials.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.util.ArrayUtils;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRing;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Evaluate the polynomial interpolating a fixed set of distinct points <i>x<sub>0</sub>, ..., x<sub>n-1</sub></i>
+ * at a new point without computing its coefficients. This uses the first form of the barycentric formula,
+ * <i>p(t) = N(t) Σ w<sub>i</sub> y<sub>i</sub> / (t - x<sub>i</sub>)</i>, where <i>N</i> is the product of all
+ * <i>x - x<sub>i</sub></i> and <i>w<sub>i</sub></i> are the barycentric weights (see
+ * {@link PolynomialInterpolation#getWeights()}).
+ * <p>
+ * The weights only depend on the points, so they are computed once. After that, each evaluation uses <i>O(n)</i>
+ * multiplications and a single inversion.
+ */
+public class BarycentricInterpolation<E> implements BiFunction<List<E>, E, E> {
+
+    private final Field<E> field;
+    private final List<E> x;
+    private final List<E> weights;
+
+    /**
+     * Create a new instance where the weights are computed using fast interpolation.
+     */
+    public BarycentricInterpolation(PolynomialRing<E> polynomialRing, List<E> x) {
+        this(polynomialRing.getBaseField(), x, new PolynomialInterpolation<>(polynomialRing, x).getWeights());
+    }
+
+    /**
+     * Create a new instance with the given barycentric weights for the points.
+     */
+    public BarycentricInterpolation(Field<E> field, List<E> x, List<E> weights) {
+        if (x.size() != weights.size()) {
+            throw new IllegalArgumentException("There must be a weight for each point");
+        }
+        this.field = field;
+        this.x = List.copyOf(x);
+        this.weights = List.copyOf(weights);
+    }
+
+    /**
+     * Evaluate the polynomial interpolating the points <i>(x<sub>i</sub>, y<sub>i</sub>)</i> at <i>t</i>.
+     */
+    @Override
+    public E apply(List<E> y, E t) {
+        if (y.size() != x.size()) {
+            throw new IllegalArgumentException("x and y must have the same size");
+        }
+
+        List<E> d = ArrayUtils.populate(x.size(), i -> field.subtract(t, x.get(i)));
+        for (int i = 0; i < d.size(); i++) {
+            if (field.isZero(d.get(i))) {
+                return y.get(i);
+            }
+        }
+
+        List<E> dInverse = field.invertAll(d);
+        E n = field.identity();
+        E sum = field.zero();
+        for (int i = 0; i < d.size(); i++) {
+            n = field.multiply(n, d.get(i));
+            sum = field.add(sum, field.multiply(field.multiply(weights.get(i), y.get(i)), dInverse.get(i)));
+        }
+        return field.multiply(n, sum);
+    }
+
+    public List<E> getWeights() {
+        return weights;
+    }
+}
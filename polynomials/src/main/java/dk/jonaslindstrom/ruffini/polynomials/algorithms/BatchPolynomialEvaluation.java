@@ -12,14 +12,19 @@ import java.util.function.Function;
  * <p>
  * The complexity is <i>O(M(d) + M(n) log(n))</i> where <i>d</i> is the degree of the polynomial,
  * <i>n</i> is the number of inputs and <i>M(x)</i> is the complexity of multiplying two polynomials of
- * degree <i>x</i>.
+ * degree <i>x</i>. The {@link SubproductTree} for the inputs is computed once, so an instance should be reused when
+ * evaluating many polynomials at the same inputs.
  */
 public class BatchPolynomialEvaluation<E> implements Function<Polynomial<E>, List<E>> {
 
-    private final BinaryTree.SubproductTree<E> tree;
+    private final SubproductTree<E> tree;
 
     public BatchPolynomialEvaluation(PolynomialRingOverRing<E> polynomialRing, List<E> inputs) {
-        this.tree = new BinaryTree.SubproductTree<>(inputs, polynomialRing);
+        this(new SubproductTree<>(polynomialRing, inputs));
+    }
+
+    public BatchPolynomialEvaluation(SubproductTree<E> tree) {
+        this.tree = tree;
     }
 
     @Override
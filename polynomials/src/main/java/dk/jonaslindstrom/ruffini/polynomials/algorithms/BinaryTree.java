@@ -16,7 +16,11 @@ import static dk.jonaslindstrom.ruffini.common.util.MathUtils.isPowerOfTwo;
 /**
  * This represents a labeled binary tree where the label of an internal node is the result of an operation on the labels
  * of its children.
+ *
+ * @deprecated Multipoint evaluation and interpolation now use {@link
+ * dk.jonaslindstrom.ruffini.polynomials.algorithms.SubproductTree}, which allows any number of points.
  */
+@Deprecated
 public class BinaryTree<L> {
     private final Node root;
     private final BinaryOperator<L> operator;
@@ -41,7 +45,10 @@ public class BinaryTree<L> {
     /**
      * A binary tree where the leafs are x-l_i for a set of constants (l_0, ..., l_{n-1}) and internal nodes are the product
      * of their children.
+     *
+     * @deprecated Use {@link dk.jonaslindstrom.ruffini.polynomials.algorithms.SubproductTree} instead.
      */
+    @Deprecated
     public static class SubproductTree<E> extends BinaryTree<Polynomial<E>> {
 
         private final PolynomialRingOverRing<E> polynomialRing;
@@ -1,34 +1,38 @@
 package dk.jonaslindstrom.ruffini.polynomials.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.matrices.algorithms.Determinant;
+import dk.jonaslindstrom.ruffini.common.matrices.algorithms.BerkowitzAlgorithm;
 import dk.jonaslindstrom.ruffini.common.matrices.elements.Matrix;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
-import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
 
-import java.util.Objects;
+import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Compute the characteristic polynomial <i>det(xI - A)</i> of a square matrix using Berkowitz' algorithm. This works
+ * over any commutative ring and avoids computing a determinant over the polynomial ring.
+ */
 public class CharacteristicPolynomial<E> implements Function<Matrix<E>, Polynomial<E>> {
 
     private final Ring<E> ring;
-    private final PolynomialRingOverRing<E> polynomialRing;
+    private final BerkowitzAlgorithm<E> berkowitz;
 
     public CharacteristicPolynomial(Ring<E> ring) {
         this.ring = ring;
-        this.polynomialRing = new PolynomialRingOverRing<>(ring);
+        this.berkowitz = new BerkowitzAlgorithm<>(ring);
     }
 
     @Override
     public Polynomial<E> apply(Matrix<E> a) {
         assert (a.getHeight() == a.getWidth());
 
-        Matrix<Polynomial<E>> d = Matrix.of(a.getHeight(), a.getHeight(),
-                (i, j) -> (Objects.equals(i, j) ? Polynomial
-                        .of(ring.negate(a.get(i, j)), ring.identity())
-                        : Polynomial.constant(ring.negate(a.get(i, j)))));
-
-        return new Determinant<>(polynomialRing).apply(d);
+        int n = a.getHeight();
+        List<E> coefficients = berkowitz.characteristicPolynomial(a);
+        Polynomial.Builder<E> builder = new Polynomial.Builder<>(ring);
+        for (int i = 0; i <= n; i++) {
+            builder.set(n - i, coefficients.get(i));
+        }
+        return builder.build();
     }
 
 }
@@ -1,5 +1,6 @@
 package dk.jonaslindstrom.ruffini.polynomials.algorithms;
 
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
@@ -9,13 +10,19 @@ import java.util.function.BiFunction;
 /**
  * Algorthm 9.5 from Modern Computer Algebra. This is asymptotically faster than the usual division algorithm, and in
  * particular if the degree of the divisor is almost as large as the degree of the dividend.
+ * <p>
+ * All products are computed using the multiplication of the given polynomial ring, so with a fast multiplication
+ * algorithm, dividing a polynomial of degree <i>2n</i> by one of degree <i>n</i> costs <i>O(M(n))</i>. The leading
+ * coefficient of the divisor must be invertible.
  */
 public class FastDivision<E> implements BiFunction<Polynomial<E>, Polynomial<E>, Pair<Polynomial<E>, Polynomial<E>>> {
 
     private final PolynomialRingOverRing<E> ring;
+    private final Inversion<E> inversion;
 
     public FastDivision(PolynomialRingOverRing<E> ring) {
         this.ring = ring;
+        this.inversion = new Inversion<>(ring.getRing(), ring::multiply);
     }
 
     @Override
@@ -24,21 +31,21 @@ public class FastDivision<E> implements BiFunction<Polynomial<E>, Polynomial<E>,
             return Pair.of(ring.zero(), a);
         }
 
+        Ring<E> baseRing = ring.getRing();
         int m = a.degree() - b.degree();
+        int n = b.degree();
 
-        // Compute the inverse of b(x) mod x^{m+1}
-        Polynomial<E> bReverseInverse = new Inversion<>(ring.getRing()).apply(b.reverse(), m + 1);
+        // Compute the inverse of rev(b) mod x^{m+1}
+        Polynomial<E> bReverseInverse = inversion.apply(b.reverse(), m + 1);
 
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(ring.getRing());
-        a.reverse().forEach((i, ai) -> {
-            bReverseInverse.forEach((j, bj) -> {
-                if (i + j < m + 1) {
-                    builder.addTo(i + j, ring.getRing().multiply(ai, bj));
-                }
-            });
-        });
-        Polynomial<E> q = builder.build().reverse();
+        // rev(q) = rev(a) rev(b)^{-1} mod x^{m+1}. The constant term of rev(q) is non-zero, so rev(q) has degree m
+        // unless the lowest coefficients of q are zero.
+        Polynomial<E> qReverse = ring.multiply(a.reverse().truncate(m + 1, baseRing), bReverseInverse)
+                .truncate(m + 1, baseRing);
+        Polynomial<E> q = qReverse.reverse().shift(m - qReverse.degree(), baseRing);
 
-        return Pair.of(q, ring.subtract(a, ring.multiply(b, q)));
+        // The remainder has degree less than n, so only the lowest n coefficients of bq are needed
+        Polynomial<E> bq = ring.multiply(b.truncate(n, baseRing), q.truncate(n, baseRing)).truncate(n, baseRing);
+        return Pair.of(q, ring.subtract(a.truncate(n, baseRing), bq));
     }
 }
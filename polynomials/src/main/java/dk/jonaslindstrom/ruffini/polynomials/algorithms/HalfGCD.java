@@ -0,0 +1,177 @@
+package dk.jonaslindstrom.ruffini.polynomials.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
+import dk.jonaslindstrom.ruffini.common.util.Pair;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRing;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Compute the greatest common divisor and Bezout coefficients of two polynomials over a field using the Half-GCD
+ * algorithm of Knuth and Schönhage in the formulation of K. Thull and C. Yap (1990). "A Unified Approach to HGCD
+ * Algorithms for polynomials and integers".
+ * <p>
+ * The quotients in the first half of the remainder sequence of polynomials of degree <i>n</i> only depend on the top
+ * half of their coefficients, so the matrix mapping the inputs to the remainders of degree around <i>n/2</i> is
+ * computed recursively from the top coefficients. With a fast multiplication algorithm, the gcd is computed using
+ * <i>O(M(n) log n)</i> operations instead of <i>O(n<sup>2</sup>)</i>. The quotients are exactly those of the
+ * classical Euclidean algorithm, so the result is the same as for {@link EuclideanAlgorithm}.
+ */
+public class HalfGCD<E> implements BiFunction<Polynomial<E>, Polynomial<E>, EuclideanAlgorithm.Result<Polynomial<E>>> {
+
+    /**
+     * Below this degree, the remainder sequence is computed using classical division steps.
+     */
+    private static final int THRESHOLD = 48;
+
+    private final PolynomialRing<E> ring;
+    private final Field<E> field;
+    private final BinaryOperator<Polynomial<E>> multiplication;
+
+    /**
+     * Create a new instance where products are computed using the {@link KaratsubaAlgorithm}.
+     */
+    public HalfGCD(PolynomialRing<E> ring) {
+        this(ring, new KaratsubaAlgorithm<>(ring));
+    }
+
+    public HalfGCD(PolynomialRing<E> ring, BinaryOperator<Polynomial<E>> multiplication) {
+        this.ring = ring;
+        this.field = ring.getBaseField();
+        this.multiplication = multiplication;
+    }
+
+    @Override
+    public EuclideanAlgorithm.Result<Polynomial<E>> apply(Polynomial<E> a, Polynomial<E> b) {
+        Matrix<E> M = null;
+        Polynomial<E> r0 = a;
+        Polynomial<E> r1 = b;
+        while (degree(r1) >= 0) {
+            if (degree(r0) > degree(r1) && degree(r0) >= THRESHOLD) {
+                Matrix<E> R = hgcd(r0, r1);
+                if (R != null) {
+                    Polynomial<E>[] r = apply(R, r0, r1);
+                    r0 = r[0];
+                    r1 = r[1];
+                    M = multiply(R, M);
+                    if (degree(r1) < 0) {
+                        break;
+                    }
+                }
+            }
+
+            Pair<Polynomial<E>, Polynomial<E>> division = ring.divide(r0, r1);
+            r0 = r1;
+            r1 = division.second;
+            M = step(division.first, M);
+        }
+
+        if (M == null) {
+            return new EuclideanAlgorithm.Result<>(r0, ring.identity(), ring.zero());
+        }
+        return new EuclideanAlgorithm.Result<>(r0, M.a, M.b);
+    }
+
+    /**
+     * Given <i>a, b</i> with <i>n = deg a &gt; deg b</i>, return a matrix <i>M</i> mapping <i>(a, b)</i> to
+     * consecutive remainders <i>(c, d)</i> in their remainder sequence with <i>deg c &ge; ⌈n/2⌉ &gt; deg d</i>. The
+     * identity is represented by <code>null</code>.
+     */
+    private Matrix<E> hgcd(Polynomial<E> a, Polynomial<E> b) {
+        int n = degree(a);
+        int m = (n + 1) / 2;
+        if (degree(b) < m) {
+            return null;
+        }
+
+        if (n < THRESHOLD) {
+            Matrix<E> R = null;
+            while (degree(b) >= m) {
+                Pair<Polynomial<E>, Polynomial<E>> division = ring.divide(a, b);
+                a = b;
+                b = division.second;
+                R = step(division.first, R);
+            }
+            return R;
+        }
+
+        Matrix<E> R = hgcd(a.shift(-m, field), b.shift(-m, field));
+        Polynomial<E>[] r = apply(R, a, b);
+        if (degree(r[1]) < m) {
+            return R;
+        }
+
+        Pair<Polynomial<E>, Polynomial<E>> division = ring.divide(r[0], r[1]);
+        Polynomial<E> c = r[1];
+        Polynomial<E> d = division.second;
+        R = step(division.first, R);
+        if (degree(d) < m) {
+            return R;
+        }
+
+        int k = 2 * m - degree(c);
+        Matrix<E> S = hgcd(c.shift(-k, field), d.shift(-k, field));
+        return multiply(S, R);
+    }
+
+    /**
+     * The degree of the given polynomial or -1 if it is zero.
+     */
+    private int degree(Polynomial<E> p) {
+        int degree = p.degree();
+        if (degree == 0) {
+            E c = p.getConstant();
+            if (c == null || field.isZero(c)) {
+                return -1;
+            }
+        }
+        return degree;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Polynomial<E>[] apply(Matrix<E> M, Polynomial<E> a, Polynomial<E> b) {
+        if (M == null) {
+            return new Polynomial[]{a, b};
+        }
+        return new Polynomial[]{
+                ring.add(multiplication.apply(M.a, a), multiplication.apply(M.b, b)),
+                ring.add(multiplication.apply(M.c, a), multiplication.apply(M.d, b))};
+    }
+
+    /**
+     * Return <i>SR</i>.
+     */
+    private Matrix<E> multiply(Matrix<E> S, Matrix<E> R) {
+        if (S == null) {
+            return R;
+        } else if (R == null) {
+            return S;
+        }
+        return new Matrix<>(
+                ring.add(multiplication.apply(S.a, R.a), multiplication.apply(S.b, R.c)),
+                ring.add(multiplication.apply(S.a, R.b), multiplication.apply(S.b, R.d)),
+                ring.add(multiplication.apply(S.c, R.a), multiplication.apply(S.d, R.c)),
+                ring.add(multiplication.apply(S.c, R.b), multiplication.apply(S.d, R.d)));
+    }
+
+    /**
+     * Return <i>QR</i> where <i>Q = [[0, 1], [1, -q]]</i> is the matrix of a single division step with quotient
+     * <i>q</i>.
+     */
+    private Matrix<E> step(Polynomial<E> q, Matrix<E> R) {
+        if (R == null) {
+            return new Matrix<>(ring.zero(), ring.identity(), ring.identity(), ring.negate(q));
+        }
+        return new Matrix<>(R.c, R.d, ring.subtract(R.a, multiplication.apply(q, R.c)),
+                ring.subtract(R.b, multiplication.apply(q, R.d)));
+    }
+
+    /**
+     * The matrix <i>[[a, b], [c, d]]</i>.
+     */
+    private record Matrix<E>(Polynomial<E> a, Polynomial<E> b, Polynomial<E> c, Polynomial<E> d) {
+    }
+}
@@ -1,59 +1,72 @@
 package dk.jonaslindstrom.ruffini.polynomials.algorithms;
 
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
-import dk.jonaslindstrom.ruffini.common.util.MathUtils;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
 
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 
 /**
- * Assuming f(0) = 1, this computes g such that fg = 1 (mod x^l).
- * This is based on Algorithm 9.3 in Modern Computer Algebra.
+ * Given a polynomial <i>f</i> where <i>f(0)</i> is invertible, this computes <i>g</i> such that <i>fg = 1 (mod
+ * x<sup>l</sup>)</i>. This is based on Algorithm 9.3 in Modern Computer Algebra.
+ * <p>
+ * The precision is doubled in each Newton step: If <i>fg = 1 (mod x<sup>k</sup>)</i> then <i>g' = g - g(fg - 1)</i>
+ * satisfies <i>fg' = 1 (mod x<sup>2k</sup>)</i>. Since the lowest <i>k</i> coefficients of <i>fg - 1</i> are zero,
+ * only the middle coefficients <i>k, ..., 2k - 1</i> of <i>fg</i> are used, and only the lowest <i>k</i> coefficients
+ * of the second product, so the operands are truncated accordingly. With a fast multiplication algorithm, the total
+ * cost is <i>O(M(l))</i>.
  */
 public class Inversion<E> implements BiFunction<Polynomial<E>, Integer, Polynomial<E>> {
 
     private final Ring<E> ring;
+    private final BinaryOperator<Polynomial<E>> multiplication;
 
     public Inversion(Ring<E> ring) {
+        this(ring, new PolynomialRingOverRing<>(ring)::multiply);
+    }
+
+    /**
+     * Create a new instance where polynomials are multiplied using the given algorithm, eg. the multiplication of a
+     * {@link dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingKaratsuba}.
+     */
+    public Inversion(Ring<E> ring, BinaryOperator<Polynomial<E>> multiplication) {
         this.ring = ring;
+        this.multiplication = multiplication;
     }
 
+    /**
+     * @throws NotInvertibleException If <i>f(0)</i> is not invertible.
+     */
     @Override
     public Polynomial<E> apply(Polynomial<E> f, Integer l) {
-        Polynomial<E> g = Polynomial.constant(ring.identity());
-        int r = MathUtils.ceilLog2(l);
-        for (int i = 1; i <= r; i++) {
-            g = iterate(f, g, i);
+        E f0 = f.getConstant();
+        Polynomial<E> g = Polynomial.constant(inverse(f0 == null ? ring.zero() : f0));
+
+        for (int k = 1; k < l; k *= 2) {
+            int precision = Math.min(2 * k, l);
+
+            // The coefficients of fg - 1 of degree k, ..., precision - 1
+            Polynomial<E> e = multiplication.apply(f.truncate(precision, ring), g).shift(-k, ring)
+                    .truncate(precision - k, ring);
+
+            // The correction g e has degree at least k, so it does not overlap with g
+            Polynomial<E> correction = multiplication.apply(g.truncate(precision - k, ring), e)
+                    .truncate(precision - k, ring).shift(k, ring);
+            g = g.add(correction.mapCoefficients(ring::negate), ring);
         }
         return g;
     }
 
-    private Polynomial<E> iterate(Polynomial<E> f, Polynomial<E> g, int i) {
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(this.ring);
-
-        g.forEach((j, gj) -> {
-            builder.addTo(j, ring.doubling(gj));
-        });
-
-        int limit = 1 << i;
-        g.forEach((k, gk) -> {
-            g.forEach((l, gl) -> {
-                if (k <= l && k + l < limit) {
-                    E gSquared = ring.multiply(gk, gl);
-                    f.forEach((j, fj) -> {
-                        int power = j + k + l;
-                        if (power < limit) {
-                            E term = ring.multiply(gSquared, fj);
-                            if (!k.equals(l)) {
-                                term = ring.doubling(term);
-                            }
-                            builder.addTo(power, ring.negate(term));
-                        }
-                    });
-                }
-            });
-        });
-
-        return builder.build();
+    private E inverse(E a) {
+        if (ring.isIdentity(a)) {
+            return a;
+        }
+        if (ring instanceof Field<E> field && !ring.isZero(a)) {
+            return field.invert(a);
+        }
+        throw new NotInvertibleException(a);
     }
 }
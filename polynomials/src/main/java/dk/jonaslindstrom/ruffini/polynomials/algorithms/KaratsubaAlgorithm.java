@@ -1,82 +1,313 @@
 package dk.jonaslindstrom.ruffini.polynomials.algorithms;
 
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BinaryOperator;
 
 /**
  * The Karatsuba algorithm for multiplying two polynomials. The algorithm was originally presented in A. Karatsuba and
  * Yu. Ofman (1962). "Multiplication of Many-Digital Numbers by Automatic Computers". Proceedings of the USSR Academy of
  * Sciences 145, and has runtime <i>O(n<sup>log 3</sup>) = O(n<sup>1.585</sup>)</i>.
+ * <p>
+ * The product is computed on arrays of coefficients. Once one of the factors is small, the remaining product is
+ * computed using schoolbook multiplication, and if the factors have very different lengths, the longest is split into
+ * blocks of the length of the shortest. Over fields where 2 and 3 are invertible, large balanced products are split
+ * in three using the Toom-Cook algorithm with evaluation points <i>0, 1, -1, -2</i> and <i>∞</i> and the
+ * interpolation sequence of M. Bodrato (2007), which has runtime <i>O(n<sup>log<sub>3</sub> 5</sup>) =
+ * O(n<sup>1.465</sup>)</i>. The products at the top levels of the recursion are computed in parallel.
+ * <p>
+ * If the coefficients are in an {@link IntPrimeField} or a {@link LongPrimeField}, or in a {@link PrimitivePrimeField}
+ * backed by one, the product is computed on arrays of <code>long</code>s without boxing.
  */
 public class KaratsubaAlgorithm<E> implements BinaryOperator<Polynomial<E>> {
 
-    private final PolynomialRingOverRing<E> polynomialRing;
+    /**
+     * Products where one factor has at most this many coefficients are computed using schoolbook multiplication.
+     */
+    static final int SCHOOLBOOK_THRESHOLD = 32;
+
+    /**
+     * Balanced products where both factors have at least this many coefficients are computed using Toom-Cook.
+     */
+    private static final int TOOM_THRESHOLD = 96;
+
+    /**
+     * Products where the longest factor has fewer coefficients than this are never computed in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 128;
+
+    private final Ring<E> ring;
+    private final int parallelLevels;
+    private final E half, third;
+    private final PrimitiveKaratsuba primitive;
 
     public KaratsubaAlgorithm(PolynomialRingOverRing<E> polynomialRing) {
-        this.polynomialRing = polynomialRing;
+        this.ring = polynomialRing.getRing();
+        int cores = ForkJoinPool.getCommonPoolParallelism();
+        this.parallelLevels = cores > 1 ? (int) Math.ceil(Math.log(cores) / Math.log(3)) : 0;
+
+        Ring<?> primitiveField = PrimitivePrimeField.unwrap(ring);
+        this.primitive = primitiveField instanceof IntPrimeField || primitiveField instanceof LongPrimeField
+                ? new PrimitiveKaratsuba(primitiveField, parallelLevels) : null;
+
+        E two = ring.add(ring.identity(), ring.identity());
+        E three = ring.add(two, ring.identity());
+        if (ring instanceof Field<E> field && !ring.isZero(two) && !ring.isZero(three)) {
+            this.half = field.invert(two);
+            this.third = field.invert(three);
+        } else {
+            this.half = null;
+            this.third = null;
+        }
+    }
+
+    @Override
+    public Polynomial<E> apply(Polynomial<E> a, Polynomial<E> b) {
+        if (Math.min(a.degree(), b.degree()) < SCHOOLBOOK_THRESHOLD || !a.isDense() || !b.isDense()) {
+            return a.multiply(b, ring);
+        }
+
+        Object[] x = a.toArray(ring.zero());
+        Object[] y = b.toArray(ring.zero());
+        if (primitive != null) {
+            return Polynomial.fromArray(primitive.multiply(x, y), ring);
+        }
+        Slice z = new Slice(new Object[x.length + y.length - 1], 0, x.length + y.length - 1);
+        multiply(new Slice(x, 0, x.length), new Slice(y, 0, y.length), z, 0);
+        return Polynomial.fromArray(z.entries, ring);
     }
 
-    private Polynomial<E> upper(Polynomial<E> p, int n) {
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(polynomialRing.getRing());
-        for (int i = n; i <= p.degree(); i++) {
-            if (Objects.nonNull(p.getCoefficient(i))) {
-                builder.set(i - n, p.getCoefficient(i));
+    /**
+     * Compute <i>Z = XY</i>. The length of <i>Z</i> must be the sum of the lengths of <i>X</i> and <i>Y</i> minus one.
+     */
+    private void multiply(Slice X, Slice Y, Slice Z, int level) {
+        if (X.length < Y.length) {
+            multiply(Y, X, Z, level);
+            return;
+        }
+
+        int n = X.length;
+        int m = Y.length;
+        if (m <= SCHOOLBOOK_THRESHOLD) {
+            schoolbook(X, Y, Z);
+        } else if (m <= (n + 1) / 2) {
+            unbalanced(X, Y, Z, level);
+        } else if (third != null && m >= TOOM_THRESHOLD && m > 2 * ((n + 2) / 3)) {
+            toom3(X, Y, Z, level);
+        } else {
+            karatsuba(X, Y, Z, level);
+        }
+    }
+
+    /**
+     * Compute the given products, in parallel if at the top levels of the recursion. Each product is given as an
+     * array <i>{X, Y, Z}</i>.
+     */
+    private void products(int level, int n, Slice[]... products) {
+        if (level < parallelLevels && n >= PARALLEL_THRESHOLD) {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (Slice[] product : products) {
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        multiply(product[0], product[1], product[2], level + 1);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (Slice[] product : products) {
+                multiply(product[0], product[1], product[2], level + 1);
             }
         }
-        return builder.build();
     }
 
-    private Polynomial<E> lower(Polynomial<E> p, int n) {
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(polynomialRing.getRing());
-        for (int i = 0; i < n; i++) {
-            if (Objects.nonNull(p.getCoefficient(i))) {
-                builder.set(i, p.getCoefficient(i));
+    private void schoolbook(Slice X, Slice Y, Slice Z) {
+        Z.fill(ring.zero());
+        for (int i = 0; i < X.length; i++) {
+            E xi = get(X, i);
+            if (ring.isZero(xi)) {
+                continue;
+            }
+            for (int j = 0; j < Y.length; j++) {
+                Z.set(i + j, ring.add(get(Z, i + j), ring.multiply(xi, get(Y, j))));
             }
         }
-        return builder.build();
     }
 
-    @Override
-    public Polynomial<E> apply(Polynomial<E> a, Polynomial<E> b) {
-        int n = Math.max(a.degree(), b.degree()) + 1;
-        if (n <= 2) {
-            return polynomialRing.multiply(a, b);
+    /**
+     * Compute <i>Z = XY</i> where <i>Y</i> is at most half as long as <i>X</i> by splitting <i>X</i> into blocks of
+     * the same length as <i>Y</i>.
+     */
+    private void unbalanced(Slice X, Slice Y, Slice Z, int level) {
+        int m = Y.length;
+        int blocks = (X.length + m - 1) / m;
+        Slice[][] products = new Slice[blocks][];
+        for (int i = 0; i < blocks; i++) {
+            Slice block = X.sub(i * m, Math.min(X.length, (i + 1) * m));
+            products[i] = new Slice[]{block, Y, Slice.of(block.length + m - 1)};
         }
+        products(level, X.length, products);
 
-        int m = n / 2;
+        Z.fill(ring.zero());
+        for (int i = 0; i < blocks; i++) {
+            addTo(Z, i * m, products[i][2]);
+        }
+    }
 
-        Polynomial<E> a_upper = upper(a, m);
-        Polynomial<E> a_lower = lower(a, m);
+    /**
+     * Compute <i>Z = XY</i> where <i>X = X<sub>0</sub> + X<sub>1</sub>t<sup>h</sup></i> and <i>Y = Y<sub>0</sub> +
+     * Y<sub>1</sub>t<sup>h</sup></i> as <i>P<sub>0</sub> + (P<sub>1</sub> - P<sub>0</sub> - P<sub>2</sub>)t<sup>h</sup> +
+     * P<sub>2</sub>t<sup>2h</sup></i> where <i>P<sub>0</sub> = X<sub>0</sub>Y<sub>0</sub></i>, <i>P<sub>2</sub> =
+     * X<sub>1</sub>Y<sub>1</sub></i> and <i>P<sub>1</sub> = (X<sub>0</sub> + X<sub>1</sub>)(Y<sub>0</sub> +
+     * Y<sub>1</sub>)</i>.
+     */
+    private void karatsuba(Slice X, Slice Y, Slice Z, int level) {
+        int n = X.length;
+        int h = (n + 1) / 2;
 
-        Polynomial<E> b_upper = upper(b, m);
-        Polynomial<E> b_lower = lower(b, m);
+        Slice X0 = X.sub(0, h), X1 = X.sub(h, n);
+        Slice Y0 = Y.sub(0, h), Y1 = Y.sub(h, Y.length);
 
-        Polynomial<E> d_lower = apply(a_lower, b_lower);
-        Polynomial<E> d_upper = apply(a_upper, b_upper);
-        Polynomial<E> d_mix = apply(polynomialRing.add(a_lower, a_upper), polynomialRing.add(b_lower, b_upper));
+        // P0 and P2 are computed in place in Z
+        Slice P0 = Z.sub(0, 2 * h - 1);
+        Slice P2 = Z.sub(2 * h, Z.length);
+        Z.set(2 * h - 1, ring.zero());
+        Slice P1 = Slice.of(2 * h - 1);
+        products(level, n, new Slice[]{X0, Y0, P0}, new Slice[]{X1, Y1, P2},
+                new Slice[]{sum(X0, X1), sum(Y0, Y1), P1});
 
-        return combine(d_lower, d_upper, d_mix, 2 * m, m);
+        for (int i = 0; i < P1.length; i++) {
+            E c = ring.subtract(get(P1, i), get(P0, i));
+            P1.set(i, i < P2.length ? ring.subtract(c, get(P2, i)) : c);
+        }
+        addTo(Z, h, P1);
     }
 
-    private Polynomial<E> combine(Polynomial<E> d_lower, Polynomial<E> d_upper, Polynomial<E> d_mix, int n, int m) {
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(polynomialRing.getRing());
-        d_lower.forEach((i, c) -> {
-            builder.addTo(i, c);
-            builder.addTo(i + m, polynomialRing.getRing().negate(c));
-        });
+    /**
+     * Compute <i>Z = XY</i> using Toom-Cook with <i>X = X<sub>0</sub> + X<sub>1</sub>t<sup>k</sup> +
+     * X<sub>2</sub>t<sup>2k</sup></i> and similarly for <i>Y</i>, where <i>Y<sub>2</sub></i> is non-empty.
+     */
+    private void toom3(Slice X, Slice Y, Slice Z, int level) {
+        int n = X.length;
+        int k = (n + 2) / 3;
 
-        d_upper.forEach((i, c) -> {
-            builder.addTo(i + n, c);
-            builder.addTo(i + m, polynomialRing.getRing().negate(c));
-        });
+        Slice X0 = X.sub(0, k), X1 = X.sub(k, 2 * k), X2 = X.sub(2 * k, n);
+        Slice Y0 = Y.sub(0, k), Y1 = Y.sub(k, 2 * k), Y2 = Y.sub(2 * k, Y.length);
+        Slice[] A = evaluate(X0, X1, X2, k);
+        Slice[] B = evaluate(Y0, Y1, Y2, k);
 
-        d_mix.forEach((i, c) -> {
-            builder.addTo(i + m, c);
-        });
+        // r(0) and r(∞) are computed in place in Z
+        int length = 2 * k - 1;
+        Slice r0 = Z.sub(0, length);
+        Slice rInf = Z.sub(4 * k, Z.length);
+        Slice r1 = Slice.of(length), rm1 = Slice.of(length), rm2 = Slice.of(length);
+        products(level, n, new Slice[]{X0, Y0, r0}, new Slice[]{X2, Y2, rInf},
+                new Slice[]{A[0], B[0], r1}, new Slice[]{A[1], B[1], rm1}, new Slice[]{A[2], B[2], rm2});
 
-        return builder.build();
+        Slice c1 = Slice.of(length), c2 = Slice.of(length), c3 = Slice.of(length);
+        for (int i = 0; i < length; i++) {
+            E inf = i < rInf.length ? get(rInf, i) : ring.zero();
+            E t3 = ring.multiply(ring.subtract(get(rm2, i), get(r1, i)), third);
+            E t1 = ring.multiply(ring.subtract(get(r1, i), get(rm1, i)), half);
+            E t2 = ring.subtract(get(rm1, i), get(r0, i));
+            t3 = ring.add(ring.multiply(ring.subtract(t2, t3), half), ring.add(inf, inf));
+            c2.set(i, ring.subtract(ring.add(t2, t1), inf));
+            c1.set(i, ring.subtract(t1, t3));
+            c3.set(i, t3);
+        }
+
+        Z.sub(length, 4 * k).fill(ring.zero());
+        addTo(Z, k, c1);
+        addTo(Z, 2 * k, c2);
+        addTo(Z, 3 * k, c3);
+    }
+
+    /**
+     * Return the values of <i>P<sub>0</sub> + P<sub>1</sub>t + P<sub>2</sub>t<sup>2</sup></i> at <i>1, -1</i> and
+     * <i>-2</i>, each of length <i>k</i>.
+     */
+    private Slice[] evaluate(Slice P0, Slice P1, Slice P2, int k) {
+        Slice one = Slice.of(k), minusOne = Slice.of(k), minusTwo = Slice.of(k);
+        for (int i = 0; i < k; i++) {
+            E p0 = i < P0.length ? get(P0, i) : ring.zero();
+            E p1 = i < P1.length ? get(P1, i) : ring.zero();
+            E p2 = i < P2.length ? get(P2, i) : ring.zero();
+            E p = ring.add(p0, p2);
+            E m1 = ring.subtract(p, p1);
+            E m2 = ring.add(m1, p2);
+            one.set(i, ring.add(p, p1));
+            minusOne.set(i, m1);
+            minusTwo.set(i, ring.subtract(ring.add(m2, m2), p0));
+        }
+        return new Slice[]{one, minusOne, minusTwo};
+    }
+
+    /**
+     * Return <i>X + Y</i> where <i>X</i> is at least as long as <i>Y</i>.
+     */
+    private Slice sum(Slice X, Slice Y) {
+        Slice S = Slice.of(X.length);
+        for (int i = 0; i < X.length; i++) {
+            S.set(i, i < Y.length ? ring.add(get(X, i), get(Y, i)) : get(X, i));
+        }
+        return S;
     }
+
+    /**
+     * Add <i>Y</i> to <i>Z</i> starting at the given offset, ignoring the entries of <i>Y</i> that are outside
+     * <i>Z</i>. These are assumed to be zero.
+     */
+    private void addTo(Slice Z, int offset, Slice Y) {
+        for (int i = 0; i < Y.length && offset + i < Z.length; i++) {
+            Z.set(offset + i, ring.add(get(Z, offset + i), get(Y, i)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(Slice X, int i) {
+        return (E) X.get(i);
+    }
+
+    /**
+     * A range of entries in an array.
+     */
+    private record Slice(Object[] entries, int offset, int length) {
+
+        private static Slice of(int length) {
+            return new Slice(new Object[length], 0, length);
+        }
+
+        private Object get(int i) {
+            return entries[offset + i];
+        }
+
+        private void set(int i, Object value) {
+            entries[offset + i] = value;
+        }
+
+        private void fill(Object value) {
+            Arrays.fill(entries, offset, offset + length, value);
+        }
+
+        /**
+         * Return the slice with entries <i>from, ..., to - 1</i>.
+         */
+        private Slice sub(int from, int to) {
+            return new Slice(entries, offset + from, to - from);
+        }
+    }
+
 }
@@ -1,19 +1,33 @@
 package dk.jonaslindstrom.ruffini.polynomials.algorithms;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.util.ArrayUtils;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRing;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
 
 /**
  * Compute the Lagrange interpolation polynomial which is the polynomial of the lowest degree which
  * assumes a given set of points.
+ * <p>
+ * With <i>N(x) = (x - x<sub>0</sub>) ⋯ (x - x<sub>k-1</sub>)</i>, the polynomial is
+ * <i>Σ y<sub>j</sub> d<sub>j</sub><sup>-1</sup> N(x) / (x - x<sub>j</sub>)</i> where
+ * <i>d<sub>j</sub> = Π<sub>m ≠ j</sub> (x<sub>j</sub> - x<sub>m</sub>)</i>. Each quotient is computed using
+ * synthetic division and all <i>d<sub>j</sub></i> are inverted using a single inversion, so the polynomial is
+ * computed using <i>O(k<sup>2</sup>)</i> field operations and one inversion. For many points, the computation is
+ * delegated to {@link PolynomialInterpolation}.
  */
 public class LagrangePolynomial<E> implements BiFunction<List<E>, List<E>, Polynomial<E>> {
 
+    /**
+     * With at least this many points, fast interpolation using a subproduct tree is used.
+     */
+    private static final int FAST_THRESHOLD = 64;
+
     private final Field<E> field;
 
     public LagrangePolynomial(Field<E> field) {
@@ -22,31 +36,57 @@ public class LagrangePolynomial<E> implements BiFunction<List<E>, List<E>, Polyn
 
     @Override
     public Polynomial<E> apply(List<E> x, List<E> y) {
-
-        PolynomialRing<E> ring = new PolynomialRing<>(field);
+        if (x.size() != y.size()) {
+            throw new IllegalArgumentException("x and y must have the same size");
+        }
         int k = x.size();
+        if (k >= FAST_THRESHOLD) {
+            return new PolynomialInterpolation<>(new PolynomialRing<>(field), x).apply(y);
+        }
 
-        List<Polynomial<E>> lj = new ArrayList<>();
-        for (int j = 0; j < k; j++) {
-            Polynomial<E> l = ring.identity();
+        // Coefficients of N(x), constant term first
+        List<E> n = new ArrayList<>(Collections.nCopies(k + 1, field.zero()));
+        n.set(0, field.identity());
+        for (int m = 0; m < k; m++) {
+            E xm = x.get(m);
+            for (int i = m + 1; i > 0; i--) {
+                n.set(i, field.subtract(n.get(i - 1), field.multiply(xm, n.get(i))));
+            }
+            n.set(0, field.negate(field.multiply(xm, n.get(0))));
+        }
+
+        List<E> d = ArrayUtils.populate(k, j -> {
+            E dj = field.identity();
             for (int m = 0; m < k; m++) {
-                if (m == j) {
-                    continue;
+                if (m != j) {
+                    dj = field.multiply(dj, field.subtract(x.get(j), x.get(m)));
                 }
-
-                Polynomial<E> f = Polynomial.of(field.negate(x.get(m)), field.identity());
-                f = f.scale(field.invert(field.subtract(x.get(j), x.get(m))), field);
-                l = ring.multiply(l, f);
             }
-            lj.add(l);
-        }
+            return dj;
+        });
+        List<E> dInverse = field.invertAll(d);
 
-        Polynomial<E> L = ring.zero();
+        List<E> coefficients = new ArrayList<>(Collections.nCopies(Math.max(k, 1), field.zero()));
         for (int j = 0; j < k; j++) {
-            L = ring.add(L, lj.get(j).scale(y.get(j), field));
+            E xj = x.get(j);
+            E scale = field.multiply(y.get(j), dInverse.get(j));
+            if (field.isZero(scale)) {
+                continue;
+            }
+
+            // Coefficients of N(x) / (x - x_j) from the top
+            E q = n.get(k);
+            for (int i = k - 1; i >= 0; i--) {
+                coefficients.set(i, field.add(coefficients.get(i), field.multiply(scale, q)));
+                q = field.add(n.get(i), field.multiply(xj, q));
+            }
         }
 
-        return L;
+        Polynomial.Builder<E> builder = new Polynomial.Builder<>(field);
+        for (int i = 0; i < coefficients.size(); i++) {
+            builder.set(i, coefficients.get(i));
+        }
+        return builder.build();
     }
 
 }
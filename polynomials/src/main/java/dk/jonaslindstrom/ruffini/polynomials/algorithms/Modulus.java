@@ -1,56 +1,159 @@
-//package dk.jonaslindstrom.ruffini.polynomials.algorithms;
-//
-//import dk.jonaslindstrom.ruffini.common.util.Pair;
-//import dk.jonaslindstrom.ruffini.common.vector.Vector;
-//import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
-//import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingFFT;
-//import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
-//
-//import java.util.function.BiFunction;
-//import java.util.function.UnaryOperator;
-//
-///**
-// * Algorthm 9.5 from Modern Computer Algebra. This is asymptotically faster than the usual division algorithm, and in
-// * particular if the degree of the divisor is almost as large as the degree of the dividend.
-// */
-//public class Modulus<E> implements UnaryOperator<Polynomial<E>> {
-//
-//    private final PolynomialRingFFT<E> ring;
-//    private final PolynomialRingFFT<E>.TransformedPolynomial b;
-//    private final Vector<PolynomialRingFFT<E>.TransformedPolynomial> inverses;
-//
-//    public Modulus(PolynomialRingFFT<E> ring, PolynomialRingFFT<E>.TransformedPolynomial b, int maxDegree) {
-//        this.ring = ring;
-//        this.b = b;
-//        // Compute the inverse of b(x) mod x^{m+1}
-//        this.inverses = Vector.of(maxDegree, i -> ring.fromPolynomial(new Inversion<>(ring.getField()).apply(ring.toPolynomial(b).reverse(), i+1)));
-//    }
-//
-//    @Override
-//    public Polynomial<E> apply(Polynomial<E> a) {
-//        if (a.degree() < b.degree()) {
-//            return a;
-//        }
-//
-//        int m = a.degree() - b.degree();
-//
-//        Polynomial<E> bReverseInverse = inverses.get(m + b.degree());
-//
-//        Polynomial.Builder<E> builder = new Polynomial.Builder<>(ring.getRing());
-//        a.reverse().forEach((i, ai) -> {
-//            bReverseInverse.forEach((j, bj) -> {
-//                if (i+j < m+1) {
-//                    builder.addTo(i + j, ring.getRing().multiply(ai, bj));
-//                }
-//            });
-//        });
-//        Polynomial<E> q = builder.build().reverse();
-//
-//        return ring.subtract(a, ring.multiply(b, q));
-//    }
-//
-//    @Override
-//    public Polynomial<E> apply(Polynomial<E> polynomial) {
-//        return null;
-//    }
-//}
+package dk.jonaslindstrom.ruffini.polynomials.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.exceptions.NotInvertibleException;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reduce polynomials modulo a fixed polynomial <i>b</i> of degree <i>n</i> whose leading coefficient is invertible.
+ * Everything that depends only on <i>b</i> is computed once, so this is meant to be reused, eg. in a quotient ring.
+ * <p>
+ * If <i>b</i> has few terms, as eg. trinomials, <i>x<sup>r</sup> - 1</i> or <i>x<sup>2</sup> + 1</i>, the terms of
+ * degree <i>n</i> and higher are folded down from the top using <i>x<sup>n</sup> = -(b - x<sup>n</sup>)</i>, so each
+ * term costs one multiplication per term in <i>b</i>, or just an addition if the coefficient is <i>±1</i>. Otherwise,
+ * large inputs are reduced using the polynomial analogue of Barrett reduction: With the inverse of the reversal of
+ * <i>b</i> modulo <i>x<sup>k</sup></i> precomputed, the quotient and remainder are computed using two multiplications
+ * as in Algorithm 9.5 of Modern Computer Algebra.
+ */
+public class Modulus<E> implements UnaryOperator<Polynomial<E>> {
+
+    /**
+     * The Barrett reduction is used if both the modulus and the quotient have at least this many terms.
+     */
+    private static final int BARRETT_THRESHOLD = 64;
+
+    private static final int GENERAL = 0, ONE = 1, MINUS_ONE = -1;
+
+    private final Ring<E> ring;
+    private final BinaryOperator<Polynomial<E>> multiplication;
+    private final Polynomial<E> modulus;
+    private final int n;
+    private final E leadInverse;
+
+    /**
+     * The terms of <i>b</i> of degree less than <i>n</i>, and for each whether the coefficient is <i>±1</i>.
+     */
+    private final int[] tailDegrees;
+    private final Object[] tailCoefficients;
+    private final int[] tailKinds;
+
+    /**
+     * The inverse of the reversal of <i>b</i> modulo <i>x<sup>k</sup></i> for the largest <i>k</i> needed so far.
+     */
+    private volatile Reciprocal<E> reciprocal;
+
+    /**
+     * Create a new instance where the Barrett reduction uses the {@link KaratsubaAlgorithm}.
+     */
+    public Modulus(PolynomialRingOverRing<E> polynomialRing, Polynomial<E> modulus) {
+        this(polynomialRing, modulus, new KaratsubaAlgorithm<>(polynomialRing));
+    }
+
+    /**
+     * Create a new instance where the Barrett reduction uses the given multiplication algorithm.
+     *
+     * @throws NotInvertibleException If the leading coefficient of the modulus is not invertible.
+     */
+    public Modulus(PolynomialRingOverRing<E> polynomialRing, Polynomial<E> modulus,
+                   BinaryOperator<Polynomial<E>> multiplication) {
+        this.ring = polynomialRing.getRing();
+        this.multiplication = multiplication;
+        this.modulus = modulus;
+        this.n = modulus.degree();
+
+        E lead = modulus.getCoefficient(n);
+        if (ring.isIdentity(lead)) {
+            this.leadInverse = null;
+        } else if (ring instanceof Field<E> field && !ring.isZero(lead)) {
+            this.leadInverse = field.invert(lead);
+        } else {
+            throw new NotInvertibleException(lead);
+        }
+
+        Polynomial<E> tail = modulus.truncate(n, ring).removeTerms(ring::isZero);
+        int terms = tail.getTermCount();
+        this.tailDegrees = new int[terms];
+        this.tailCoefficients = new Object[terms];
+        this.tailKinds = new int[terms];
+        int[] k = {0};
+        tail.forEach((i, c) -> {
+            tailDegrees[k[0]] = i;
+            tailCoefficients[k[0]] = c;
+            tailKinds[k[0]++] = ring.isIdentity(c) ? ONE : ring.isIdentity(ring.negate(c)) ? MINUS_ONE : GENERAL;
+        });
+    }
+
+    @Override
+    public Polynomial<E> apply(Polynomial<E> a) {
+        int m = a.degree() - n;
+        if (m < 0) {
+            return a;
+        }
+        if (tailDegrees.length >= BARRETT_THRESHOLD && m + 1 >= BARRETT_THRESHOLD) {
+            return barrett(a, m);
+        }
+        return fold(a);
+    }
+
+    /**
+     * Eliminate the terms of degree <i>n</i> and higher from the top, one at a time.
+     */
+    @SuppressWarnings("unchecked")
+    private Polynomial<E> fold(Polynomial<E> a) {
+        Object[] c = a.toArray(null);
+        for (int i = c.length - 1; i >= n; i--) {
+            E ci = (E) c[i];
+            if (ci == null || ring.isZero(ci)) {
+                continue;
+            }
+            c[i] = null;
+            E q = leadInverse == null ? ci : ring.multiply(ci, leadInverse);
+
+            // Subtract q x^(i - n) b
+            for (int t = 0; t < tailDegrees.length; t++) {
+                int j = i - n + tailDegrees[t];
+                E d = switch (tailKinds[t]) {
+                    case ONE -> ring.negate(q);
+                    case MINUS_ONE -> q;
+                    default -> ring.negate(ring.multiply(q, (E) tailCoefficients[t]));
+                };
+                c[j] = c[j] == null ? d : ring.add((E) c[j], d);
+            }
+        }
+        return Polynomial.fromArray(Arrays.copyOf(c, n), ring);
+    }
+
+    /**
+     * Compute the remainder as <i>a - bq</i> where the reversal of the quotient <i>q</i> of degree <i>m</i> is
+     * <i>rev(a) rev(b)<sup>-1</sup> mod x<sup>m+1</sup></i>.
+     */
+    private Polynomial<E> barrett(Polynomial<E> a, int m) {
+        Polynomial<E> qReverse = multiplication.apply(a.shift(-n, ring).reverse(), reverseInverse(m + 1))
+                .truncate(m + 1, ring);
+        Polynomial<E> q = qReverse.reverse().shift(m - qReverse.degree(), ring);
+
+        // The remainder has degree less than n, so only the lowest n coefficients of bq are needed
+        Polynomial<E> bq = multiplication.apply(modulus.truncate(n, ring), q.truncate(n, ring)).truncate(n, ring);
+        return a.truncate(n, ring).add(bq.mapCoefficients(ring::negate), ring);
+    }
+
+    private Polynomial<E> reverseInverse(int precision) {
+        Reciprocal<E> current = reciprocal;
+        if (current == null || current.precision < precision) {
+            // Products of two reduced polynomials have quotients of degree less than n
+            int k = Math.max(precision, current == null ? n : 2 * current.precision);
+            current = new Reciprocal<>(new Inversion<>(ring, multiplication).apply(modulus.reverse(), k), k);
+            reciprocal = current;
+        }
+        return current.inverse.truncate(precision, ring);
+    }
+
+    private record Reciprocal<E>(Polynomial<E> inverse, int precision) {
+    }
+}
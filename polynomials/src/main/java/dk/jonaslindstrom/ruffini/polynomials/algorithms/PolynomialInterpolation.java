@@ -5,41 +5,56 @@ import dk.jonaslindstrom.ruffini.common.util.ArrayUtils;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRing;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Fast interpolation through a fixed set of distinct points <i>x<sub>0</sub>, ..., x<sub>n-1</sub></i> as in
+ * Algorithm 10.11 of Modern Computer Algebra.
+ * <p>
+ * With <i>N</i> the root of the {@link SubproductTree} for the points, the interpolating polynomial is
+ * <i>Σ y<sub>i</sub> w<sub>i</sub> N(x) / (x - x<sub>i</sub>)</i> where the barycentric weights
+ * <i>w<sub>i</sub> = N'(x<sub>i</sub>)<sup>-1</sup></i> are computed once using a batch evaluation and a single
+ * inversion. The sum is computed as a linear combination up the subproduct tree, so interpolation costs
+ * <i>O(M(n) log n)</i> operations.
+ */
 public class PolynomialInterpolation<E> implements Function<List<E>, Polynomial<E>> {
 
-    private final PolynomialRing<E> polynomialRing;
-    private final BinaryTree.SubproductTree<E> tree;
-    private final List<E> x;
+    private final Field<E> field;
+    private final SubproductTree<E> tree;
+    private volatile List<E> weights;
 
     public PolynomialInterpolation(PolynomialRing<E> polynomialRing, List<E> x) {
-        this.polynomialRing = polynomialRing;
-        this.x = x;
-        this.tree = new BinaryTree.SubproductTree<>(x, polynomialRing);
+        this(polynomialRing, new SubproductTree<>(polynomialRing, x));
+    }
+
+    /**
+     * Create a new instance using the given subproduct tree, eg. if it is also used for evaluation.
+     */
+    public PolynomialInterpolation(PolynomialRing<E> polynomialRing, SubproductTree<E> tree) {
+        this.field = polynomialRing.getBaseField();
+        this.tree = tree;
     }
 
     @Override
     public Polynomial<E> apply(List<E> y) {
-        if (y.size() != this.x.size()) {
+        if (y.size() != tree.getPoints().size()) {
             throw new IllegalArgumentException("x and y must have the same size");
         }
-        Field<E> field = this.polynomialRing.getBaseField();
-        Polynomial<E> ľ = interpolationTree(Collections.nCopies(x.size(), field.identity()));
-        List<E> evaluations = this.tree.evaluate(ľ);
-        List<E> l = ArrayUtils.populate(x.size(), i -> field.divide(y.get(i), evaluations.get(i)));
-        return interpolationTree(l);
+        List<E> w = getWeights();
+        return tree.linearCombination(ArrayUtils.populate(y.size(), i -> field.multiply(y.get(i), w.get(i))));
     }
 
-    private Polynomial<E> interpolationTree(List<E> y) {
-        if (x.size() != y.size()) {
-            throw new IllegalArgumentException("x and y must have the same size");
+    /**
+     * The barycentric weights <i>w<sub>i</sub> = Π<sub>j ≠ i</sub> (x<sub>i</sub> - x<sub>j</sub>)<sup>-1</sup></i>
+     * which are the inverses of <i>N'(x<sub>i</sub>)</i>. These only depend on the points, so they are computed once.
+     */
+    public List<E> getWeights() {
+        List<E> w = weights;
+        if (w == null) {
+            w = field.invertAll(tree.evaluate(tree.getRoot().differentiate(field)));
+            weights = w;
         }
-        return this.tree.evaluateFromLeafs(y.stream().map(Polynomial::constant).toList(),
-                (a, b) -> polynomialRing.add(
-                        polynomialRing.multiply(b.first, a.second),
-                        polynomialRing.multiply(a.first, b.second)));
+        return w;
     }
 }
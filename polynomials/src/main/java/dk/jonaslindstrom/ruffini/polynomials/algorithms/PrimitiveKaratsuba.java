@@ -0,0 +1,210 @@
+package dk.jonaslindstrom.ruffini.polynomials.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The Karatsuba algorithm on arrays of <code>long</code>s in a prime field <i>𝔽<sub>p</sub></i> given as an
+ * {@link IntPrimeField} or a {@link LongPrimeField}. This is used by {@link KaratsubaAlgorithm} to avoid boxing.
+ * <p>
+ * If <i>p &lt; 2<sup>31</sup></i>, products of reduced coefficients are smaller than <i>p<sup>2</sup> &lt;
+ * 2<sup>62</sup></i>, so the schoolbook products are accumulated modulo <i>p<sup>2</sup></i> with a single comparison
+ * and each coefficient is only reduced modulo <i>p</i> once.
+ */
+class PrimitiveKaratsuba {
+
+    private final long p, pp;
+    private final boolean integers;
+
+    /**
+     * Only used for multiplication if <i>p &ge; 2<sup>31</sup></i>.
+     */
+    private final LongPrimeField large;
+    private final int parallelLevels;
+
+    PrimitiveKaratsuba(Ring<?> field, int parallelLevels) {
+        this.integers = field instanceof IntPrimeField;
+        this.p = integers ? ((IntPrimeField) field).getModulus() : ((LongPrimeField) field).getModulus();
+        this.pp = p < (1L << 31) ? p * p : 0;
+        this.large = pp == 0 ? (LongPrimeField) field : null;
+        this.parallelLevels = parallelLevels;
+    }
+
+    /**
+     * Compute the product of two polynomials given as arrays of coefficients, which are <code>Integer</code>s or
+     * <code>Long</code>s depending on the field. Zero coefficients of the product are <code>null</code>.
+     */
+    Object[] multiply(Object[] x, Object[] y) {
+        long[] z = new long[x.length + y.length - 1];
+        multiply(toLongArray(x), 0, x.length, toLongArray(y), 0, y.length, z, 0, 0);
+
+        Object[] result = new Object[z.length];
+        for (int i = 0; i < z.length; i++) {
+            if (z[i] != 0) {
+                result[i] = integers ? (Object) Integer.valueOf((int) z[i]) : Long.valueOf(z[i]);
+            }
+        }
+        return result;
+    }
+
+    private long[] toLongArray(Object[] coefficients) {
+        long[] array = new long[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            long c = ((Number) coefficients[i]).longValue();
+            array[i] = c >= 0 && c < p ? c : Math.floorMod(c, p);
+        }
+        return array;
+    }
+
+    /**
+     * Compute <i>Z = XY</i> where <i>X</i> has length <i>n</i> and starts at <i>x[i]</i> and similarly for <i>Y</i>
+     * and <i>Z</i>. The length of <i>Z</i> is <i>n + m - 1</i>.
+     */
+    private void multiply(long[] x, int i, int n, long[] y, int j, int m, long[] z, int k, int level) {
+        if (n < m) {
+            multiply(y, j, m, x, i, n, z, k, level);
+            return;
+        }
+
+        if (m <= KaratsubaAlgorithm.SCHOOLBOOK_THRESHOLD) {
+            schoolbook(x, i, n, y, j, m, z, k);
+        } else if (m <= (n + 1) / 2) {
+            unbalanced(x, i, n, y, j, m, z, k, level);
+        } else {
+            karatsuba(x, i, n, y, j, m, z, k, level);
+        }
+    }
+
+    /**
+     * Compute the given products, in parallel if at the top levels of the recursion.
+     */
+    private void products(int level, int n, List<Runnable> products) {
+        if (level < parallelLevels && n >= KaratsubaAlgorithm.PARALLEL_THRESHOLD) {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (Runnable product : products) {
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        product.run();
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            products.forEach(Runnable::run);
+        }
+    }
+
+    private void schoolbook(long[] x, int i, int n, long[] y, int j, int m, long[] z, int k) {
+        int length = n + m - 1;
+        for (int t = 0; t < length; t++) {
+            z[k + t] = 0;
+        }
+        for (int s = 0; s < n; s++) {
+            long xs = x[i + s];
+            if (xs == 0) {
+                continue;
+            }
+            for (int t = 0; t < m; t++) {
+                if (large == null) {
+                    long c = z[k + s + t] + xs * y[j + t];
+                    z[k + s + t] = c >= pp ? c - pp : c;
+                } else {
+                    z[k + s + t] = add(z[k + s + t], large.mul(xs, y[j + t]));
+                }
+            }
+        }
+        if (large == null) {
+            for (int t = 0; t < length; t++) {
+                z[k + t] %= p;
+            }
+        }
+    }
+
+    /**
+     * Compute <i>Z = XY</i> where <i>Y</i> is at most half as long as <i>X</i> by splitting <i>X</i> into blocks of
+     * the same length as <i>Y</i>.
+     */
+    private void unbalanced(long[] x, int i, int n, long[] y, int j, int m, long[] z, int k, int level) {
+        int blocks = (n + m - 1) / m;
+        long[][] partials = new long[blocks][];
+        List<Runnable> products = new ArrayList<>();
+        for (int b = 0; b < blocks; b++) {
+            int block = b;
+            int length = Math.min(n, (b + 1) * m) - b * m;
+            partials[b] = new long[length + m - 1];
+            products.add(() -> multiply(x, i + block * m, length, y, j, m, partials[block], 0, level + 1));
+        }
+        products(level, n, products);
+
+        for (int t = 0; t < n + m - 1; t++) {
+            z[k + t] = 0;
+        }
+        for (int b = 0; b < blocks; b++) {
+            addTo(z, k + b * m, partials[b], partials[b].length);
+        }
+    }
+
+    /**
+     * Compute <i>Z = XY</i> as in {@link KaratsubaAlgorithm}, where <i>P<sub>0</sub></i> and <i>P<sub>2</sub></i> are
+     * computed in place in <i>Z</i>.
+     */
+    private void karatsuba(long[] x, int i, int n, long[] y, int j, int m, long[] z, int k, int level) {
+        int h = (n + 1) / 2;
+
+        long[] xs = sum(x, i, h, n - h);
+        long[] ys = sum(y, j, h, m - h);
+        long[] p1 = new long[2 * h - 1];
+        z[k + 2 * h - 1] = 0;
+        products(level, n, List.of(
+                () -> multiply(x, i, h, y, j, h, z, k, level + 1),
+                () -> multiply(x, i + h, n - h, y, j + h, m - h, z, k + 2 * h, level + 1),
+                () -> multiply(xs, 0, h, ys, 0, h, p1, 0, level + 1)));
+
+        int length2 = n + m - 1 - 2 * h;
+        for (int t = 0; t < p1.length; t++) {
+            long c = sub(p1[t], z[k + t]);
+            p1[t] = t < length2 ? sub(c, z[k + 2 * h + t]) : c;
+        }
+        addTo(z, k + h, p1, Math.min(p1.length, n + m - 1 - h));
+    }
+
+    /**
+     * Return <i>X<sub>0</sub> + X<sub>1</sub></i> where <i>X<sub>0</sub></i> is the <i>h</i> entries starting at
+     * <i>x[i]</i> and <i>X<sub>1</sub></i> is the following <i>l &le; h</i> entries.
+     */
+    private long[] sum(long[] x, int i, int h, int l) {
+        long[] s = new long[h];
+        for (int t = 0; t < h; t++) {
+            s[t] = t < l ? add(x[i + t], x[i + h + t]) : x[i + t];
+        }
+        return s;
+    }
+
+    /**
+     * Add the first <i>l</i> entries of <i>y</i> to <i>z</i> starting at the given offset.
+     */
+    private void addTo(long[] z, int offset, long[] y, int l) {
+        for (int t = 0; t < l; t++) {
+            z[offset + t] = add(z[offset + t], y[t]);
+        }
+    }
+
+    private long add(long a, long b) {
+        // The sum may overflow but the result fits in a long, so the wrap-around cancels out
+        long s = a + b - p;
+        return s < 0 ? s + p : s;
+    }
+
+    private long sub(long a, long b) {
+        long d = a - b;
+        return d < 0 ? d + p : d;
+    }
+
+}
@@ -0,0 +1,149 @@
+package dk.jonaslindstrom.ruffini.polynomials.algorithms;
+
+import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
+import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
+import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * The subproduct tree of a list of points <i>x<sub>0</sub>, ..., x<sub>n-1</sub></i> as described in section 10.1 of
+ * Modern Computer Algebra: The leafs are the polynomials <i>x - x<sub>i</sub></i> and each internal node is the
+ * product of its two children. Any number of points is allowed. The nodes on each level are multiplied pairwise, and
+ * if the number of nodes is odd, the last one is carried to the next level unchanged.
+ * <p>
+ * The tree only depends on the points, so it should be reused when evaluating many polynomials at the same points.
+ * The products are computed using a fast multiplication algorithm and each node has a {@link Modulus} which caches the
+ * inverse used for Barrett reduction, so a polynomial of degree less than <i>n</i> is evaluated at all points using
+ * <i>O(M(n) log n)</i> operations. The nodes on a level are computed in parallel.
+ * <p>
+ * The tree is also used for fast interpolation, see {@link PolynomialInterpolation}.
+ */
+public class SubproductTree<E> {
+
+    /**
+     * Once a node has at most this many points, the remainder is evaluated at each point using Horner's method.
+     */
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * The nodes on a level are computed in parallel if there are at least this many points.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+    private final Ring<E> ring;
+    private final BinaryOperator<Polynomial<E>> multiplication;
+    private final List<E> points;
+
+    /**
+     * The nodes on each level starting from the leafs. Node <i>i</i> on level <i>j</i> is the product of the factors
+     * for the points with index from <i>2<sup>j</sup>i</i> up to (but not including) <i>2<sup>j</sup>(i + 1)</i>.
+     */
+    private final List<List<Polynomial<E>>> levels;
+
+    /**
+     * The reductions modulo the nodes on the levels from <code>leafLevel</code> and up.
+     */
+    private final List<List<Modulus<E>>> moduli;
+    private final int leafLevel;
+
+    /**
+     * Create a new subproduct tree where the nodes are computed using the {@link KaratsubaAlgorithm}.
+     */
+    public SubproductTree(PolynomialRingOverRing<E> polynomialRing, List<E> points) {
+        this(polynomialRing, points, new KaratsubaAlgorithm<>(polynomialRing));
+    }
+
+    /**
+     * Create a new subproduct tree where the nodes are computed using the given multiplication algorithm.
+     *
+     * @throws IllegalArgumentException If the list of points is empty.
+     */
+    public SubproductTree(PolynomialRingOverRing<E> polynomialRing, List<E> points,
+                          BinaryOperator<Polynomial<E>> multiplication) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one point");
+        }
+        this.ring = polynomialRing.getRing();
+        this.multiplication = multiplication;
+        this.points = List.copyOf(points);
+
+        this.levels = new ArrayList<>();
+        List<Polynomial<E>> level = range(points.size())
+                .mapToObj(i -> Polynomial.of(ring.negate(this.points.get(i)), ring.identity())).toList();
+        levels.add(level);
+        while (level.size() > 1) {
+            List<Polynomial<E>> children = level;
+            level = range((children.size() + 1) / 2).mapToObj(i -> 2 * i + 1 < children.size()
+                    ? multiplication.apply(children.get(2 * i), children.get(2 * i + 1))
+                    : children.get(2 * i)).toList();
+            levels.add(level);
+        }
+
+        this.leafLevel = Math.min(Integer.numberOfTrailingZeros(LEAF_SIZE), levels.size() - 1);
+        this.moduli = new ArrayList<>();
+        for (int j = leafLevel; j < levels.size(); j++) {
+            List<Polynomial<E>> nodes = levels.get(j);
+            moduli.add(range(nodes.size())
+                    .mapToObj(i -> new Modulus<>(polynomialRing, nodes.get(i), multiplication)).toList());
+        }
+    }
+
+    /**
+     * Evaluate the given polynomial at all points. The polynomial is reduced modulo the root, and the remainders are
+     * then reduced modulo the nodes on each level down the tree.
+     */
+    public List<E> evaluate(Polynomial<E> polynomial) {
+        List<Polynomial<E>> remainders = List.of(moduli.get(moduli.size() - 1).get(0).apply(polynomial));
+        for (int j = moduli.size() - 2; j >= 0; j--) {
+            List<Polynomial<E>> parents = remainders;
+            List<Modulus<E>> nodes = moduli.get(j);
+            remainders = range(nodes.size()).mapToObj(i -> nodes.get(i).apply(parents.get(i / 2))).toList();
+        }
+
+        List<Polynomial<E>> leafs = remainders;
+        return range(points.size()).mapToObj(i -> leafs.get(i >> leafLevel).apply(points.get(i), ring)).toList();
+    }
+
+    /**
+     * Return <i>Σ c<sub>i</sub> N(x) / (x - x<sub>i</sub>)</i> where <i>N</i> is the root. This is computed from the
+     * leafs and up: The value of a node with children <i>A, B</i> whose values are <i>a, b</i> is <i>aB + bA</i>.
+     *
+     * @throws IllegalArgumentException If the number of coefficients is not the same as the number of points.
+     */
+    public Polynomial<E> linearCombination(List<E> c) {
+        if (c.size() != points.size()) {
+            throw new IllegalArgumentException("There must be a coefficient for each point");
+        }
+
+        List<Polynomial<E>> values = range(c.size()).mapToObj(i -> Polynomial.constant(c.get(i))).toList();
+        for (int j = 0; j < levels.size() - 1; j++) {
+            List<Polynomial<E>> nodes = levels.get(j);
+            List<Polynomial<E>> children = values;
+            values = range((nodes.size() + 1) / 2).mapToObj(i -> 2 * i + 1 < nodes.size()
+                    ? multiplication.apply(children.get(2 * i), nodes.get(2 * i + 1))
+                    .add(multiplication.apply(children.get(2 * i + 1), nodes.get(2 * i)), ring)
+                    : children.get(2 * i)).toList();
+        }
+        return values.get(0);
+    }
+
+    /**
+     * Return the product of <i>x - x<sub>i</sub></i> for all points.
+     */
+    public Polynomial<E> getRoot() {
+        return levels.get(levels.size() - 1).get(0);
+    }
+
+    public List<E> getPoints() {
+        return points;
+    }
+
+    private IntStream range(int n) {
+        IntStream range = IntStream.range(0, n);
+        return points.size() >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+}
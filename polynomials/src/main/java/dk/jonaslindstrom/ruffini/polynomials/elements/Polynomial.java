@@ -2,35 +2,79 @@ package dk.jonaslindstrom.ruffini.polynomials.elements;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
 import dk.jonaslindstrom.ruffini.common.algorithms.Power;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.PrimitivePrimeField;
 import dk.jonaslindstrom.ruffini.common.vector.ConstructiveVector;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 import dk.jonaslindstrom.ruffini.polynomials.algorithms.BatchPolynomialEvaluation;
 import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingOverRing;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+/**
+ * A univariate polynomial. Only the coefficients of the terms that are present are stored. If at least a quarter of
+ * the coefficients up to the degree are present, they are stored densely in an array indexed by degree, and
+ * otherwise they are stored sparsely in a sorted map. The representation is chosen automatically and does not affect
+ * the behaviour of any method, including {@link #equals(Object)}.
+ */
 public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
 
+    /**
+     * Coefficients are stored densely if at least one in this many coefficients up to the degree is present.
+     */
+    private static final int DENSITY = 4;
+
+    /**
+     * Sums of dense polynomials of at least this length and products with at least this many pairs of terms are
+     * computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    /**
+     * Exactly one of these is non-null. Absent terms are <code>null</code> in the dense array, whose last entry is
+     * never <code>null</code>.
+     */
     private final SortedMap<Integer, E> terms;
+    private final Object[] coefficients;
 
     public Polynomial(Polynomial<E> p) {
-        this(p.terms);
+        this.terms = p.terms;
+        this.coefficients = p.coefficients;
     }
 
     private Polynomial(SortedMap<Integer, E> terms) {
-        this.terms = Collections.unmodifiableSortedMap(terms);
+        if (!terms.isEmpty() && (long) DENSITY * terms.size() > terms.lastKey()) {
+            this.coefficients = new Object[terms.lastKey() + 1];
+            terms.forEach((i, c) -> coefficients[i] = c);
+            this.terms = null;
+        } else {
+            this.terms = Collections.unmodifiableSortedMap(terms);
+            this.coefficients = null;
+        }
     }
 
     private Polynomial(Map<Integer, E> terms) {
-        this.terms = Collections.unmodifiableSortedMap(new ConcurrentSkipListMap<>(terms));
+        this(terms instanceof SortedMap<Integer, E> sorted ? sorted : new TreeMap<>(terms));
+    }
+
+    /**
+     * Create a dense polynomial from an array where the last entry is not <code>null</code>. The array is not copied.
+     */
+    private Polynomial(Object[] coefficients) {
+        this.terms = null;
+        this.coefficients = coefficients;
     }
 
+    /**
+     * Create a dense polynomial with the given coefficients up to the given degree. Absent terms may be given as
+     * <code>null</code>, and if the leading coefficients are <code>null</code>, the degree is lower than the one given.
+     */
     public Polynomial(int degree, IntFunction<E> populator) {
-        this(IntStream.rangeClosed(0, degree).boxed().collect(Collectors.toList()), populator);
+        this(Polynomial.<E>trimmed(IntStream.rangeClosed(0, degree).mapToObj(populator).toArray()));
     }
 
     public Polynomial(Collection<Integer> nonZero, IntFunction<E> populator) {
@@ -38,9 +82,47 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
     }
 
     public Polynomial(Vector<E> coefficients, Ring<E> ring) {
-        this(IntStream.range(0, coefficients.size()).boxed()
-                .filter(i -> !ring.isZero(coefficients.get(i)))
-                .collect(Collectors.toMap(i -> i, coefficients::get)));
+        this(Polynomial.<E>trimmed(IntStream.range(0, coefficients.size()).mapToObj(i -> {
+            E c = coefficients.get(i);
+            return ring.isZero(c) ? null : c;
+        }).toArray()));
+    }
+
+    /**
+     * Create a dense polynomial from the given array without the <code>null</code> entries at the end. If all entries
+     * are <code>null</code>, the polynomial has no terms.
+     */
+    private static <T> Polynomial<T> trimmed(Object[] coefficients) {
+        int length = coefficients.length;
+        while (length > 0 && coefficients[length - 1] == null) {
+            length--;
+        }
+        if (length == 0) {
+            return new Polynomial<>(new TreeMap<Integer, T>());
+        }
+        return new Polynomial<>(length == coefficients.length ? coefficients : Arrays.copyOf(coefficients, length));
+    }
+
+    /**
+     * Create a polynomial with the given coefficients, where the <i>i</i>'th entry of the array is the coefficient of
+     * degree <i>i</i>. Zero coefficients are removed and the array may be reused, so it should not be modified
+     * afterwards.
+     */
+    public static <T> Polynomial<T> fromArray(Object[] coefficients, Ring<T> ring) {
+        boolean sparse = true;
+        for (int i = 0; i < coefficients.length; i++) {
+            @SuppressWarnings("unchecked")
+            T c = (T) coefficients[i];
+            if (c != null && ring.isZero(c)) {
+                coefficients[i] = null;
+            }
+            sparse &= coefficients[i] == null;
+        }
+        if (sparse) {
+            return constant(ring.zero());
+        }
+        Polynomial<T> p = trimmed(coefficients);
+        return p.getTermCount() * (long) DENSITY > p.degree() ? p : new Polynomial<T>(p.toMap());
     }
 
     public static <T> Polynomial<T> constant(T constant) {
@@ -48,7 +130,12 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
     }
 
     public static <T> Polynomial<T> monomial(T coefficient, int degree) {
-        return new Polynomial<>(Collections.singletonMap(degree, coefficient));
+        if (degree < DENSITY) {
+            Object[] coefficients = new Object[degree + 1];
+            coefficients[degree] = coefficient;
+            return new Polynomial<>(coefficients);
+        }
+        return new Polynomial<>(new TreeMap<>(Collections.singletonMap(degree, coefficient)));
     }
 
     /**
@@ -64,34 +151,384 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
         return new Polynomial<>(map);
     }
 
+    private SortedMap<Integer, E> toMap() {
+        if (terms != null) {
+            return terms;
+        }
+        SortedMap<Integer, E> map = new TreeMap<>();
+        forEach(map::put);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(int i) {
+        return (E) coefficients[i];
+    }
+
+    /**
+     * Return true if the coefficients of this polynomial are stored densely.
+     */
+    public boolean isDense() {
+        return coefficients != null;
+    }
+
+    /**
+     * Return the number of terms in this polynomial.
+     */
+    public int getTermCount() {
+        if (terms != null) {
+            return terms.size();
+        }
+        int count = 0;
+        for (Object c : coefficients) {
+            if (c != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Apply the given consumer to the degree and coefficient of each term in order of increasing degree.
+     */
     public void forEach(BiConsumer<Integer, E> consumer) {
-        for (Integer i : terms.keySet()) {
-            consumer.accept(i, terms.get(i));
+        if (terms != null) {
+            terms.forEach(consumer);
+            return;
+        }
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] != null) {
+                consumer.accept(i, get(i));
+            }
         }
     }
 
     public void forEachInParallel(BiConsumer<Integer, E> consumer) {
-        terms.keySet().stream().parallel().forEach(i -> consumer.accept(i, terms.get(i)));
+        if (terms != null) {
+            terms.keySet().stream().parallel().forEach(i -> consumer.accept(i, terms.get(i)));
+            return;
+        }
+        IntStream.range(0, coefficients.length).parallel().filter(i -> coefficients[i] != null)
+                .forEach(i -> consumer.accept(i, get(i)));
     }
 
     public <X> Polynomial<X> mapCoefficients(Function<E, X> converter) {
-        Map<Integer, X> newTerms = terms.keySet().stream()
-                .collect(Collectors.toMap(i -> i, i -> converter.apply(terms.get(i))));
-        return new Polynomial<>(newTerms);
+        if (terms != null) {
+            SortedMap<Integer, X> newTerms = new TreeMap<>();
+            terms.forEach((i, c) -> newTerms.put(i, converter.apply(c)));
+            return new Polynomial<>(newTerms);
+        }
+        Object[] mapped = new Object[coefficients.length];
+        for (int i = 0; i < mapped.length; i++) {
+            if (coefficients[i] != null) {
+                mapped[i] = converter.apply(get(i));
+            }
+        }
+        return new Polynomial<>(mapped);
     }
 
     public Polynomial<E> removeTerms(Predicate<E> predicate) {
-        Map<Integer, E> newTerms = terms.keySet().stream().filter(p -> !predicate.test(terms.get(p)))
-                .collect(Collectors.toMap(i -> i, terms::get));
+        SortedMap<Integer, E> newTerms = new TreeMap<>();
+        forEach((i, c) -> {
+            if (!predicate.test(c)) {
+                newTerms.put(i, c);
+            }
+        });
         return new Polynomial<>(newTerms);
     }
 
+    /**
+     * Return the sum of this and another polynomial. Dense polynomials are added coefficient-wise, in parallel if
+     * they are large, and sparse polynomials are added by merging their terms in order of increasing degree. Terms
+     * which are zero are removed.
+     */
+    public Polynomial<E> add(Polynomial<E> other, Ring<E> ring) {
+        if (coefficients != null && other.coefficients != null) {
+            Object[] x = coefficients;
+            Object[] y = other.coefficients;
+            Object[] sum = new Object[Math.max(x.length, y.length)];
+            IntStream indices = IntStream.range(0, sum.length);
+            if (sum.length >= PARALLEL_THRESHOLD) {
+                indices = indices.parallel();
+            }
+            indices.forEach(i -> {
+                E u = i < x.length ? get(i) : null;
+                E v = i < y.length ? other.get(i) : null;
+                sum[i] = u == null ? v : v == null ? u : ring.add(u, v);
+            });
+            return fromArray(sum, ring);
+        }
+
+        SortedMap<Integer, E> sum = new TreeMap<>();
+        Iterator<Map.Entry<Integer, E>> xs = iterator();
+        Iterator<Map.Entry<Integer, E>> ys = other.iterator();
+        Map.Entry<Integer, E> u = next(xs);
+        Map.Entry<Integer, E> v = next(ys);
+        while (u != null || v != null) {
+            int comparison = u == null ? 1 : v == null ? -1 : Integer.compare(u.getKey(), v.getKey());
+            int i = comparison <= 0 ? u.getKey() : v.getKey();
+            E c = comparison < 0 ? u.getValue() : comparison > 0 ? v.getValue() : ring.add(u.getValue(), v.getValue());
+            if (!ring.isZero(c)) {
+                sum.put(i, c);
+            }
+            if (comparison <= 0) {
+                u = next(xs);
+            }
+            if (comparison >= 0) {
+                v = next(ys);
+            }
+        }
+        return sum.isEmpty() ? constant(ring.zero()) : new Polynomial<>(sum);
+    }
+
+    /**
+     * Return the product of this and another polynomial computed using schoolbook multiplication. The products of
+     * all pairs of terms are accumulated in an array indexed by degree, unless the product is very sparse. For large
+     * products, the terms of the largest factor are split into chunks which are multiplied in parallel into separate
+     * arrays that are added in the end. If the coefficients are in an {@link IntPrimeField} or a {@link LongPrimeField},
+     * or in a {@link PrimitivePrimeField} backed by one, these arrays are arrays of <code>long</code>s.
+     */
+    public Polynomial<E> multiply(Polynomial<E> other, Ring<E> ring) {
+        Polynomial<E> x = getTermCount() >= other.getTermCount() ? this : other;
+        Polynomial<E> y = x == this ? other : this;
+
+        int n = x.getTermCount();
+        int m = y.getTermCount();
+        int[] xDegrees = new int[n];
+        int[] yDegrees = new int[m];
+        Object[] xCoefficients = new Object[n];
+        Object[] yCoefficients = new Object[m];
+        x.compact(xDegrees, xCoefficients);
+        y.compact(yDegrees, yCoefficients);
+        if (m == 0) {
+            return constant(ring.zero());
+        }
+
+        long products = (long) n * m;
+        int length = x.degree() + y.degree() + 1;
+        if (DENSITY * products <= length) {
+            Map<Integer, E> product = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    @SuppressWarnings("unchecked")
+                    E c = ring.multiply((E) xCoefficients[i], (E) yCoefficients[j]);
+                    product.merge(xDegrees[i] + yDegrees[j], c, ring::add);
+                }
+            }
+            product.values().removeIf(ring::isZero);
+            return product.isEmpty() ? constant(ring.zero()) : new Polynomial<>(product);
+        }
+
+        int chunks = (int) Math.min(n, Math.min(products / PARALLEL_THRESHOLD,
+                Runtime.getRuntime().availableProcessors()));
+        Ring<?> primitive = PrimitivePrimeField.unwrap(ring);
+        if (primitive instanceof IntPrimeField || primitive instanceof LongPrimeField) {
+            return fromArray(multiply(xDegrees, xCoefficients, yDegrees, yCoefficients, length, Math.max(chunks, 1),
+                    primitive), ring);
+        }
+
+        Object[] product = new Object[length];
+        if (chunks <= 1) {
+            accumulate(xDegrees, xCoefficients, 0, n, yDegrees, yCoefficients, product, 0, ring);
+            return fromArray(product, ring);
+        }
+
+        // Each chunk of terms from x is multiplied by y into a partial product starting at the lowest degree in the
+        // chunk, and the partial products are added for each degree in parallel.
+        int[] offsets = new int[chunks];
+        Object[][] partials = new Object[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * n / chunks;
+            int to = (c + 1) * n / chunks;
+            offsets[c] = xDegrees[from];
+            partials[c] = new Object[xDegrees[to - 1] - xDegrees[from] + y.degree() + 1];
+            accumulate(xDegrees, xCoefficients, from, to, yDegrees, yCoefficients, partials[c], offsets[c], ring);
+        });
+        IntStream.range(0, length).parallel().forEach(k -> {
+            E sum = null;
+            for (int c = 0; c < chunks; c++) {
+                int i = k - offsets[c];
+                if (i >= 0 && i < partials[c].length && partials[c][i] != null) {
+                    @SuppressWarnings("unchecked")
+                    E term = (E) partials[c][i];
+                    sum = sum == null ? term : ring.add(sum, term);
+                }
+            }
+            product[k] = sum;
+        });
+        return fromArray(product, ring);
+    }
+
+    /**
+     * Compute the product of two polynomials given by their terms on arrays of <code>long</code>s over an
+     * {@link IntPrimeField} or a {@link LongPrimeField}. The terms of the first polynomial are split into the given
+     * number of chunks which are multiplied in parallel. If <i>p &lt; 2<sup>31</sup></i>, products of reduced
+     * coefficients are smaller than <i>p<sup>2</sup> &lt; 2<sup>62</sup></i>, so they are accumulated modulo
+     * <i>p<sup>2</sup></i> with a single comparison and each coefficient is only reduced modulo <i>p</i> once.
+     */
+    private static Object[] multiply(int[] xDegrees, Object[] xCoefficients, int[] yDegrees, Object[] yCoefficients,
+                                     int length, int chunks, Ring<?> field) {
+        boolean integers = field instanceof IntPrimeField;
+        long p = integers ? ((IntPrimeField) field).getModulus() : ((LongPrimeField) field).getModulus();
+        long pp = p < (1L << 31) ? p * p : 0;
+        LongPrimeField large = pp == 0 ? (LongPrimeField) field : null;
+        long[] x = toLongArray(xCoefficients, p);
+        long[] y = toLongArray(yCoefficients, p);
+
+        int n = x.length;
+        int[] offsets = new int[chunks];
+        long[][] partials = new long[chunks][];
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(c -> {
+            int from = c * n / chunks;
+            int to = (c + 1) * n / chunks;
+            offsets[c] = xDegrees[from];
+            long[] partial = new long[xDegrees[to - 1] - xDegrees[from] + yDegrees[y.length - 1] + 1];
+            for (int i = from; i < to; i++) {
+                long xi = x[i];
+                int shift = xDegrees[i] - offsets[c];
+                for (int j = 0; j < y.length; j++) {
+                    int k = shift + yDegrees[j];
+                    if (large == null) {
+                        long s = partial[k] + xi * y[j];
+                        partial[k] = s >= pp ? s - pp : s;
+                    } else {
+                        partial[k] = large.add(partial[k], large.mul(xi, y[j]));
+                    }
+                }
+            }
+            partials[c] = partial;
+        });
+
+        Object[] product = new Object[length];
+        range = IntStream.range(0, length);
+        (chunks > 1 ? range.parallel() : range).forEach(k -> {
+            long sum = 0;
+            for (int c = 0; c < chunks; c++) {
+                int i = k - offsets[c];
+                if (i >= 0 && i < partials[c].length) {
+                    if (large == null) {
+                        long s = sum + partials[c][i];
+                        sum = s >= pp ? s - pp : s;
+                    } else {
+                        sum = large.add(sum, partials[c][i]);
+                    }
+                }
+            }
+            if (large == null) {
+                sum %= p;
+            }
+            if (sum != 0) {
+                product[k] = integers ? (Object) Integer.valueOf((int) sum) : Long.valueOf(sum);
+            }
+        });
+        return product;
+    }
+
+    private static long[] toLongArray(Object[] coefficients, long p) {
+        long[] array = new long[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            long c = ((Number) coefficients[i]).longValue();
+            array[i] = c >= 0 && c < p ? c : Math.floorMod(c, p);
+        }
+        return array;
+    }
+
+    /**
+     * Add the products of terms <i>from, ..., to - 1</i> of one polynomial and all terms of another to the given
+     * array, where entry <i>i</i> holds the coefficient of degree <i>i + offset</i> or <code>null</code> if it is zero.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void accumulate(int[] xDegrees, Object[] xCoefficients, int from, int to, int[] yDegrees,
+                                       Object[] yCoefficients, Object[] result, int offset, Ring<T> ring) {
+        for (int i = from; i < to; i++) {
+            T xi = (T) xCoefficients[i];
+            int shift = xDegrees[i] - offset;
+            for (int j = 0; j < yDegrees.length; j++) {
+                int k = shift + yDegrees[j];
+                T c = ring.multiply(xi, (T) yCoefficients[j]);
+                result[k] = result[k] == null ? c : ring.add((T) result[k], c);
+            }
+        }
+    }
+
+    /**
+     * Write the degrees and coefficients of the terms of this polynomial in order of increasing degree to the given
+     * arrays, which must have length equal to the number of terms.
+     */
+    private void compact(int[] degrees, Object[] values) {
+        int[] k = {0};
+        forEach((i, c) -> {
+            degrees[k[0]] = i;
+            values[k[0]++] = c;
+        });
+    }
+
+    private Iterator<Map.Entry<Integer, E>> iterator() {
+        if (terms != null) {
+            return terms.entrySet().iterator();
+        }
+        return IntStream.range(0, coefficients.length).filter(i -> coefficients[i] != null)
+                .mapToObj(i -> Map.entry(i, get(i))).iterator();
+    }
+
+    private static <T> T next(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Return this polynomial modulo <i>x<sup>n</sup></i>, eg. the terms of degree less than <i>n</i>.
+     */
+    public Polynomial<E> truncate(int n, Ring<E> ring) {
+        if (n > degree()) {
+            return this;
+        }
+        if (coefficients != null) {
+            return fromArray(Arrays.copyOf(coefficients, Math.max(n, 0)), ring);
+        }
+        SortedMap<Integer, E> head = terms.headMap(n);
+        return head.isEmpty() ? constant(ring.zero()) : new Polynomial<>(new TreeMap<>(head));
+    }
+
+    /**
+     * Return this polynomial multiplied by <i>x<sup>k</sup></i>. If <i>k</i> is negative, the terms of degree less
+     * than <i>-k</i> are removed.
+     */
+    public Polynomial<E> shift(int k, Ring<E> ring) {
+        if (k == 0) {
+            return this;
+        }
+        if (coefficients != null) {
+            Object[] shifted = new Object[Math.max(coefficients.length + k, 0)];
+            int from = Math.max(0, -k);
+            if (shifted.length > 0) {
+                System.arraycopy(coefficients, from, shifted, from + k, coefficients.length - from);
+            }
+            return fromArray(shifted, ring);
+        }
+        SortedMap<Integer, E> shifted = new TreeMap<>();
+        terms.tailMap(Math.max(0, -k)).forEach((i, c) -> shifted.put(i + k, c));
+        return shifted.isEmpty() ? constant(ring.zero()) : new Polynomial<>(shifted);
+    }
+
     public Polynomial<E> scale(E scale, Ring<E> ring) {
         return mapCoefficients(e -> ring.multiply(scale, e));
     }
 
     @Override
     public E apply(E input, Ring<E> ring) {
+        if (coefficients != null) {
+            // Horner's method
+            E result = ring.zero();
+            for (int i = coefficients.length - 1; i >= 0; i--) {
+                result = ring.multiply(result, input);
+                if (coefficients[i] != null) {
+                    result = ring.add(result, get(i));
+                }
+            }
+            return result;
+        }
+
         Power<E> repeatedSquaring = new Power<>(ring);
 
         E result = ring.zero();
@@ -106,21 +543,46 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
     }
 
     /**
-     * Evaluate this polynomial for all inputs in the given list.
+     * Evaluate this polynomial for all inputs in the given list using a {@link BatchPolynomialEvaluation}. When
+     * evaluating many polynomials at the same inputs, the evaluation should be reused instead.
      */
     public List<E> batchApply(List<E> input, PolynomialRingOverRing<E> ring) {
         return new BatchPolynomialEvaluation<>(ring, input).apply(this);
     }
 
     public int degree() {
-        return terms.lastKey();
+        return terms != null ? terms.lastKey() : coefficients.length - 1;
     }
 
     /**
      * Get the <i>i</i>'th coefficient or, if it is not present, <code>null</code>.
      */
     public E getCoefficient(int i) {
-        return terms.get(i);
+        if (terms != null) {
+            return terms.get(i);
+        }
+        return i >= 0 && i < coefficients.length ? get(i) : null;
+    }
+
+    /**
+     * Return the coefficients of this polynomial as an array where the <i>i</i>'th entry is the coefficient of degree
+     * <i>i</i>. The coefficients that are not present will be replaced by the given zero value.
+     */
+    public Object[] toArray(E zero) {
+        Object[] result;
+        if (coefficients != null) {
+            result = Arrays.copyOf(coefficients, coefficients.length);
+            for (int i = 0; i < result.length; i++) {
+                if (result[i] == null) {
+                    result[i] = zero;
+                }
+            }
+        } else {
+            result = new Object[degree() + 1];
+            Arrays.fill(result, zero);
+            terms.forEach((i, c) -> result[i] = c);
+        }
+        return result;
     }
 
     /**
@@ -139,14 +601,25 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
     }
 
     public Polynomial<E> differentiate(Ring<E> ring) {
-        Map<Integer, E> newTerms = terms.keySet().stream().filter(i -> i > 0)
-                .collect(Collectors.toMap(i -> i - 1, i -> ring.multiply(i, terms.get(i))));
+        SortedMap<Integer, E> newTerms = new TreeMap<>();
+        forEach((i, c) -> {
+            if (i > 0) {
+                newTerms.put(i - 1, ring.multiply(i, c));
+            }
+        });
         return new Polynomial<>(newTerms);
     }
 
     public Polynomial<E> reverse() {
         int n = this.degree();
-        Map<Integer, E> newMap = new HashMap<>();
+        if (coefficients != null) {
+            Object[] reversed = new Object[n + 1];
+            for (int i = 0; i <= n; i++) {
+                reversed[n - i] = coefficients[i];
+            }
+            return trimmed(reversed);
+        }
+        SortedMap<Integer, E> newMap = new TreeMap<>();
         for (int i : terms.keySet()) {
             newMap.put(n - i, terms.get(i));
         }
@@ -159,17 +632,12 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
     }
 
     public String toString(String variable, Function<E, String> stringRepresentation) {
-
-        if (terms.size() == 0) {
-            return "";
-        }
-
         StringBuilder sb = new StringBuilder();
-
-        for (Integer i : terms.keySet()) {
+        forEach((i, term) -> {
             boolean negative = false;
-            if (!i.equals(terms.firstKey())) {
-                if (stringRepresentation.apply(terms.get(i)).startsWith("-")) {
+            String c = stringRepresentation.apply(term);
+            if (sb.length() > 0) {
+                if (c.startsWith("-")) {
                     sb.append(" - ");
                     negative = true;
                 } else {
@@ -177,7 +645,6 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
                 }
             }
 
-            String c = stringRepresentation.apply(terms.get(i));
             if (negative) {
                 c = c.substring(1);
             }
@@ -191,8 +658,7 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
             } else if (i > 1) {
                 sb.append(variable).append("^").append(i);
             }
-
-        }
+        });
         return sb.toString();
     }
 
@@ -200,18 +666,42 @@ public final class Polynomial<E> implements BiFunction<E, Ring<E>, E> {
         return toString(variable, E::toString);
     }
 
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Polynomial<?> that = (Polynomial<?>) o;
-        return Objects.equals(terms, that.terms);
+        if (terms != null && that.terms != null) {
+            return terms.equals(that.terms);
+        }
+        if (degree() != that.degree() || getTermCount() != that.getTermCount()) {
+            return false;
+        }
+        Polynomial<?> dense = coefficients != null ? this : that;
+        Polynomial<?> other = dense == this ? that : this;
+        for (int i = 0; i < dense.coefficients.length; i++) {
+            if (!Objects.equals(dense.coefficients[i], other.getCoefficient(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * The hash code is the same as the hash code of a map from degrees to coefficients.
+     */
     @Override
     public int hashCode() {
-        return terms != null ? terms.hashCode() : 0;
+        if (terms != null) {
+            return terms.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] != null) {
+                hash += i ^ coefficients[i].hashCode();
+            }
+        }
+        return hash;
     }
 
     public E getConstant() {
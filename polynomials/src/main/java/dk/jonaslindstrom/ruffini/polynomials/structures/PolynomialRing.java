@@ -2,10 +2,16 @@ package dk.jonaslindstrom.ruffini.polynomials.structures;
 
 import dk.jonaslindstrom.ruffini.common.abstractions.EuclideanDomain;
 import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
+import dk.jonaslindstrom.ruffini.polynomials.algorithms.HalfGCD;
+import dk.jonaslindstrom.ruffini.polynomials.algorithms.KaratsubaAlgorithm;
+import dk.jonaslindstrom.ruffini.polynomials.algorithms.Modulus;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 
 import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
 
 /**
  * This class implements the ring of polynomials <i>K[x]</i> over a field <i>K</i>.
@@ -13,6 +19,11 @@ import java.math.BigInteger;
 public class PolynomialRing<E> extends PolynomialRingOverRing<E>
         implements EuclideanDomain<Polynomial<E>> {
 
+    /**
+     * The Half-GCD algorithm is used for gcds of polynomials of at least this degree.
+     */
+    private static final int HALF_GCD_THRESHOLD = 128;
+
     protected final Field<E> field;
 
     public PolynomialRing(Field<E> field) {
@@ -20,6 +31,14 @@ public class PolynomialRing<E> extends PolynomialRingOverRing<E>
         this.field = field;
     }
 
+    /**
+     * Create a new polynomial ring where products are computed using the given algorithm.
+     */
+    public PolynomialRing(Field<E> field, BinaryOperator<Polynomial<E>> multiplication) {
+        super(field, multiplication);
+        this.field = field;
+    }
+
     public Field<E> getBaseField() {
         return field;
     }
@@ -30,6 +49,30 @@ public class PolynomialRing<E> extends PolynomialRingOverRing<E>
         return super.divisionWithRemainder(a, b, field.invert(b.getCoefficient(b.degree())));
     }
 
+    /**
+     * Return a {@link Modulus} reducing polynomials modulo <i>m</i>. Large products are reduced using the
+     * multiplication given to this ring, or the Karatsuba algorithm if none was given.
+     */
+    @Override
+    public UnaryOperator<Polynomial<E>> reduction(Polynomial<E> m) {
+        BinaryOperator<Polynomial<E>> multiplication = getMultiplication();
+        return multiplication != null ? new Modulus<>(this, m, multiplication) : new Modulus<>(this, m);
+    }
+
+    /**
+     * Use the {@link HalfGCD} algorithm for large polynomials. Products are computed using the multiplication given
+     * to this ring, or the Karatsuba algorithm if none was given.
+     */
+    @Override
+    public EuclideanAlgorithm.Result<Polynomial<E>> extendedGcd(Polynomial<E> a, Polynomial<E> b) {
+        if (Math.max(a.degree(), b.degree()) < HALF_GCD_THRESHOLD) {
+            return null;
+        }
+        BinaryOperator<Polynomial<E>> multiplication = getMultiplication();
+        return new HalfGCD<>(this, multiplication != null ? multiplication : new KaratsubaAlgorithm<>(this))
+                .apply(a, b);
+    }
+
     @Override
     public BigInteger norm(Polynomial<E> a) {
         return BigInteger.valueOf(a.degree());
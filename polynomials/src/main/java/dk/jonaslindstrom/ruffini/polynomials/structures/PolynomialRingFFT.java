@@ -4,14 +4,21 @@ import dk.jonaslindstrom.ruffini.common.abstractions.Field;
 import dk.jonaslindstrom.ruffini.common.abstractions.Ring;
 import dk.jonaslindstrom.ruffini.common.algorithms.DiscreteFourierTransform;
 import dk.jonaslindstrom.ruffini.common.algorithms.InverseDiscreteFourierTransform;
+import dk.jonaslindstrom.ruffini.common.vector.ConcreteVector;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BinaryOperator;
 
 /**
  * This class implements the ring of polynomials <i>K[x]</i> over a field <i>K</i>.
+ * <p>
+ * Polynomials are represented by their evaluations in the powers of an <i>n</i>'th root of unity, so only products
+ * of degree less than <i>n</i> are computed correctly. If <i>n</i> is a power of two, the transforms are computed
+ * using a {@link dk.jonaslindstrom.ruffini.common.algorithms.NumberTheoreticTransform}, and the pointwise
+ * operations are computed in parallel.
  */
 public class PolynomialRingFFT<E> implements Ring<PolynomialRingFFT<E>.TransformedPolynomial> {
 
@@ -76,7 +83,7 @@ public class PolynomialRingFFT<E> implements Ring<PolynomialRingFFT<E>.Transform
 
     @Override
     public TransformedPolynomial add(TransformedPolynomial a, TransformedPolynomial b) {
-        return new TransformedPolynomial(a.coefficients.coordinateWise(b.coefficients, field::add));
+        return new TransformedPolynomial(pointwise(a, b, field::add));
     }
 
     @Override
@@ -91,7 +98,11 @@ public class PolynomialRingFFT<E> implements Ring<PolynomialRingFFT<E>.Transform
 
     @Override
     public TransformedPolynomial multiply(TransformedPolynomial a, TransformedPolynomial b) {
-        return new TransformedPolynomial(a.coefficients.coordinateWise(b.coefficients, field::multiply));
+        return new TransformedPolynomial(pointwise(a, b, field::multiply));
+    }
+
+    private Vector<E> pointwise(TransformedPolynomial a, TransformedPolynomial b, BinaryOperator<E> operator) {
+        return new ConcreteVector<>(n, i -> operator.apply(a.coefficients.get(i), b.coefficients.get(i)));
     }
 
     @Override
@@ -12,23 +12,21 @@ import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 public class PolynomialRingKaratsuba<E> extends PolynomialRing<E> {
 
     private final KaratsubaAlgorithm<E> karatsuba;
+    private final FastDivision<E> division;
 
     public PolynomialRingKaratsuba(Field<E> field) {
         super(field);
         this.karatsuba = new KaratsubaAlgorithm<>(this);
+        this.division = new FastDivision<>(this);
     }
 
     @Override
     public Polynomial<E> multiply(Polynomial<E> a, Polynomial<E> b) {
-        int n = Math.max(a.degree(), b.degree()) + 1;
-        if (n <= 2) {
-            return super.multiply(a, b);
-        }
         return karatsuba.apply(a, b);
     }
 
     @Override
     public Pair<Polynomial<E>, Polynomial<E>> divide(Polynomial<E> a, Polynomial<E> b) {
-        return new FastDivision<>(this).apply(a, b);
+        return division.apply(a, b);
     }
 }
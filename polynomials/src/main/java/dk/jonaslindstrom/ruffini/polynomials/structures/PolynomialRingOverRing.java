@@ -5,25 +5,48 @@ import dk.jonaslindstrom.ruffini.common.util.Pair;
 import dk.jonaslindstrom.ruffini.polynomials.elements.Polynomial;
 
 import java.util.Objects;
+import java.util.function.BinaryOperator;
 
 public class PolynomialRingOverRing<E> implements Ring<Polynomial<E>> {
 
     private final Ring<E> ring;
     private final String variable;
+    private final BinaryOperator<Polynomial<E>> multiplication;
 
     public PolynomialRingOverRing(Ring<E> ring) {
         this(ring, "x");
     }
 
     public PolynomialRingOverRing(Ring<E> ring, String variable) {
+        this(ring, variable, null);
+    }
+
+    /**
+     * Create a new polynomial ring where products are computed using the given algorithm, eg. a
+     * multi-modular algorithm for integer coefficients.
+     */
+    public PolynomialRingOverRing(Ring<E> ring, BinaryOperator<Polynomial<E>> multiplication) {
+        this(ring, "x", multiplication);
+    }
+
+    private PolynomialRingOverRing(Ring<E> ring, String variable, BinaryOperator<Polynomial<E>> multiplication) {
         this.ring = ring;
         this.variable = variable;
+        this.multiplication = multiplication;
     }
 
     public Ring<E> getRing() {
         return ring;
     }
 
+    /**
+     * The algorithm used to multiply polynomials in this ring, or <code>null</code> if the schoolbook multiplication
+     * of {@link Polynomial#multiply(Polynomial, Ring)} is used.
+     */
+    protected BinaryOperator<Polynomial<E>> getMultiplication() {
+        return multiplication;
+    }
+
     @SafeVarargs
     public final Polynomial<E> element(E... coefficients) {
         return Polynomial.of(coefficients);
@@ -31,10 +54,10 @@ public class PolynomialRingOverRing<E> implements Ring<Polynomial<E>> {
 
     @Override
     public Polynomial<E> multiply(Polynomial<E> a, Polynomial<E> b) {
-        Polynomial.Builder<E> result = new Polynomial.Builder<>(ring);
-        a.forEach(
-                (i, ai) -> b.forEach((j, bj) -> result.addTo(i + j, ring.multiply(ai, bj))));
-        return result.build();
+        if (multiplication != null) {
+            return multiplication.apply(a, b);
+        }
+        return a.multiply(b, ring);
     }
 
     public Polynomial<E> multiply(E a, Polynomial<E> b) {
@@ -53,10 +76,7 @@ public class PolynomialRingOverRing<E> implements Ring<Polynomial<E>> {
 
     @Override
     public Polynomial<E> add(Polynomial<E> a, Polynomial<E> b) {
-        Polynomial.Builder<E> builder = new Polynomial.Builder<>(ring);
-        a.forEachInParallel(builder::addTo);
-        b.forEachInParallel(builder::addTo);
-        return builder.build();
+        return a.add(b, ring);
     }
 
     @Override
@@ -77,17 +97,16 @@ public class PolynomialRingOverRing<E> implements Ring<Polynomial<E>> {
         }
 
         for (int i = 0; i <= a.degree(); i++) {
+            // Absent terms are zero
             if (Objects.isNull(a.getCoefficient(i))) {
-                if (Objects.nonNull(b.getCoefficient(i))) {
-                    if (ring.equals(b.getCoefficient(i), ring.zero())) {
-                        return false;
-                    }
+                if (Objects.nonNull(b.getCoefficient(i)) && !ring.isZero(b.getCoefficient(i))) {
+                    return false;
                 }
                 continue;
             }
 
             if (Objects.isNull(b.getCoefficient(i))) {
-                if (ring.equals(a.getCoefficient(i), ring.zero())) {
+                if (!ring.isZero(a.getCoefficient(i))) {
                     return false;
                 }
                 continue;
@@ -1,4 +1,10 @@
+import dk.jonaslindstrom.ruffini.common.abstractions.Field;
+import dk.jonaslindstrom.ruffini.common.algorithms.EuclideanAlgorithm;
+import dk.jonaslindstrom.ruffini.common.algorithms.Power;
 import dk.jonaslindstrom.ruffini.common.helpers.PerformanceLoggingField;
+import dk.jonaslindstrom.ruffini.common.structures.IntPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.LongPrimeField;
+import dk.jonaslindstrom.ruffini.common.structures.QuotientRing;
 import dk.jonaslindstrom.ruffini.common.util.Pair;
 import dk.jonaslindstrom.ruffini.common.util.TestUtils;
 import dk.jonaslindstrom.ruffini.common.vector.Vector;
@@ -10,7 +16,11 @@ import dk.jonaslindstrom.ruffini.polynomials.structures.PolynomialRingKaratsuba;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 public class PolynomialTests {
@@ -100,6 +110,49 @@ public class PolynomialTests {
         Assert.assertEquals(expected, actual);
     }
 
+    @Test
+    public void testKaratsubaAndToomCook() {
+        for (int p : new int[]{1009, 3}) {
+            TestUtils.TestField field = new TestUtils.TestField(p);
+            PolynomialRing<Integer> polynomialRing = new PolynomialRingKaratsuba<>(field);
+            KaratsubaAlgorithm<Integer> karatsuba = new KaratsubaAlgorithm<>(polynomialRing);
+
+            // Balanced, nearly balanced and unbalanced factors
+            int[][] sizes = {{300, 300}, {257, 190}, {1000, 70}, {129, 65}};
+            for (int[] size : sizes) {
+                Polynomial<Integer> a = new Polynomial<>(size[0] - 1, i -> (i * i + 7 * i + 1) % p);
+                Polynomial<Integer> b = new Polynomial<>(size[1] - 1, i -> (3 * i + 2) % p);
+                Assert.assertEquals(a.multiply(b, field), karatsuba.apply(a, b));
+                Assert.assertEquals(a.multiply(b, field), polynomialRing.multiply(b, a));
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveCoefficients() {
+        Random random = new Random(1234);
+        testPrimitiveCoefficients(new IntPrimeField(1000003), () -> random.nextInt(1000003));
+        testPrimitiveCoefficients(new LongPrimeField(1000003), () -> (long) random.nextInt(1000003));
+        long p = (1L << 61) - 1;
+        testPrimitiveCoefficients(new LongPrimeField(p), () -> Math.floorMod(random.nextLong(), p));
+    }
+
+    private static <E> void testPrimitiveCoefficients(Field<E> field, Supplier<E> sampler) {
+        // The logging wrapper hides the primitive field, so the generic algorithms are used as reference
+        PerformanceLoggingField<E> reference = new PerformanceLoggingField<>(field);
+        KaratsubaAlgorithm<E> karatsuba = new KaratsubaAlgorithm<>(new PolynomialRing<>(field));
+
+        int[][] sizes = {{300, 300}, {257, 190}, {1000, 70}, {40, 20}};
+        for (int[] size : sizes) {
+            Polynomial<E> a = new Polynomial<>(size[0] - 1, i -> sampler.get());
+            Polynomial<E> b = new Polynomial<>(size[1] - 1, i -> sampler.get());
+            Polynomial<E> expected = a.multiply(b, reference);
+            Assert.assertEquals(expected, a.multiply(b, field));
+            Assert.assertEquals(expected, karatsuba.apply(a, b));
+            Assert.assertEquals(expected, karatsuba.apply(b, a));
+        }
+    }
+
     @Test
     public void testInversion() {
         PerformanceLoggingField<Integer> field = new PerformanceLoggingField<>(new TestUtils.TestField(7));
@@ -111,6 +164,16 @@ public class PolynomialTests {
 
         System.out.println(g);
         System.out.println(polynomialRing.multiply(f, g));
+        Assert.assertEquals(polynomialRing.identity(), polynomialRing.multiply(f, g).truncate(4, field));
+
+        // Non-monic and long power series using fast multiplication
+        PolynomialRing<Integer> karatsuba = new PolynomialRingKaratsuba<>(field);
+        Polynomial<Integer> h = new Polynomial<>(199, i -> (i * i + 3) % 7);
+        for (int l : new int[]{1, 2, 100, 129, 300}) {
+            Polynomial<Integer> hInverse = new Inversion<>(field, karatsuba::multiply).apply(h, l);
+            Assert.assertTrue(hInverse.degree() < l);
+            Assert.assertEquals(polynomialRing.identity(), polynomialRing.multiply(h, hInverse).truncate(l, field));
+        }
     }
 
     @Test
@@ -132,7 +195,21 @@ public class PolynomialTests {
         System.out.println(field);
 
         System.out.println(polynomialRing.add(result.second, polynomialRing.multiply(result.first, g)));
-
+        Assert.assertEquals(f, polynomialRing.add(result.second, polynomialRing.multiply(result.first, g)));
+
+        // Large operands and a quotient with zero constant term
+        Polynomial<Integer> a = new Polynomial<>(400, i -> (i * i + 1) % 7);
+        Polynomial<Integer> b = new Polynomial<>(150, i -> (3 * i + 2) % 7);
+        Polynomial<Integer> c = polynomialRing.multiply(b, Polynomial.of(0, 0, 3, 1));
+        for (Pair<Polynomial<Integer>, Polynomial<Integer>> division : List.of(
+                Pair.of(a, b), Pair.of(c, b), Pair.of(b, b), Pair.of(b, a))) {
+            Pair<Polynomial<Integer>, Polynomial<Integer>> expected = polynomialRing.divide(division.first,
+                    division.second);
+            Pair<Polynomial<Integer>, Polynomial<Integer>> actual = new FastDivision<>(polynomialRing)
+                    .apply(division.first, division.second);
+            Assert.assertEquals(expected.first, actual.first);
+            Assert.assertTrue(polynomialRing.equals(expected.second, actual.second));
+        }
     }
 
     @Test
@@ -163,4 +240,197 @@ public class PolynomialTests {
 
     }
 
+    @Test
+    public void testDenseAndSparsePolynomials() {
+        TestUtils.TestField field = new TestUtils.TestField(17);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+
+        Polynomial<Integer> dense = Polynomial.of(1, 2, 0, 4);
+        Polynomial<Integer> sparse = polynomialRing.add(Polynomial.monomial(1, 1000), Polynomial.monomial(3, 2));
+        Assert.assertTrue(dense.isDense());
+        Assert.assertFalse(sparse.isDense());
+        Assert.assertEquals(2, sparse.getTermCount());
+        Assert.assertEquals(1000, sparse.degree());
+        Assert.assertEquals("1 + 2x + 0x^2 + 4x^3", dense.toString());
+
+        // Equality does not depend on the representation
+        Polynomial<Integer> a = new Polynomial<>(List.of(0, 50, 60), i -> i + 1);
+        Polynomial<Integer> b = new Polynomial<>(60, i -> i == 0 || i == 50 || i == 60 ? i + 1 : null);
+        Assert.assertNotEquals(a.isDense(), b.isDense());
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(b, a);
+        Assert.assertEquals(a.hashCode(), b.hashCode());
+        Assert.assertEquals(a.reverse(), b.reverse());
+        Assert.assertEquals(a.apply(3, field), b.apply(3, field));
+        Assert.assertEquals(Integer.valueOf(51), b.toArray(0)[50]);
+        Assert.assertEquals(Polynomial.constant(0), Polynomial.fromArray(new Object[]{0, 0}, field));
+
+        // Absent leading terms are not counted in the degree
+        Polynomial<Integer> c = new Polynomial<>(10, i -> i < 5 ? i + 1 : null);
+        Assert.assertEquals(4, c.degree());
+        Assert.assertEquals(Integer.valueOf(5), c.getCoefficient(c.degree()));
+        Assert.assertEquals(Polynomial.of(1, 2, 3, 4, 5), c);
+        Assert.assertEquals(0, new Polynomial<Integer>(3, i -> null).getTermCount());
+    }
+
+    @Test
+    public void testAdditionAndMultiplication() {
+        TestUtils.TestField field = new TestUtils.TestField(101);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+
+        // Large enough to be computed in parallel
+        Polynomial<Integer> a = new Polynomial<>(150, i -> (i * i + 3) % 101);
+        Polynomial<Integer> b = new Polynomial<>(100, i -> (7 * i + 1) % 101);
+        Polynomial<Integer> product = polynomialRing.multiply(a, b);
+        Assert.assertEquals(250, product.degree());
+        for (int k = 0; k <= 250; k++) {
+            int expected = 0;
+            for (int i = Math.max(0, k - 100); i <= Math.min(k, 150); i++) {
+                expected = (expected + a.getCoefficient(i) * b.getCoefficient(k - i)) % 101;
+            }
+            Assert.assertEquals(Integer.valueOf(expected), product.getCoefficient(k) == null ? Integer.valueOf(0)
+                    : product.getCoefficient(k));
+        }
+        Assert.assertEquals(product, polynomialRing.multiply(b, a));
+
+        // Sparse operands
+        Polynomial<Integer> c = polynomialRing.add(Polynomial.monomial(1, 1000), Polynomial.monomial(5, 10));
+        Polynomial<Integer> d = polynomialRing.add(Polynomial.monomial(100, 1000), Polynomial.monomial(2, 7));
+        Assert.assertEquals(Polynomial.of(0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 5).removeTerms(field::isZero),
+                polynomialRing.add(c, d));
+        Assert.assertEquals(polynomialRing.zero(), polynomialRing.add(c, polynomialRing.negate(c)));
+        Polynomial<Integer> cd = polynomialRing.multiply(c, d);
+        Assert.assertEquals(4, cd.getTermCount());
+        Assert.assertEquals(Integer.valueOf(100), cd.getCoefficient(2000));
+        Assert.assertEquals(Integer.valueOf(10), cd.getCoefficient(17));
+        Assert.assertEquals(polynomialRing.add(a, b), polynomialRing.add(b, a));
+        Assert.assertEquals(a, polynomialRing.add(a, polynomialRing.zero()));
+    }
+
+    @Test
+    public void testModulus() {
+        TestUtils.TestField field = new TestUtils.TestField(101);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+
+        List<Polynomial<Integer>> moduli = List.of(
+                Polynomial.of(1, 0, 1),
+                polynomialRing.add(Polynomial.monomial(1, 37), Polynomial.constant(100)),
+                polynomialRing.add(Polynomial.monomial(1, 20), Polynomial.of(1, 5)),
+                new Polynomial<>(79, i -> (i * i + 5) % 101 + 1),
+                new Polynomial<>(150, i -> (3 * i + 7) % 101 + 1));
+        Polynomial<Integer> a = new Polynomial<>(298, i -> (i * 7 + 3) % 101);
+        Polynomial<Integer> b = Polynomial.of(3, 0, 4);
+        for (Polynomial<Integer> modulus : moduli) {
+            Modulus<Integer> reduction = new Modulus<>(polynomialRing, modulus);
+            for (Polynomial<Integer> x : List.of(a, b, polynomialRing.multiply(a, a), modulus)) {
+                Assert.assertTrue(polynomialRing.equals(polynomialRing.divide(x, modulus).second,
+                        reduction.apply(x)));
+            }
+        }
+
+        // Quotient rings over polynomial rings reduce using a Modulus
+        QuotientRing<Polynomial<Integer>> quotient = new QuotientRing<>(polynomialRing, moduli.get(1));
+        Assert.assertEquals(polynomialRing.identity(),
+                new Power<>(quotient).apply(Polynomial.monomial(1, 1), 37 * 5));
+    }
+
+    @Test
+    public void testHalfGCD() {
+        TestUtils.TestField field = new TestUtils.TestField(1009);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+
+        // The classical algorithm as reference
+        PolynomialRing<Integer> classicalRing = new PolynomialRing<>(field) {
+            @Override
+            public EuclideanAlgorithm.Result<Polynomial<Integer>> extendedGcd(Polynomial<Integer> a,
+                                                                              Polynomial<Integer> b) {
+                return null;
+            }
+        };
+
+        Random random = new Random(1234);
+        Polynomial<Integer> g = new Polynomial<>(60, i -> i == 60 ? 1 : random.nextInt(1009));
+        Polynomial<Integer> u = new Polynomial<>(250, i -> random.nextInt(1009));
+        Polynomial<Integer> v = new Polynomial<>(243, i -> random.nextInt(1009));
+        Polynomial<Integer> w = new Polynomial<>(137, i -> random.nextInt(1009));
+
+        List<Pair<Polynomial<Integer>, Polynomial<Integer>>> inputs = List.of(
+                Pair.of(polynomialRing.multiply(g, u), polynomialRing.multiply(g, v)),
+                Pair.of(u, v),
+                Pair.of(v, u),
+                Pair.of(u, w),
+                Pair.of(polynomialRing.multiply(u, w), w));
+
+        for (Pair<Polynomial<Integer>, Polynomial<Integer>> input : inputs) {
+            Polynomial<Integer> a = input.first;
+            Polynomial<Integer> b = input.second;
+            EuclideanAlgorithm.Result<Polynomial<Integer>> expected =
+                    new EuclideanAlgorithm<>(classicalRing).applyExtended(a, b);
+
+            for (EuclideanAlgorithm.Result<Polynomial<Integer>> actual : List.of(
+                    new HalfGCD<>(polynomialRing).apply(a, b),
+                    new EuclideanAlgorithm<>(polynomialRing).applyExtended(a, b))) {
+                Assert.assertTrue(polynomialRing.equals(expected.gcd(), actual.gcd()));
+                Assert.assertTrue(polynomialRing.equals(expected.x(), actual.x()));
+                Assert.assertTrue(polynomialRing.equals(expected.y(), actual.y()));
+                Assert.assertTrue(polynomialRing.equals(actual.gcd(),
+                        polynomialRing.add(polynomialRing.multiply(a, actual.x()),
+                                polynomialRing.multiply(b, actual.y()))));
+            }
+        }
+
+        // The common factor is found
+        Polynomial<Integer> d = new EuclideanAlgorithm<>(polynomialRing).apply(inputs.get(0).first,
+                inputs.get(0).second);
+        Assert.assertEquals(60, d.degree());
+        Assert.assertTrue(polynomialRing.isZero(polynomialRing.mod(d, g)));
+    }
+
+    @Test
+    public void testSubproductTree() {
+        TestUtils.TestField field = new TestUtils.TestField(1009);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+        Random random = new Random(1234);
+
+        for (int n : List.of(1, 3, 17, 100, 1500)) {
+            List<Integer> points = IntStream.range(0, n).mapToObj(i -> random.nextInt(1009)).toList();
+            SubproductTree<Integer> tree = new SubproductTree<>(polynomialRing, points);
+            Assert.assertEquals(n, tree.getRoot().degree());
+
+            // The tree is reused for polynomials of lower and higher degree than the number of points
+            for (int degree : List.of(n / 2, n - 1, 2 * n + 5)) {
+                Polynomial<Integer> p = new Polynomial<>(degree, i -> random.nextInt(1009));
+                List<Integer> expected = points.stream().map(x -> p.apply(x, field)).toList();
+                Assert.assertEquals(expected, tree.evaluate(p));
+                Assert.assertEquals(expected, p.batchApply(points, polynomialRing));
+            }
+        }
+    }
+
+    @Test
+    public void testFastInterpolation() {
+        TestUtils.TestField field = new TestUtils.TestField(1009);
+        PolynomialRing<Integer> polynomialRing = new PolynomialRing<>(field);
+        Random random = new Random(1234);
+
+        List<Integer> shuffled = new ArrayList<>(IntStream.range(0, 1009).boxed().toList());
+        Collections.shuffle(shuffled, random);
+
+        for (int n : List.of(1, 37, 700)) {
+            List<Integer> x = shuffled.subList(0, n);
+            List<Integer> y = IntStream.range(0, n).mapToObj(i -> random.nextInt(1009)).toList();
+
+            Polynomial<Integer> p = new PolynomialInterpolation<>(polynomialRing, x).apply(y);
+            Assert.assertTrue(p.degree() < n);
+            Assert.assertEquals(y, new BatchPolynomialEvaluation<>(polynomialRing, x).apply(p));
+            Assert.assertTrue(polynomialRing.equals(p, new LagrangePolynomial<>(field).apply(x, y)));
+
+            // Evaluate the interpolating polynomial at the points and at new points
+            BarycentricInterpolation<Integer> barycentric = new BarycentricInterpolation<>(polynomialRing, x);
+            for (int t : shuffled.subList(n - 1, n + 5)) {
+                Assert.assertEquals(p.apply(t, field), barycentric.apply(y, t));
+            }
+        }
+    }
+
 }